@@ -0,0 +1,45 @@
+package object_orienters;
+
+/**
+ * Canonicalizes faculties and specializations by name, so each one exists
+ * exactly once no matter how many CSV lines or menu inputs mention it.
+ * The canonical instances live in RegistrarDriver's faculties and
+ * specializations maps; the catalog keeps no state of its own.
+ */
+public final class Catalog {
+
+    private Catalog() {
+    }
+
+    /**
+     * Retrieves the faculty with the given name, creating it on first use.
+     *
+     * @param name The name of the faculty.
+     * @return The canonical faculty.
+     */
+    public static Faculty faculty(String name) {
+        return RegistrarDriver.faculties.computeIfAbsent(name, Faculty::new);
+    }
+
+    /**
+     * Retrieves the specialization with the given name, creating it on first
+     * use.
+     *
+     * @param name    The name of the specialization.
+     * @param faculty The faculty of the specialization.
+     * @param type    The type of the specialization.
+     * @return The canonical specialization.
+     * @throws IllegalArgumentException If the specialization already exists in
+     *                                  another faculty or with another type.
+     */
+    public static Specialization specialization(String name, Faculty faculty, Specialization.Type type) {
+        Specialization specialization = RegistrarDriver.specializations.computeIfAbsent(name,
+                n -> new Specialization(n, faculty, type));
+        if (!specialization.getFaculty().getName().equals(faculty.getName()) || specialization.getType() != type) {
+            throw new IllegalArgumentException("Specialization " + name + " already exists as a "
+                    + specialization.getType() + " of " + specialization.getFaculty().getName() + ", not a " + type
+                    + " of " + faculty.getName());
+        }
+        return specialization;
+    }
+}
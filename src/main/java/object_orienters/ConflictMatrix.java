@@ -0,0 +1,227 @@
+package object_orienters;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A precomputed course x course time-conflict matrix for the courses of a
+ * semester.
+ * Every registered course gets a dense slot, found from the course's dense ID
+ * so that courses equal by ID share it, and the row of a slot is a bitset of
+ * the slots whose weekly meetings overlap with it.
+ * Checking a candidate course against a set of enrolled courses is then a
+ * single bitset intersection.
+ * Rows are refreshed lazily when a course's weekly meetings are replaced
+ * through Course.setWeeklyMeetings.
+ */
+public class ConflictMatrix {
+    // Below this many courses a new row is computed on the calling thread
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    // Slot of each course by dense ID, or -1
+    private int[] slots;
+    private int size;
+    private final List<Course> courses;
+    private final Deque<Integer> freeSlots;
+    private BitSet[] rows;
+    private int[] versions;
+
+    /**
+     * Constructs a new empty ConflictMatrix.
+     */
+    public ConflictMatrix() {
+        this.slots = new int[16];
+        Arrays.fill(slots, -1);
+        this.courses = new ArrayList<>();
+        this.freeSlots = new ArrayDeque<>();
+        this.rows = new BitSet[16];
+        this.versions = new int[16];
+    }
+
+    /**
+     * Adds a course to the matrix and computes its conflicts with every course
+     * already in it. Adding a course twice has no effect.
+     *
+     * @param course The course to add.
+     */
+    public synchronized void add(Course course) {
+        if (slotOf(course) != null) {
+            return;
+        }
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = courses.size();
+            courses.add(course);
+            if (slot == rows.length) {
+                rows = Arrays.copyOf(rows, slot * 2);
+                versions = Arrays.copyOf(versions, slot * 2);
+            }
+        } else {
+            slot = freeSlots.pop();
+            courses.set(slot, course);
+        }
+        int id = course.getDenseId();
+        if (id >= slots.length) {
+            int length = slots.length;
+            slots = Arrays.copyOf(slots, Math.max(id + 1, length * 2));
+            Arrays.fill(slots, length, slots.length, -1);
+        }
+        slots[id] = slot;
+        size++;
+        fillRow(slot);
+    }
+
+    /**
+     * Removes a course from the matrix, freeing its slot for reuse.
+     *
+     * @param course The course to remove.
+     */
+    public synchronized void remove(Course course) {
+        Integer slot = slotOf(course);
+        if (slot == null) {
+            return;
+        }
+        slots[course.getDenseId()] = -1;
+        size--;
+        clearRow(slot);
+        rows[slot] = null;
+        courses.set(slot, null);
+        freeSlots.push(slot);
+    }
+
+    /**
+     * Recomputes every row of the matrix in parallel.
+     * Each row is written by a single task, so no synchronization is needed
+     * between the rows.
+     */
+    public synchronized void rebuild() {
+        int size = courses.size();
+        IntStream.range(0, size).parallel().forEach(i -> {
+            Course course = courses.get(i);
+            if (course != null) {
+                rows[i] = computeRow(course, size, false);
+                versions[i] = course.getMeetingsVersion();
+            }
+        });
+    }
+
+    /**
+     * Checks whether the meetings of two courses overlap, using the matrix when
+     * both courses are in it.
+     *
+     * @param a The first course.
+     * @param b The second course.
+     * @return true if the courses have a time conflict, false otherwise.
+     */
+    public synchronized boolean conflicts(Course a, Course b) {
+        Integer slotA = freshSlot(a);
+        Integer slotB = freshSlot(b);
+        if (slotA != null && slotB != null) {
+            return rows[slotA].get(slotB);
+        }
+        return meetingsOverlap(a, b);
+    }
+
+    /**
+     * Checks whether a candidate course fits next to a set of enrolled courses.
+     * Enrolled courses that are not part of the matrix are held in another
+     * semester and never conflict. A candidate that is not part of the matrix
+     * yet is checked meeting by meeting.
+     *
+     * @param candidate The course to check.
+     * @param enrolled  The courses already taken.
+     * @return true if the candidate conflicts with none of the enrolled courses
+     *         of the matrix.
+     */
+    public synchronized boolean isFree(Course candidate, Collection<Course> enrolled) {
+        Integer candidateSlot = freshSlot(candidate);
+        BitSet enrolledSlots = new BitSet(courses.size());
+        for (Course course : enrolled) {
+            Integer slot = freshSlot(course);
+            if (slot == null) {
+                continue;
+            }
+            if (candidateSlot == null && meetingsOverlap(candidate, course)) {
+                return false;
+            }
+            enrolledSlots.set(slot);
+        }
+        return candidateSlot == null || !rows[candidateSlot].intersects(enrolledSlots);
+    }
+
+    /**
+     * Retrieves the number of courses in the matrix.
+     *
+     * @return The number of courses in the matrix.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    // Slot of the course, or null if not indexed
+    private Integer slotOf(Course course) {
+        int id = course.getDenseId();
+        return id < slots.length && slots[id] >= 0 ? slots[id] : null;
+    }
+
+    // Slot of the course with its row brought up to date, or null if not indexed
+    private Integer freshSlot(Course course) {
+        Integer slot = slotOf(course);
+        if (slot != null && versions[slot] != course.getMeetingsVersion()) {
+            clearRow(slot);
+            fillRow(slot);
+        }
+        return slot;
+    }
+
+    private void fillRow(int slot) {
+        Course course = courses.get(slot);
+        BitSet row = computeRow(course, courses.size(), courses.size() >= PARALLEL_THRESHOLD);
+        rows[slot] = row;
+        versions[slot] = course.getMeetingsVersion();
+        row.stream().filter(j -> j != slot).forEach(j -> rows[j].set(slot));
+    }
+
+    private void clearRow(int slot) {
+        BitSet row = rows[slot];
+        row.stream().filter(j -> j != slot).forEach(j -> rows[j].clear(slot));
+        row.clear();
+    }
+
+    private BitSet computeRow(Course course, int size, boolean parallel) {
+        IntStream range = IntStream.range(0, size);
+        if (parallel) {
+            range = range.parallel();
+        }
+        BitSet row = new BitSet(size);
+        for (int j : range.filter(j -> courses.get(j) != null && meetingsOverlap(course, courses.get(j))).toArray()) {
+            row.set(j);
+        }
+        return row;
+    }
+
+    /**
+     * Checks whether any weekly meeting of one course overlaps with any weekly
+     * meeting of another.
+     *
+     * @param a The first course.
+     * @param b The second course.
+     * @return true if the courses have a time conflict, false otherwise.
+     */
+    static boolean meetingsOverlap(Course a, Course b) {
+        for (WeeklyMeeting wm : a.getWeeklyMeetings()) {
+            for (WeeklyMeeting other : b.getWeeklyMeetings()) {
+                if (wm.hasTimeConflict(other)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -1,10 +1,15 @@
 package object_orienters;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a course offered by the university.
@@ -17,18 +22,28 @@ import java.util.Set;
  * A course can have a maximum capacity of students that can be enrolled.
  * It also holds the number of credit hours the course offers.
  * And Finally, a course can have a list of students enrolled in it.
+ * The teacher and the enrolled students belong to the course's offering in
+ * each semester; the course itself answers for its current offering, the one
+ * in the latest semester it is offered in.
  */
 public class Course {
+    // Dense ints for course IDs, so per-course data can live in primitive arrays
+    private static final Map<String, Integer> denseIds = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextDenseId = new AtomicInteger();
+
     private final int CAPACITY;
     private Type courseType;
     private Faculty courseFaculty;
+    private Specialization specialization;
     private String courseID;
     private String courseName;
     private int creditHours;
     private Set<Course> preRequisites;
     private List<WeeklyMeeting> weeklyMeetings;
-    private Teacher teacher;
-    private List<Student> enrolledStudents;
+    private final List<CourseOffering> offerings;
+    private CourseOffering currentOffering;
+    private int meetingsVersion;
+    private final int denseId;
 
     /**
      * Constructor for university requirement courses.
@@ -42,7 +57,7 @@ public class Course {
      */
     public Course(String courseID, String courseName, Faculty courseFaculty, int creditHours,
             List<WeeklyMeeting> weeklyMeetings, int CAPACITY) {
-        this.enrolledStudents = new ArrayList<>();
+        this.offerings = new ArrayList<>();
         this.courseID = courseID;
         this.courseFaculty = courseFaculty;
         this.courseName = courseName;
@@ -50,6 +65,8 @@ public class Course {
         this.preRequisites = new HashSet<Course>();
         this.weeklyMeetings = weeklyMeetings;
         this.CAPACITY = CAPACITY; // Initialize the capacity field
+        this.denseId = denseIds.computeIfAbsent(courseID, id -> nextDenseId.getAndIncrement());
+        useMeetings(weeklyMeetings);
         courseType = Type.UNIVERSITY_REQUIREMENT;
     }
 
@@ -65,16 +82,19 @@ public class Course {
      */
     public Course(String courseID, String courseName, Specialization specialization, int creditHours,
             List<WeeklyMeeting> weeklyMeetings, int CAPACITY) {
-        this.enrolledStudents = new ArrayList<>();
+        this.offerings = new ArrayList<>();
 
         this.courseID = courseID;
         this.courseFaculty = specialization.getFaculty();
+        this.specialization = specialization;
         courseFaculty.addMajorCourse(this);
         this.courseName = courseName;
         this.creditHours = creditHours;
         this.preRequisites = new HashSet<>();
         this.weeklyMeetings = weeklyMeetings;
         this.CAPACITY = CAPACITY; // Initialize the capacity field
+        this.denseId = denseIds.computeIfAbsent(courseID, id -> nextDenseId.getAndIncrement());
+        useMeetings(weeklyMeetings);
         courseType = specialization.getType() == Specialization.Type.MAJOR ? Type.MAJOR_REQUIREMENT
                 : Type.MINOR_REQUIREMENT;
     }
@@ -88,10 +108,10 @@ public class Course {
      */
     // Method to enroll a student in the course
     public void enrollStudent(Student student) {
-        if (!isFull()) {
-            enrolledStudents.add(student);
-        } else {
-            System.out.println("Course is full. Cannot enroll student: " + student.getName());
+        if (currentOffering == null) {
+            RegistrarOutput.getInstance().error("Course is not offered in any semester. Cannot enroll student: " + student.getName());
+        } else if (!currentOffering.enroll(student)) {
+            RegistrarOutput.getInstance().error("Course is full. Cannot enroll student: " + student.getName());
         }
     }
 
@@ -104,7 +124,7 @@ public class Course {
      */
     // Method to check if the course is full
     public boolean isFull() {
-        return enrolledStudents.size() >= this.getCapacity();
+        return currentOffering == null ? this.getCapacity() <= 0 : currentOffering.isFull();
     }
 
     /**
@@ -130,6 +150,31 @@ public class Course {
         return false;
     }
 
+    @Override
+    public int hashCode() {
+        return courseID.hashCode();
+    }
+
+    /**
+     * Retrieves the dense int of the course ID. Courses with the same ID share it,
+     * and IDs are numbered from 0 in the order they are first seen.
+     *
+     * @return The course's dense ID.
+     */
+    public int getDenseId() {
+        return denseId;
+    }
+
+    /**
+     * Numbers course IDs from 0 again. Courses built before keep their dense
+     * IDs, so this is only safe once none of them is used anymore, as between
+     * tests.
+     */
+    static void resetDenseIds() {
+        denseIds.clear();
+        nextDenseId.set(0);
+    }
+
     /**
      * Retrieves the unique identifier for the course.
      *
@@ -160,12 +205,39 @@ public class Course {
     }
 
     /**
-     * Retrieves the list of students enrolled in the course.
+     * Retrieves the list of students enrolled in the course's current offering.
      *
-     * @return A list of students enrolled in the course.
+     * @return An unmodifiable list of students enrolled in the course.
      */
     public List<Student> getEnrolledStudents() {
-        return enrolledStudents;
+        return currentOffering == null ? List.of() : currentOffering.getEnrolledStudents();
+    }
+
+    /**
+     * Retrieves the course's offerings in the semesters it is offered in, not
+     * counting archived semesters.
+     *
+     * @return An unmodifiable list of the offerings.
+     */
+    public List<CourseOffering> getOfferings() {
+        return Collections.unmodifiableList(offerings);
+    }
+
+    // Called by Semester when it starts or stops offering the course
+    void addOffering(CourseOffering offering) {
+        offerings.add(offering);
+        updateCurrentOffering();
+    }
+
+    void removeOffering(CourseOffering offering) {
+        offerings.remove(offering);
+        updateCurrentOffering();
+    }
+
+    private void updateCurrentOffering() {
+        currentOffering = offerings.stream()
+                .max(Comparator.comparing((CourseOffering o) -> o.getSemester().getSemesterStartDate()))
+                .orElse(null);
     }
 
     /**
@@ -184,6 +256,9 @@ public class Course {
      */
     public void setCourseName(String courseName) {
         this.courseName = courseName;
+        // Reports and schedules of registered people show the name
+        membersChanged();
+        publishOfferings();
     }
 
     /**
@@ -196,23 +271,36 @@ public class Course {
     }
 
     /**
-     * Retrieves the teacher assigned to the course.
+     * Retrieves the specialization the course is a requirement of.
+     *
+     * @return An Optional containing the specialization, or an empty Optional for
+     *         university requirement courses.
+     */
+    public Optional<Specialization> getSpecialization() {
+        return Optional.ofNullable(specialization);
+    }
+
+    /**
+     * Retrieves the teacher assigned to the course's current offering.
      *
      * @return An Optional containing the teacher if one is assigned, or an empty
      *         Optional
      *         if no teacher is assigned to the course.
      */
     public Optional<Teacher> getTeacher() {
-        return Optional.ofNullable(teacher);
+        return currentOffering == null ? Optional.empty() : currentOffering.getTeacher();
     }
 
     /**
-     * Assigns a teacher to the course.
+     * Assigns a teacher to the course's current offering. A course that is not
+     * offered in any semester has no teacher.
      *
      * @param teacher The teacher to be assigned to the course.
      */
     public void setTeacher(Teacher teacher) {
-        this.teacher = teacher;
+        if (currentOffering != null) {
+            currentOffering.setTeacher(teacher);
+        }
     }
 
     /**
@@ -231,6 +319,17 @@ public class Course {
      */
     public void addPrerequisites(Course preRequisite) {
         this.preRequisites.add(preRequisite);
+        // Reports of registered students list the prerequisites
+        membersChanged();
+        publishOfferings();
+    }
+
+    // Tells the people of every offering that the course changed in place
+    private void membersChanged() {
+        for (CourseOffering offering : offerings) {
+            offering.getTeacher().ifPresent(t -> t.courseChanged(this));
+            offering.getEnrolledStudents().forEach(student -> student.courseChanged(this));
+        }
     }
 
     /**
@@ -244,11 +343,52 @@ public class Course {
 
     /**
      * Sets the list of weekly meetings for the course.
+     * The schedules of the teachers and the enrolled students of every offering
+     * are updated to the new meetings.
      *
      * @param weeklyMeetings The list of weekly meetings to be set for the course.
      */
     public void setWeeklyMeetings(List<WeeklyMeeting> weeklyMeetings) {
+        if (this.weeklyMeetings != null) {
+            this.weeklyMeetings.forEach(meeting -> meeting.removeCourse(this));
+        }
         this.weeklyMeetings = weeklyMeetings;
+        useMeetings(weeklyMeetings);
+        meetingsVersion++;
+        for (CourseOffering offering : offerings) {
+            offering.getTeacher().ifPresent(t -> t.rescheduleCourse(this));
+            offering.getEnrolledStudents().forEach(student -> student.rescheduleCourse(this));
+        }
+        publishOfferings();
+    }
+
+    // Lets the meetings refresh the course when one of their deprecated setters changes them
+    private void useMeetings(List<WeeklyMeeting> meetings) {
+        if (meetings != null) {
+            meetings.forEach(meeting -> meeting.addCourse(this));
+        }
+    }
+
+    // Called by WeeklyMeeting after one of the course's meetings was changed in place
+    void meetingsChanged() {
+        setWeeklyMeetings(weeklyMeetings);
+    }
+
+    // Publishes new snapshots of the semesters offering the course, whose views show its details
+    private void publishOfferings() {
+        for (CourseOffering offering : offerings) {
+            offering.getSemester().publish(this);
+        }
+    }
+
+    /**
+     * Retrieves a counter that changes every time the weekly meetings are replaced,
+     * so precomputed conflict data can tell when it went stale.
+     *
+     * @return The version of the course's weekly meetings.
+     */
+    int getMeetingsVersion() {
+        return meetingsVersion;
     }
 
     /**
@@ -0,0 +1,126 @@
+package object_orienters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A section of a course taught in one semester.
+ * The course holds what does not change between semesters, such as its name,
+ * credit hours, capacity and weekly meetings, while each offering has its own
+ * teacher and enrolled students, so the same course can be offered in several
+ * semesters at once.
+ */
+public class CourseOffering {
+    private final Course course;
+    private final Semester semester;
+    private Teacher teacher;
+    private final List<Student> enrolledStudents;
+
+    /**
+     * Constructs a new offering with no teacher and no students.
+     *
+     * @param course   The course offered.
+     * @param semester The semester the course is offered in.
+     */
+    public CourseOffering(Course course, Semester semester) {
+        this.course = course;
+        this.semester = semester;
+        this.enrolledStudents = new ArrayList<>();
+    }
+
+    /**
+     * Retrieves the course offered.
+     *
+     * @return The course.
+     */
+    public Course getCourse() {
+        return course;
+    }
+
+    /**
+     * Retrieves the semester the course is offered in.
+     *
+     * @return The semester.
+     */
+    public Semester getSemester() {
+        return semester;
+    }
+
+    /**
+     * Retrieves the teacher of the offering.
+     *
+     * @return An Optional containing the teacher, or an empty Optional if no
+     *         teacher is assigned.
+     */
+    public Optional<Teacher> getTeacher() {
+        return Optional.ofNullable(teacher);
+    }
+
+    /**
+     * Assigns a teacher to the offering.
+     *
+     * @param teacher The teacher, or null to leave the offering without one.
+     */
+    public void setTeacher(Teacher teacher) {
+        this.teacher = teacher;
+    }
+
+    /**
+     * Retrieves the students enrolled in the offering.
+     *
+     * @return An unmodifiable list of the students, in enrollment order.
+     */
+    public List<Student> getEnrolledStudents() {
+        return Collections.unmodifiableList(enrolledStudents);
+    }
+
+    /**
+     * Enrolls a student if there is room left.
+     *
+     * @param student The student.
+     * @return true if the student was enrolled, false if the offering is full.
+     */
+    public boolean enroll(Student student) {
+        if (isFull()) {
+            return false;
+        }
+        enrolledStudents.add(student);
+        return true;
+    }
+
+    /**
+     * Removes a student from the offering.
+     *
+     * @param student The student.
+     * @return true if the student was enrolled, false otherwise.
+     */
+    public boolean unenroll(Student student) {
+        return enrolledStudents.remove(student);
+    }
+
+    /**
+     * Checks if the offering has as many students as the course's capacity.
+     *
+     * @return true if no more students can enroll, false otherwise.
+     */
+    public boolean isFull() {
+        return enrolledStudents.size() >= course.getCapacity();
+    }
+
+    /**
+     * Checks whether a person teaches or is enrolled in the offering.
+     *
+     * @param person The person.
+     * @return true if the person takes part in the offering, false otherwise.
+     */
+    public boolean includes(Person person) {
+        return person.equals(teacher) || (person instanceof Student && enrolledStudents.contains(person));
+    }
+
+    @Override
+    public String toString() {
+        return course.getCourseID() + " in " + semester.getSemesterName();
+    }
+}
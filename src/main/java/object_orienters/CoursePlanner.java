@@ -0,0 +1,197 @@
+package object_orienters;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Picks the best conflict-free combinations of courses from a student's
+ * wish-list for a semester.
+ * Courses the student cannot take (missing prerequisites, full, already
+ * registered, or clashing with the student's current schedule) are dropped
+ * first. The remaining candidates get a bitset of the candidates they conflict
+ * with, and a backtracking search over these bitsets looks for the
+ * combinations with the highest total weight, pruning any branch that cannot
+ * beat the alternatives found so far. Only maximal combinations are returned:
+ * no other wished course could be added to them.
+ */
+public class CoursePlanner {
+    /**
+     * The largest number of candidate courses the planner searches over.
+     */
+    public static final int MAX_CANDIDATES = Long.SIZE - 1;
+
+    /**
+     * A combination of courses.
+     *
+     * @param courses     The courses, in wish-list order.
+     * @param score       The sum of the courses' weights.
+     * @param creditHours The sum of the courses' credit hours.
+     */
+    public record Plan(List<Course> courses, double score, int creditHours) {
+    }
+
+    private static final Comparator<Plan> WORST_FIRST = Comparator.comparingDouble(Plan::score)
+            .thenComparingInt(Plan::creditHours);
+
+    private final Semester semester;
+
+    /**
+     * Creates a planner for a semester.
+     *
+     * @param semester The semester the courses are offered in.
+     */
+    public CoursePlanner(Semester semester) {
+        this.semester = semester;
+    }
+
+    /**
+     * Plans with every wished course weighted the same, so the plans with the
+     * most courses come first.
+     *
+     * @param student      The student.
+     * @param wishList     The courses the student would like to take.
+     * @param maxCredits   The most credit hours a plan may add up to.
+     * @param alternatives The number of plans to return.
+     * @return The best plans, best first.
+     */
+    public List<Plan> plan(Student student, List<Course> wishList, int maxCredits, int alternatives) {
+        Map<Course, Double> wishes = new LinkedHashMap<>();
+        wishList.forEach(course -> wishes.put(course, 1.0));
+        return plan(student, wishes, maxCredits, alternatives);
+    }
+
+    /**
+     * Finds the best plans for a student.
+     *
+     * @param student      The student.
+     * @param wishes       The courses the student would like to take, with a
+     *                     positive weight for how much.
+     * @param maxCredits   The most credit hours a plan may add up to.
+     * @param alternatives The number of plans to return.
+     * @return The best plans, best first; empty if no wished course can be taken.
+     * @throws IllegalArgumentException If more than MAX_CANDIDATES courses can be
+     *                                  taken, or a weight is not positive.
+     */
+    public List<Plan> plan(Student student, Map<Course, Double> wishes, int maxCredits, int alternatives) {
+        List<Course> candidates = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        wishes.forEach((course, weight) -> {
+            if (!(weight > 0)) {
+                throw new IllegalArgumentException("Weight of " + course.getCourseID() + " must be positive");
+            }
+            if (isAvailable(student, course) && course.getCreditHours() <= maxCredits) {
+                candidates.add(course);
+                weights.add(weight);
+            }
+        });
+        if (candidates.size() > MAX_CANDIDATES) {
+            throw new IllegalArgumentException("At most " + MAX_CANDIDATES + " courses can be planned at once");
+        }
+        if (candidates.isEmpty() || alternatives <= 0) {
+            return List.of();
+        }
+        Search search = new Search(candidates, weights, maxCredits, alternatives);
+        search.run(0, 0L, 0L, 0, 0);
+        List<Plan> plans = new ArrayList<>(search.best);
+        plans.sort(WORST_FIRST.reversed());
+        return plans;
+    }
+
+    private boolean isAvailable(Student student, Course course) {
+        return !student.getRegisteredCourses().contains(course)
+                && !student.getTranscript().hasCompleted(course)
+                && !course.isFull()
+                && student.preRequisitesCheck(course)
+                && semester.isFreeFor(student, course);
+    }
+
+    // Branch and bound over include/exclude decisions, one candidate at a time
+    private final class Search {
+        private final List<Course> candidates;
+        private final int n;
+        private final double[] weight;
+        private final int[] credits;
+        private final long[] conflicts;
+        private final int maxCredits;
+        private final int alternatives;
+        private final PriorityQueue<Plan> best = new PriorityQueue<>(WORST_FIRST);
+
+        Search(List<Course> candidates, List<Double> weights, int maxCredits, int alternatives) {
+            this.candidates = candidates;
+            this.n = candidates.size();
+            this.weight = new double[n];
+            this.credits = new int[n];
+            this.conflicts = new long[n];
+            this.maxCredits = maxCredits;
+            this.alternatives = alternatives;
+            for (int i = 0; i < n; i++) {
+                weight[i] = weights.get(i);
+                credits[i] = candidates.get(i).getCreditHours();
+                for (int j = 0; j < i; j++) {
+                    if (semester.hasTimeConflict(candidates.get(i), candidates.get(j))) {
+                        conflicts[i] |= 1L << j;
+                        conflicts[j] |= 1L << i;
+                    }
+                }
+            }
+        }
+
+        void run(int index, long chosen, long blocked, double score, int creditHours) {
+            if (index == n) {
+                if (isMaximal(chosen, blocked, creditHours)) {
+                    offer(chosen, score, creditHours);
+                }
+                return;
+            }
+            if (best.size() == alternatives && bound(index, blocked, score) < best.peek().score()) {
+                return;
+            }
+            long bit = 1L << index;
+            if ((blocked & bit) == 0 && creditHours + credits[index] <= maxCredits) {
+                run(index + 1, chosen | bit, blocked | conflicts[index], score + weight[index],
+                        creditHours + credits[index]);
+            }
+            run(index + 1, chosen, blocked, score, creditHours);
+        }
+
+        // The score if every remaining candidate not blocked yet could still be added
+        private double bound(int index, long blocked, double score) {
+            for (int i = index; i < n; i++) {
+                if ((blocked & (1L << i)) == 0) {
+                    score += weight[i];
+                }
+            }
+            return score;
+        }
+
+        private boolean isMaximal(long chosen, long blocked, int creditHours) {
+            for (int i = 0; i < n; i++) {
+                long bit = 1L << i;
+                if ((chosen & bit) == 0 && (blocked & bit) == 0 && creditHours + credits[i] <= maxCredits) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void offer(long chosen, double score, int creditHours) {
+            if (best.size() == alternatives) {
+                if (WORST_FIRST.compare(new Plan(List.of(), score, creditHours), best.peek()) <= 0) {
+                    return;
+                }
+                best.poll();
+            }
+            List<Course> courses = new ArrayList<>(Long.bitCount(chosen));
+            for (int i = 0; i < n; i++) {
+                if ((chosen & (1L << i)) != 0) {
+                    courses.add(candidates.get(i));
+                }
+            }
+            best.add(new Plan(List.copyOf(courses), score, creditHours));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package object_orienters;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Computes what students still need to graduate.
+ * A student's requirements are the courses of their major specialization, of
+ * their minor specialization if any, and the university requirement courses of
+ * their faculty. The audit lists the completed and remaining requirements with
+ * their credit hours, and sequences the remaining ones, together with any
+ * prerequisites they are missing, into the earliest semesters allowed by the
+ * prerequisite chains.
+ */
+public class DegreeAudit {
+
+    /**
+     * The audit of one student.
+     *
+     * @param studentId        The student's ID.
+     * @param completed        The completed requirements.
+     * @param inProgress       The requirements the student is registered in.
+     * @param remaining        The requirements not taken yet.
+     * @param plan             The remaining requirements and their missing
+     *                         prerequisites, by the first semester they can be
+     *                         taken in: index 0 is the next semester.
+     * @param blocked          Courses that can never be taken because their
+     *                         prerequisites form a cycle.
+     * @param creditsCompleted The credit hours of the completed requirements.
+     * @param creditsRemaining The credit hours of the requirements in progress or
+     *                         remaining.
+     */
+    public record Report(int studentId, List<Course> completed, List<Course> inProgress, List<Course> remaining,
+            List<List<Course>> plan, List<Course> blocked, int creditsCompleted, int creditsRemaining) {
+
+        /**
+         * Checks whether all requirements are completed.
+         *
+         * @return true if nothing remains.
+         */
+        public boolean isComplete() {
+            return inProgress.isEmpty() && remaining.isEmpty();
+        }
+
+        /**
+         * Retrieves the number of semesters needed after the current one.
+         *
+         * @return The length of the plan.
+         */
+        public int getSemestersNeeded() {
+            return plan.size();
+        }
+    }
+
+    private final Map<Specialization, List<Course>> bySpecialization = new HashMap<>();
+    private final Map<Faculty, List<Course>> universityByFaculty = new HashMap<>();
+
+    /**
+     * Creates an audit over a catalog of courses.
+     *
+     * @param catalog All the courses offered, for example
+     *                RegistrarDriver.courses.values().
+     */
+    public DegreeAudit(Collection<Course> catalog) {
+        for (Course course : catalog) {
+            Optional<Specialization> specialization = course.getSpecialization();
+            if (specialization.isPresent()) {
+                bySpecialization.computeIfAbsent(specialization.get(), s -> new ArrayList<>()).add(course);
+            } else if (course.getCourseType() == Course.Type.UNIVERSITY_REQUIREMENT) {
+                universityByFaculty.computeIfAbsent(course.getCourseFaculty(), f -> new ArrayList<>()).add(course);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the requirements of a student.
+     *
+     * @param student The student.
+     * @return The required courses, major first, then minor, then university.
+     */
+    public List<Course> getRequirements(Student student) {
+        Set<Course> required = new LinkedHashSet<>(bySpecialization.getOrDefault(student.getMajor(), List.of()));
+        if (student.getMinor() != null) {
+            student.getMinor().ifPresent(minor -> required.addAll(bySpecialization.getOrDefault(minor, List.of())));
+        }
+        required.addAll(universityByFaculty.getOrDefault(student.getFaculty(), List.of()));
+        return new ArrayList<>(required);
+    }
+
+    /**
+     * Audits a student.
+     *
+     * @param student The student.
+     * @return The student's audit.
+     */
+    public Report audit(Student student) {
+        Transcript transcript = student.getTranscript();
+        Set<Course> registered = student.getRegisteredCourses();
+        List<Course> completed = new ArrayList<>();
+        List<Course> inProgress = new ArrayList<>();
+        List<Course> remaining = new ArrayList<>();
+        int creditsCompleted = 0;
+        int creditsRemaining = 0;
+        for (Course course : getRequirements(student)) {
+            if (transcript.hasCompleted(course)) {
+                completed.add(course);
+                creditsCompleted += course.getCreditHours();
+            } else {
+                (registered.contains(course) ? inProgress : remaining).add(course);
+                creditsRemaining += course.getCreditHours();
+            }
+        }
+
+        // Earliest semester of each course to take: one after its latest missing prerequisite
+        Map<Course, Integer> semesterOf = new LinkedHashMap<>();
+        Set<Course> blocked = new LinkedHashSet<>();
+        for (Course course : remaining) {
+            schedule(course, transcript, registered, semesterOf, new LinkedHashSet<>(), blocked);
+        }
+        List<List<Course>> plan = new ArrayList<>();
+        semesterOf.forEach((course, semester) -> {
+            while (plan.size() <= semester) {
+                plan.add(new ArrayList<>());
+            }
+            plan.get(semester).add(course);
+        });
+        return new Report(student.getId(), Collections.unmodifiableList(completed),
+                Collections.unmodifiableList(inProgress), Collections.unmodifiableList(remaining),
+                plan.stream().map(Collections::unmodifiableList).toList(), List.copyOf(blocked),
+                creditsCompleted, creditsRemaining);
+    }
+
+    // Returns the semester index of a course, or -1 if it is blocked by a prerequisite cycle
+    private int schedule(Course course, Transcript transcript, Set<Course> registered,
+            Map<Course, Integer> semesterOf, Set<Course> visiting, Set<Course> blocked) {
+        Integer known = semesterOf.get(course);
+        if (known != null) {
+            return known;
+        }
+        if (blocked.contains(course) || !visiting.add(course)) {
+            blocked.add(course);
+            return -1;
+        }
+        int semester = 0;
+        for (Course prerequisite : course.getPrerequisites()) {
+            if (transcript.hasCompleted(prerequisite) || registered.contains(prerequisite)) {
+                continue;
+            }
+            int before = schedule(prerequisite, transcript, registered, semesterOf, visiting, blocked);
+            if (before < 0) {
+                blocked.add(course);
+                visiting.remove(course);
+                return -1;
+            }
+            semester = Math.max(semester, before + 1);
+        }
+        visiting.remove(course);
+        semesterOf.put(course, semester);
+        return semester;
+    }
+
+    /**
+     * Audits every student of a faculty in parallel.
+     *
+     * @param faculty The faculty.
+     * @return The audits by student ID, in the faculty's order of students.
+     */
+    public Map<Integer, Report> auditFaculty(Faculty faculty) {
+        return faculty.getStudents().parallelStream()
+                .map(this::audit)
+                .collect(Collectors.toMap(Report::studentId, report -> report, (a, b) -> a, LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,427 @@
+package object_orienters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports the new and changed rows of the resource files into the running
+ * registrar, without reloading what is already there.
+ * Every row is matched to live state by its natural key: the row position for
+ * weekly meetings (courses refer to their meetings by position), the name for
+ * faculties, the start and end dates for semesters, the name and
+ * specialization for students and teachers, and the course ID for courses.
+ * Rows with a new key are inserted, rows whose key exists with other values
+ * are updated where the registrar allows it, identical rows are skipped, and
+ * rows that cannot be parsed or would change something fixed (such as a
+ * course's credit hours, or the faculty, type or minor of a student or teacher)
+ * are rejected with a message.
+ * All rows of a file are checked first, then the changes are applied to the
+ * static maps of RegistrarDriver in batches.
+ */
+public final class DeltaImporter {
+    /**
+     * The number of changes applied together.
+     */
+    public static final int BATCH_SIZE = 256;
+
+    /**
+     * The resource files, in the order they must be imported.
+     */
+    public static final List<String> FILES = List.of("WeeklyMeetings.csv", "Faculties.csv", "SemesterDates.csv",
+            "students.csv", "Teachers.csv", "Courses.csv");
+
+    /**
+     * The outcome of importing one file.
+     *
+     * @param file     The file name.
+     * @param inserted The number of rows added to the registrar.
+     * @param updated  The number of rows that changed an existing entry.
+     * @param skipped  The number of rows already in the registrar.
+     * @param rejected The number of rows that could not be imported.
+     * @param nanos    The time the import took.
+     */
+    public record Report(String file, int inserted, int updated, int skipped, int rejected, long nanos) {
+        @Override
+        public String toString() {
+            return String.format("%-20s inserted %d, updated %d, skipped %d, rejected %d in %.1f ms", file, inserted,
+                    updated, skipped, rejected, nanos / 1e6);
+        }
+    }
+
+    private DeltaImporter() {
+    }
+
+    /**
+     * Imports every resource file found in a directory, in dependency order.
+     *
+     * @param directory The directory holding the CSV files.
+     * @return One report per file found.
+     * @throws IOException If a file cannot be read.
+     */
+    public static List<Report> importDirectory(Path directory) throws IOException {
+        List<Report> reports = new ArrayList<>();
+        for (String file : FILES) {
+            Path path = directory.resolve(file);
+            if (Files.exists(path)) {
+                reports.add(importFile(path));
+            }
+        }
+        return reports;
+    }
+
+    /**
+     * Imports one resource file, recognized by its name.
+     *
+     * @param file The CSV file.
+     * @return The counts of inserted, updated, skipped and rejected rows.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the file is not a resource file.
+     */
+    public static Report importFile(Path file) throws IOException {
+        long start = System.nanoTime();
+        String name = file.getFileName().toString();
+        if (FILES.stream().noneMatch(name::equalsIgnoreCase)) {
+            throw new IllegalArgumentException("Not a resource file: " + name);
+        }
+        List<String[]> rows = new ArrayList<>();
+        try (MappedCsvReader csv = MappedCsvReader.open(file)) {
+            while (csv.next()) {
+                String[] values = new String[csv.getFieldCount()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = csv.getString(i);
+                }
+                rows.add(values);
+            }
+        }
+        Delta delta = new Delta(name);
+        switch (name.toLowerCase()) {
+            case "weeklymeetings.csv" -> meetings(rows, delta);
+            case "faculties.csv" -> faculties(rows, delta);
+            case "semesterdates.csv" -> semesters(rows, delta);
+            case "students.csv" -> students(rows, delta);
+            case "teachers.csv" -> teachers(rows, delta);
+            default -> courses(rows, delta);
+        }
+        delta.apply();
+        return new Report(name, delta.inserted, delta.updated, delta.skipped, delta.rejected.size(),
+                System.nanoTime() - start);
+    }
+
+    private static void meetings(List<String[]> rows, Delta delta) {
+        List<WeeklyMeeting> live = RegistrarDriver.weeklyMeetings;
+        for (int row = 0; row < rows.size(); row++) {
+            String[] values = rows.get(row);
+            WeeklyMeeting meeting;
+            try {
+                meeting = new WeeklyMeeting(DayOfWeek.valueOf(values[0].trim().toUpperCase()),
+                        Duration.ofMinutes(Long.parseLong(values[1].trim())), values[2].trim(),
+                        LocalTime.parse(values[3].trim()));
+            } catch (RuntimeException e) {
+                delta.reject(row, e.toString());
+                continue;
+            }
+            if (row >= live.size()) {
+                delta.insert(() -> live.add(meeting));
+            } else if (sameMeeting(live.get(row), meeting)) {
+                delta.skip();
+            } else {
+                int index = row;
+                delta.update(() -> replaceMeeting(index, meeting));
+            }
+        }
+    }
+
+    // Replaces a weekly meeting and points every course that used it at the new one
+    private static void replaceMeeting(int index, WeeklyMeeting meeting) {
+        WeeklyMeeting old = RegistrarDriver.weeklyMeetings.set(index, meeting);
+        for (Course course : RegistrarDriver.courses.values()) {
+            List<WeeklyMeeting> meetings = course.getWeeklyMeetings();
+            if (meetings.stream().anyMatch(wm -> wm == old)) {
+                course.setWeeklyMeetings(new ArrayList<>(meetings.stream().map(wm -> wm == old ? meeting : wm).toList()));
+            }
+        }
+    }
+
+    private static void faculties(List<String[]> rows, Delta delta) {
+        Set<String> seen = new HashSet<>(RegistrarDriver.faculties.keySet());
+        for (String[] values : rows) {
+            String name = values[0].trim();
+            if (seen.add(name)) {
+                delta.insert(() -> Catalog.faculty(name));
+            } else {
+                delta.skip();
+            }
+        }
+    }
+
+    private static void semesters(List<String[]> rows, Delta delta) {
+        Set<String> seen = new HashSet<>();
+        RegistrarDriver.semesters.getTerms().forEach(t -> seen.add(t.start() + "," + t.end()));
+        for (int row = 0; row < rows.size(); row++) {
+            String[] values = rows.get(row);
+            LocalDate start;
+            LocalDate end;
+            try {
+                start = LocalDate.parse(values[0].trim());
+                end = LocalDate.parse(values[1].trim());
+            } catch (RuntimeException e) {
+                delta.reject(row, e.toString());
+                continue;
+            }
+            String name = Semester.nameOf(start);
+            if (!seen.add(start + "," + end)) {
+                delta.skip();
+            } else if (RegistrarDriver.semesters.containsKey(name)) {
+                delta.reject(row, name + " already exists with other dates");
+            } else {
+                delta.insert(() -> RegistrarDriver.semesters.declare(start, end));
+            }
+        }
+    }
+
+    private static void students(List<String[]> rows, Delta delta) {
+        Map<String, String> specializations = knownSpecializations();
+        // The faculty, type and minor known for each name and major
+        Map<String, String> seen = new HashMap<>();
+        RegistrarDriver.students.values().forEach(s -> seen.put(s.getName() + "," + s.getMajor().getName(),
+                details(s.getFaculty().getName(), s.getMajor().getType(),
+                        s.getMinor() != null && s.getMinor().isPresent() ? s.getMinor().get().getName() : null)));
+        for (int row = 0; row < rows.size(); row++) {
+            String[] values = rows.get(row);
+            Specialization.Type type;
+            try {
+                type = Specialization.Type.valueOf(values[3].trim());
+            } catch (RuntimeException e) {
+                delta.reject(row, e.toString());
+                continue;
+            }
+            String name = values[0].trim();
+            String major = values[1].trim();
+            String faculty = values[2].trim();
+            String minor = values.length > 4 && !values[4].isBlank() ? values[4].trim() : null;
+            String minorFaculty = values.length > 5 && !values[5].isBlank() ? values[5].trim() : faculty;
+            String clash = clash(specializations, major, faculty, type);
+            if (clash == null && minor != null) {
+                clash = clash(specializations, minor, minorFaculty, Specialization.Type.MINOR);
+            }
+            if (clash != null) {
+                delta.reject(row, clash);
+                continue;
+            }
+            if (known(seen, name + "," + major, details(faculty, type, minor), row, delta)) {
+                continue;
+            }
+            specializations.putIfAbsent(major, details(faculty, type, null));
+            if (minor != null) {
+                specializations.putIfAbsent(minor, details(minorFaculty, Specialization.Type.MINOR, null));
+            }
+            delta.insert(() -> {
+                Specialization specialization = Catalog.specialization(major, Catalog.faculty(faculty), type);
+                Student student = minor == null ? new Student(name, specialization)
+                        : new Student(name, specialization,
+                                Catalog.specialization(minor, Catalog.faculty(minorFaculty), Specialization.Type.MINOR));
+                RegistrarDriver.students.put(student.getId(), student);
+            });
+        }
+    }
+
+    private static void teachers(List<String[]> rows, Delta delta) {
+        Map<String, String> specializations = knownSpecializations();
+        // The faculty and type known for each name and specialization
+        Map<String, String> seen = new HashMap<>();
+        RegistrarDriver.teachers.values().forEach(t -> seen.put(t.getName() + "," + t.getSpecialization().getName(),
+                details(t.getSpecialization().getFaculty().getName(), t.getSpecialization().getType(), null)));
+        for (int row = 0; row < rows.size(); row++) {
+            String[] values = rows.get(row);
+            Specialization.Type type;
+            try {
+                type = Specialization.Type.valueOf(values[3].trim());
+            } catch (RuntimeException e) {
+                delta.reject(row, e.toString());
+                continue;
+            }
+            String name = values[0].trim();
+            String specialization = values[1].trim();
+            String faculty = values[2].trim();
+            String clash = clash(specializations, specialization, faculty, type);
+            if (clash != null) {
+                delta.reject(row, clash);
+                continue;
+            }
+            if (known(seen, name + "," + specialization, details(faculty, type, null), row, delta)) {
+                continue;
+            }
+            specializations.putIfAbsent(specialization, details(faculty, type, null));
+            delta.insert(() -> {
+                Teacher teacher = new Teacher(name,
+                        Catalog.specialization(specialization, Catalog.faculty(faculty), type));
+                RegistrarDriver.teachers.put(teacher.getId(), teacher);
+            });
+        }
+    }
+
+    private static String details(String faculty, Specialization.Type type, String minor) {
+        return "faculty " + faculty + ", type " + type + (minor == null ? "" : ", minor " + minor);
+    }
+
+    // The faculty and type of every specialization in the catalog, by name
+    private static Map<String, String> knownSpecializations() {
+        Map<String, String> specializations = new HashMap<>();
+        RegistrarDriver.specializations.values().forEach(s -> specializations.put(s.getName(),
+                details(s.getFaculty().getName(), s.getType(), null)));
+        return specializations;
+    }
+
+    // Why a row cannot name a specialization the catalog or an earlier row has with another faculty or type
+    private static String clash(Map<String, String> specializations, String name, String faculty,
+            Specialization.Type type) {
+        String existing = specializations.get(name);
+        String details = details(faculty, type, null);
+        return existing == null || existing.equals(details) ? null
+                : "Specialization " + name + " already exists with " + existing + ", not " + details;
+    }
+
+    // Skips a person already known with the same details and rejects one known with others
+    private static boolean known(Map<String, String> seen, String key, String details, int row, Delta delta) {
+        String existing = seen.putIfAbsent(key, details);
+        if (existing == null) {
+            return false;
+        }
+        if (existing.equals(details)) {
+            delta.skip();
+        } else {
+            delta.reject(row, key + " already exists with " + existing + ", not " + details);
+        }
+        return true;
+    }
+
+    private static void courses(List<String[]> rows, Delta delta) {
+        Set<String> seen = new HashSet<>();
+        for (int row = 0; row < rows.size(); row++) {
+            String[] values = rows.get(row);
+            String courseID = values[0].trim();
+            String courseName;
+            int creditHours;
+            int capacity;
+            try {
+                courseName = values[1].trim();
+                creditHours = Integer.parseInt(values[3].trim());
+                capacity = Integer.parseInt(values[4].trim());
+            } catch (RuntimeException e) {
+                delta.reject(row, e.toString());
+                continue;
+            }
+            // Like readFiles, the course on row r meets at weekly meetings 3r to 3r + 2
+            int first = row * 3;
+            if (first + 3 > RegistrarDriver.weeklyMeetings.size()) {
+                delta.reject(row, "no weekly meetings at rows " + first + " to " + (first + 2));
+                continue;
+            }
+            List<WeeklyMeeting> meetings = new ArrayList<>(RegistrarDriver.weeklyMeetings.subList(first, first + 3));
+            Faculty faculty = RegistrarDriver.faculties.get(values[2].trim());
+            Specialization specialization = faculty == null ? RegistrarDriver.specializations.get(values[2].trim())
+                    : null;
+            if (faculty == null && specialization == null) {
+                delta.reject(row, "unknown faculty or specialization " + values[2].trim());
+                continue;
+            }
+            if (!seen.add(courseID)) {
+                delta.reject(row, "duplicate course ID " + courseID);
+                continue;
+            }
+
+            Course existing = RegistrarDriver.courses.get(courseID);
+            if (existing == null) {
+                delta.insert(() -> {
+                    Course course = faculty != null
+                            ? new Course(courseID, courseName, faculty, creditHours, meetings, capacity)
+                            : new Course(courseID, courseName, specialization, creditHours, meetings, capacity);
+                    RegistrarDriver.courses.put(courseID, course);
+                });
+            } else if (existing.getCreditHours() != creditHours || existing.getCapacity() != capacity
+                    || existing.getSpecialization().orElse(null) != specialization
+                    || (faculty != null && existing.getCourseFaculty() != faculty)) {
+                delta.reject(row, "the credit hours, capacity and faculty of " + courseID + " cannot change");
+            } else if (!existing.getCourseName().equals(courseName)
+                    || !sameMeetings(existing.getWeeklyMeetings(), meetings)) {
+                delta.update(() -> {
+                    existing.setCourseName(courseName);
+                    if (!sameMeetings(existing.getWeeklyMeetings(), meetings)) {
+                        existing.setWeeklyMeetings(meetings);
+                    }
+                });
+            } else {
+                delta.skip();
+            }
+        }
+    }
+
+    private static boolean sameMeetings(List<WeeklyMeeting> a, List<WeeklyMeeting> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!sameMeeting(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameMeeting(WeeklyMeeting a, WeeklyMeeting b) {
+        return a.getDay() == b.getDay() && a.getDuration().equals(b.getDuration()) && a.getRoom().equals(b.getRoom())
+                && a.getHour().equals(b.getHour());
+    }
+
+    // The changes found in one file, applied in batches once all rows are checked
+    private static final class Delta {
+        private final String file;
+        private final List<Runnable> changes = new ArrayList<>();
+        private final List<String> rejected = new ArrayList<>();
+        private int inserted;
+        private int updated;
+        private int skipped;
+
+        Delta(String file) {
+            this.file = file;
+        }
+
+        void insert(Runnable change) {
+            changes.add(change);
+            inserted++;
+        }
+
+        void update(Runnable change) {
+            changes.add(change);
+            updated++;
+        }
+
+        void skip() {
+            skipped++;
+        }
+
+        void reject(int row, String reason) {
+            rejected.add(reason);
+            RegistrarOutput.getInstance().error("Skipping row " + (row + 1) + " of " + file + ": " + reason);
+        }
+
+        void apply() {
+            for (int from = 0; from < changes.size(); from += BATCH_SIZE) {
+                long start = System.nanoTime();
+                changes.subList(from, Math.min(from + BATCH_SIZE, changes.size())).forEach(Runnable::run);
+                RegistrarMetrics.record("DeltaImporter.batch", System.nanoTime() - start);
+            }
+        }
+    }
+}
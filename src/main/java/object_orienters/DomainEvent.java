@@ -0,0 +1,108 @@
+package object_orienters;
+
+import java.time.LocalDate;
+
+/**
+ * A fact recorded in the registrar's event log.
+ * Events only hold IDs and values, never references to the mutable domain
+ * objects, so the log stays a faithful history after those objects change.
+ */
+public sealed interface DomainEvent {
+
+    /**
+     * Retrieves the date the event happened on.
+     *
+     * @return The event's date.
+     */
+    LocalDate date();
+
+    /**
+     * A new student was admitted.
+     *
+     * @param date      The date of admission.
+     * @param studentId The student's ID.
+     * @param name      The student's name.
+     * @param faculty   The name of the student's faculty.
+     * @param major     The name of the student's major.
+     * @param minor     The name of the student's minor, or null if none.
+     */
+    record StudentAdmitted(LocalDate date, int studentId, String name, String faculty, String major, String minor)
+            implements DomainEvent {
+    }
+
+    /**
+     * A course was registered in a semester with a teacher.
+     *
+     * @param date      The date of registration.
+     * @param semester  The semester name.
+     * @param courseId  The course ID.
+     * @param teacherId The ID of the teacher assigned to the course.
+     */
+    record CourseRegistered(LocalDate date, String semester, String courseId, int teacherId) implements DomainEvent {
+    }
+
+    /**
+     * A student was enrolled in a course.
+     *
+     * @param date      The date of enrollment.
+     * @param semester  The semester name.
+     * @param courseId  The course ID.
+     * @param studentId The student's ID.
+     */
+    record StudentEnrolled(LocalDate date, String semester, String courseId, int studentId) implements DomainEvent {
+    }
+
+    /**
+     * A student was removed from a course without a grade.
+     *
+     * @param date      The date of unenrollment.
+     * @param semester  The semester name.
+     * @param courseId  The course ID.
+     * @param studentId The student's ID.
+     */
+    record StudentUnenrolled(LocalDate date, String semester, String courseId, int studentId) implements DomainEvent {
+    }
+
+    /**
+     * A teacher was unassigned from a course.
+     *
+     * @param date      The date the teacher was unassigned.
+     * @param semester  The semester name.
+     * @param courseId  The course ID.
+     * @param teacherId The teacher's ID.
+     */
+    record TeacherUnassigned(LocalDate date, String semester, String courseId, int teacherId) implements DomainEvent {
+    }
+
+    /**
+     * A grade was entered for a student, completing the course.
+     *
+     * @param date           The date the grade was entered.
+     * @param semester       The name of the semester the course was taken in, or
+     *                       an empty string if it is not known.
+     * @param studentId      The student's ID.
+     * @param courseId       The course ID.
+     * @param teacherId      The ID of the teacher who taught the course, or -1 if
+     *                       none was assigned.
+     * @param creditHours    The course's credit hours.
+     * @param points         The grade points.
+     * @param previousPoints The grade points this grade replaces, or -1 if the
+     *                       course was not completed before.
+     */
+    record GradeEntered(LocalDate date, String semester, int studentId, String courseId, int teacherId, int creditHours,
+            double points, double previousPoints) implements DomainEvent {
+    }
+
+    /**
+     * A grade was removed from a student's transcript.
+     *
+     * @param date        The date the grade was removed.
+     * @param studentId   The student's ID.
+     * @param courseId    The course ID.
+     * @param creditHours The credit hours the grade counted for.
+     * @param points      The grade points removed.
+     */
+    record GradeRemoved(LocalDate date, int studentId, String courseId, int creditHours, double points)
+            implements DomainEvent {
+    }
+}
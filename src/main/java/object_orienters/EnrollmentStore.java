@@ -0,0 +1,380 @@
+package object_orienters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * An append-only table of enrollments kept outside the Java heap, for
+ * multi-year history with millions of records.
+ * Each enrollment is a fixed 16-byte record (student ID, course code, semester
+ * code, grade points) in a direct buffer, or in a file mapped into memory so the
+ * table survives restarts. Course IDs and semester names are dictionary-encoded;
+ * the dictionaries are the only per-name state on the heap, and a mapped store
+ * appends every new name to its dictionary file before writing a record that
+ * uses it. Lookups by student
+ * and by course go through sorted indexes that are also off-heap and are
+ * rebuilt on the first query after an append.
+ */
+public class EnrollmentStore implements AutoCloseable {
+
+    /**
+     * An enrollment read from the store.
+     *
+     * @param studentId The student's ID.
+     * @param courseId  The course ID.
+     * @param semester  The semester name.
+     * @param grade     The grade points, IN_PROGRESS or WITHDRAWN.
+     */
+    public record Enrollment(int studentId, String courseId, String semester, float grade) {
+        /**
+         * Checks whether the enrollment has a grade.
+         *
+         * @return true if a grade was entered.
+         */
+        public boolean isGraded() {
+            return grade >= 0;
+        }
+    }
+
+    /**
+     * The grade of an enrollment that has not been graded yet.
+     */
+    public static final float IN_PROGRESS = Float.NaN;
+
+    /**
+     * The grade of an enrollment the student was removed from.
+     */
+    public static final float WITHDRAWN = -1f;
+
+    static final int RECORD_BYTES = 16;
+    private static final int HEADER_BYTES = 16;
+    private static final int MAGIC = 0x454e524c;
+    private static final int STUDENT = 0;
+    private static final int COURSE = 4;
+    private static final int SEMESTER = 8;
+    private static final int GRADE = 12;
+
+    private final Path file;
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    private int count;
+    private final NameDictionary courses = new NameDictionary();
+    private final NameDictionary semesters = new NameDictionary();
+    // Ungraded enrollments by student, course and semester, for grade and withdrawal events
+    private final Map<OpenKey, Integer> open = new HashMap<>();
+    private final Consumer<DomainEvent> listener = this::apply;
+    private IntBuffer byStudent;
+    private IntBuffer byCourse;
+
+    private record OpenKey(int studentId, int course, int semester) {
+    }
+
+    /**
+     * Creates an empty store in direct memory.
+     *
+     * @param capacity The number of records to make room for; the store grows as
+     *                 needed.
+     */
+    public EnrollmentStore(int capacity) {
+        this.file = null;
+        this.channel = null;
+        this.buffer = ByteBuffer.allocateDirect(HEADER_BYTES + Math.max(1, capacity) * RECORD_BYTES);
+        this.buffer.putInt(0, MAGIC);
+    }
+
+    private EnrollmentStore(Path file, FileChannel channel, int capacity) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        long existing = channel.size();
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                Math.max(existing, HEADER_BYTES + (long) Math.max(1, capacity) * RECORD_BYTES));
+        if (existing >= HEADER_BYTES && buffer.getInt(0) == MAGIC) {
+            this.count = buffer.getInt(4);
+            readDictionaries();
+            for (int record = 0; record < count; record++) {
+                if (Float.isNaN(grade(record))) {
+                    int offset = offset(record);
+                    open.put(new OpenKey(studentId(record), buffer.getInt(offset + COURSE),
+                            buffer.getInt(offset + SEMESTER)), record);
+                }
+            }
+        } else {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, 0);
+        }
+    }
+
+    /**
+     * Opens a store memory-mapped from a file, creating the file if needed. The
+     * course and semester dictionaries are kept next to it in a file with the
+     * same name and a .names suffix, appended to as new names are added.
+     *
+     * @param file     The file of the table.
+     * @param capacity The number of records to make room for; the store grows as
+     *                 needed.
+     * @return The store.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public static EnrollmentStore map(Path file, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return new EnrollmentStore(file, channel, capacity);
+    }
+
+    /**
+     * Creates a store holding every enrollment of the log and subscribes it to
+     * the events appended afterwards.
+     *
+     * @param log      The log to follow.
+     * @param capacity The number of records to make room for.
+     * @return The store.
+     */
+    public static EnrollmentStore attach(RegistrarEventLog log, int capacity) {
+        EnrollmentStore store = new EnrollmentStore(capacity);
+        log.replayAndSubscribe(store.listener);
+        return store;
+    }
+
+    /**
+     * Stops following a log the store was attached to.
+     *
+     * @param log The log.
+     */
+    public void detach(RegistrarEventLog log) {
+        log.unsubscribe(listener);
+    }
+
+    /**
+     * Applies an event to the store: enrollments add a record, grades and
+     * unenrollments complete the student's open record for the course in the
+     * event's semester.
+     *
+     * @param event The event.
+     */
+    public synchronized void apply(DomainEvent event) {
+        if (event instanceof DomainEvent.StudentEnrolled e) {
+            add(e.studentId(), e.courseId(), e.semester(), IN_PROGRESS);
+        } else if (event instanceof DomainEvent.GradeEntered e) {
+            close(e.studentId(), e.courseId(), e.semester(), (float) e.points());
+        } else if (event instanceof DomainEvent.StudentUnenrolled e) {
+            close(e.studentId(), e.courseId(), e.semester(), WITHDRAWN);
+        }
+    }
+
+    private void close(int studentId, String courseId, String semester, float grade) {
+        int course = courses.code(courseId);
+        int term = semesters.code(semester);
+        Integer record = course == NameDictionary.NONE || term == NameDictionary.NONE ? null
+                : open.remove(new OpenKey(studentId, course, term));
+        if (record != null) {
+            buffer.putFloat(offset(record) + GRADE, grade);
+        }
+    }
+
+    /**
+     * Appends an enrollment.
+     *
+     * @param studentId The student's ID.
+     * @param courseId  The course ID.
+     * @param semester  The semester name.
+     * @param grade     The grade points, or IN_PROGRESS.
+     * @return The record number of the enrollment.
+     */
+    public synchronized int add(int studentId, String courseId, String semester, float grade) {
+        if (HEADER_BYTES + (long) (count + 1) * RECORD_BYTES > buffer.capacity()) {
+            grow();
+        }
+        int record = count;
+        int course = encode(courses, "course,", courseId);
+        int term = encode(semesters, "semester,", semester);
+        int offset = offset(record);
+        buffer.putInt(offset + STUDENT, studentId);
+        buffer.putInt(offset + COURSE, course);
+        buffer.putInt(offset + SEMESTER, term);
+        buffer.putFloat(offset + GRADE, grade);
+        count++;
+        buffer.putInt(4, count);
+        if (Float.isNaN(grade)) {
+            open.put(new OpenKey(studentId, course, term), record);
+        }
+        byStudent = null;
+        byCourse = null;
+        return record;
+    }
+
+    // Encodes a name, appending it to the dictionary file first if it is new
+    private int encode(NameDictionary dictionary, String prefix, String name) {
+        int known = dictionary.code(name);
+        if (known != NameDictionary.NONE || name == null || file == null) {
+            return dictionary.encode(name);
+        }
+        try {
+            Files.writeString(namesFile(), prefix + name + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write the names of " + file, e);
+        }
+        return dictionary.encode(name);
+    }
+
+    private void grow() {
+        long capacity = Math.min(Integer.MAX_VALUE, 2L * buffer.capacity());
+        if (capacity <= buffer.capacity()) {
+            throw new IllegalStateException("Enrollment store is full");
+        }
+        if (channel != null) {
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot grow " + file, e);
+            }
+        } else {
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+            grown.put(buffer.duplicate().clear());
+            buffer = grown;
+        }
+    }
+
+    /**
+     * Retrieves the number of enrollments in the store.
+     *
+     * @return The number of records.
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Retrieves an enrollment by record number.
+     *
+     * @param record The record number.
+     * @return The enrollment.
+     */
+    public synchronized Enrollment get(int record) {
+        if (record < 0 || record >= count) {
+            throw new IndexOutOfBoundsException(record);
+        }
+        int offset = offset(record);
+        return new Enrollment(buffer.getInt(offset + STUDENT), courses.name(buffer.getInt(offset + COURSE)),
+                semesters.name(buffer.getInt(offset + SEMESTER)), buffer.getFloat(offset + GRADE));
+    }
+
+    /**
+     * Retrieves the enrollments of a student, in the order they were added.
+     *
+     * @param studentId The student's ID.
+     * @return The student's enrollments.
+     */
+    public synchronized List<Enrollment> forStudent(int studentId) {
+        if (byStudent == null) {
+            byStudent = buildIndex(STUDENT);
+        }
+        return collect(byStudent, STUDENT, studentId);
+    }
+
+    /**
+     * Retrieves the enrollments of a course across all semesters, in the order
+     * they were added.
+     *
+     * @param courseId The course ID.
+     * @return The course's enrollments.
+     */
+    public synchronized List<Enrollment> forCourse(String courseId) {
+        int course = courses.code(courseId);
+        if (course == NameDictionary.NONE) {
+            return List.of();
+        }
+        if (byCourse == null) {
+            byCourse = buildIndex(COURSE);
+        }
+        return collect(byCourse, COURSE, course);
+    }
+
+    // Sorts the record numbers by the int field at the given offset, then by record number
+    private IntBuffer buildIndex(int field) {
+        long[] keys = new long[count];
+        for (int record = 0; record < count; record++) {
+            keys[record] = ((long) buffer.getInt(offset(record) + field) << 32) | record;
+        }
+        Arrays.parallelSort(keys);
+        IntBuffer index = ByteBuffer.allocateDirect(Math.max(1, count) * Integer.BYTES).asIntBuffer();
+        for (int i = 0; i < count; i++) {
+            index.put(i, (int) keys[i]);
+        }
+        return index;
+    }
+
+    private List<Enrollment> collect(IntBuffer index, int field, int value) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getInt(offset(index.get(mid)) + field) < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<Enrollment> result = new ArrayList<>();
+        for (int i = low; i < count && buffer.getInt(offset(index.get(i)) + field) == value; i++) {
+            result.add(get(index.get(i)));
+        }
+        return result;
+    }
+
+    private int studentId(int record) {
+        return buffer.getInt(offset(record) + STUDENT);
+    }
+
+    private float grade(int record) {
+        return buffer.getFloat(offset(record) + GRADE);
+    }
+
+    private static int offset(int record) {
+        return HEADER_BYTES + record * RECORD_BYTES;
+    }
+
+    private Path namesFile() {
+        return file.resolveSibling(file.getFileName() + ".names");
+    }
+
+    private void readDictionaries() throws IOException {
+        if (!Files.exists(namesFile())) {
+            return;
+        }
+        for (String line : Files.readAllLines(namesFile(), StandardCharsets.UTF_8)) {
+            if (line.startsWith("course,")) {
+                courses.encode(line.substring(7));
+            } else if (line.startsWith("semester,")) {
+                semesters.encode(line.substring(9));
+            }
+        }
+    }
+
+    /**
+     * Releases the store. A memory-mapped store is forced to disk.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        ((MappedByteBuffer) buffer).force();
+        channel.close();
+    }
+}
@@ -18,12 +18,11 @@ public class Faculty {
     private List<Course> majorsCourses;
     private List<Course> minorsCourses;
     private List<Specialization> specializations;
-    private static List<Faculty> faculties = new ArrayList<>();
 
     /**
      * Constructs a new Faculty with the given name.
-     * Initializes lists for teachers, students, major courses, and minor courses,
-     * and adds this Faculty instance to the static list of faculties.
+     * Initializes lists for teachers, students, major courses, and minor courses.
+     * Use Catalog.faculty to get the single instance of a faculty by name.
      *
      * @param name The name of the faculty.
      */
@@ -34,7 +33,6 @@ public class Faculty {
         this.majorsCourses = new ArrayList<>();
         this.minorsCourses = new ArrayList<>();
         this.specializations = new ArrayList<>();
-        faculties.add(this);
 
     }
 
@@ -0,0 +1,231 @@
+package object_orienters;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds times in the week when a group of people can all meet, such as a
+ * course's students and teacher for a makeup session.
+ * Every person's schedule keeps a WeekBitmap of their booked minutes, so the
+ * minutes taken by the group are the bitmaps OR-ed together, done in parallel
+ * for large groups, and the common free windows are the runs of free minutes
+ * within the opening hours of each weekday.
+ * Candidate slots start every few minutes. Slots where everyone is free come
+ * first, those in the longest free windows first, so a session can run over
+ * or move a little; if there are not enough of them, the slots the fewest
+ * people are busy in follow.
+ */
+public class FreeSlotFinder {
+    /**
+     * The earliest time a slot starts by default.
+     */
+    public static final LocalTime DEFAULT_START = LocalTime.of(8, 0);
+
+    /**
+     * The time every slot ends by, by default.
+     */
+    public static final LocalTime DEFAULT_END = LocalTime.of(18, 0);
+
+    /**
+     * The default number of minutes between two candidate starts.
+     */
+    public static final int DEFAULT_STEP = 10;
+
+    private static final List<DayOfWeek> WEEKDAYS = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY,
+            DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+
+    /**
+     * A run of minutes when nobody in a group is busy.
+     *
+     * @param day   The day.
+     * @param start The first free minute.
+     * @param end   The end of the run, excluded.
+     */
+    public record Window(DayOfWeek day, LocalTime start, LocalTime end) {
+        /**
+         * Retrieves the length of the window.
+         *
+         * @return The number of free minutes.
+         */
+        public int minutes() {
+            return WeekBitmap.minuteOf(end) - WeekBitmap.minuteOf(start);
+        }
+    }
+
+    /**
+     * A candidate time for a group to meet.
+     *
+     * @param day           The day.
+     * @param start         The start of the slot.
+     * @param end           The end of the slot, excluded.
+     * @param conflicts     The number of people busy during the slot.
+     * @param windowMinutes The length of the free window around the slot, or 0
+     *                      if someone is busy.
+     */
+    public record Slot(DayOfWeek day, LocalTime start, LocalTime end, int conflicts, int windowMinutes) {
+    }
+
+    private final int dayStart;
+    private final int dayEnd;
+    private final int step;
+
+    /**
+     * Constructs a new FreeSlotFinder using the default hours and step.
+     */
+    public FreeSlotFinder() {
+        this(DEFAULT_START, DEFAULT_END, DEFAULT_STEP);
+    }
+
+    /**
+     * Constructs a new FreeSlotFinder.
+     *
+     * @param start The earliest time a slot starts every weekday.
+     * @param end   The time every slot ends by.
+     * @param step  The number of minutes between two candidate starts.
+     */
+    public FreeSlotFinder(LocalTime start, LocalTime end, int step) {
+        if (!start.isBefore(end) || step <= 0) {
+            throw new IllegalArgumentException("The hours must not be empty and the step must be positive");
+        }
+        this.dayStart = WeekBitmap.minuteOf(start);
+        this.dayEnd = WeekBitmap.minuteOf(end);
+        this.step = step;
+    }
+
+    /**
+     * Retrieves the people taking part in a course: its enrolled students and
+     * its teacher, if any, in its latest offering.
+     *
+     * @param course The course.
+     * @return The course's students and teacher.
+     */
+    public static List<Person> participants(Course course) {
+        List<Person> persons = new ArrayList<>(course.getEnrolledStudents());
+        course.getTeacher().ifPresent(persons::add);
+        return persons;
+    }
+
+    /**
+     * Retrieves the minutes of the week when anyone in a group is busy.
+     *
+     * @param persons The group.
+     * @return The booked minutes of all of them.
+     */
+    public static WeekBitmap busyMinutes(Collection<? extends Person> persons) {
+        return persons.parallelStream()
+                .map(Person::busyMinutes)
+                .collect(WeekBitmap::new, WeekBitmap::or, WeekBitmap::or);
+    }
+
+    /**
+     * Retrieves the windows within the hours of every weekday when nobody in a
+     * group is busy.
+     *
+     * @param persons The group.
+     * @return The free windows, in week order.
+     */
+    public List<Window> getFreeWindows(Collection<? extends Person> persons) {
+        return freeWindows(busyMinutes(persons));
+    }
+
+    private List<Window> freeWindows(WeekBitmap busy) {
+        List<Window> windows = new ArrayList<>();
+        for (DayOfWeek day : WEEKDAYS) {
+            int runStart = -1;
+            for (int minute = dayStart; minute <= dayEnd; minute++) {
+                boolean free = minute < dayEnd && busy.isFree(day, minute, minute + 1);
+                if (free && runStart < 0) {
+                    runStart = minute;
+                } else if (!free && runStart >= 0) {
+                    windows.add(new Window(day, time(runStart), time(minute)));
+                    runStart = -1;
+                }
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * Finds the best times for a group to meet.
+     *
+     * @param persons  The group.
+     * @param duration The length of the meeting.
+     * @param limit    The largest number of slots returned.
+     * @return The best slots, best first.
+     */
+    public List<Slot> find(Collection<? extends Person> persons, Duration duration, int limit) {
+        int length = (int) duration.toMinutes();
+        if (length <= 0 || length > dayEnd - dayStart) {
+            throw new IllegalArgumentException("The duration must fit in the hours of a day");
+        }
+        WeekBitmap busy = busyMinutes(persons);
+        List<Slot> free = new ArrayList<>();
+        for (Window window : freeWindows(busy)) {
+            int windowStart = WeekBitmap.minuteOf(window.start());
+            int windowEnd = WeekBitmap.minuteOf(window.end());
+            for (int start = firstStartAtOrAfter(windowStart); start + length <= windowEnd; start += step) {
+                free.add(new Slot(window.day(), time(start), time(start + length), 0, window.minutes()));
+            }
+        }
+        free.sort(Comparator.comparingInt(Slot::windowMinutes).reversed()
+                .thenComparing(Slot::day).thenComparing(Slot::start));
+        if (free.size() >= limit) {
+            return List.copyOf(free.subList(0, limit));
+        }
+
+        List<Slot> slots = new ArrayList<>(free);
+        slots.addAll(leastBusy(persons, busy, length, limit - free.size()));
+        return slots;
+    }
+
+    // Slots someone is busy in, by the number of people busy in them
+    private List<Slot> leastBusy(Collection<? extends Person> persons, WeekBitmap busy, int length, int limit) {
+        List<int[]> candidates = new ArrayList<>();
+        for (DayOfWeek day : WEEKDAYS) {
+            for (int start = dayStart; start + length <= dayEnd; start += step) {
+                if (!busy.isFree(day, start, start + length)) {
+                    candidates.add(new int[] { day.getValue(), start });
+                }
+            }
+        }
+        int[] conflicts = persons.parallelStream().collect(() -> new int[candidates.size()], (counts, person) -> {
+            WeekBitmap minutes = person.busyMinutes();
+            for (int i = 0; i < counts.length; i++) {
+                int[] candidate = candidates.get(i);
+                if (!minutes.isFree(DayOfWeek.of(candidate[0]), candidate[1], candidate[1] + length)) {
+                    counts[i]++;
+                }
+            }
+        }, (a, b) -> {
+            for (int i = 0; i < a.length; i++) {
+                a[i] += b[i];
+            }
+        });
+        List<Slot> slots = new ArrayList<>(candidates.size());
+        for (int i = 0; i < conflicts.length; i++) {
+            int[] candidate = candidates.get(i);
+            slots.add(new Slot(DayOfWeek.of(candidate[0]), time(candidate[1]), time(candidate[1] + length),
+                    conflicts[i], 0));
+        }
+        return slots.stream()
+                .sorted(Comparator.comparingInt(Slot::conflicts).thenComparing(Slot::day)
+                        .thenComparing(Slot::start))
+                .limit(limit)
+                .toList();
+    }
+
+    // Candidate starts are on the grid of steps from the start of the hours
+    private int firstStartAtOrAfter(int minute) {
+        int offset = minute - dayStart;
+        return dayStart + (offset + step - 1) / step * step;
+    }
+
+    private static LocalTime time(int minute) {
+        return LocalTime.of(minute / 60, minute % 60);
+    }
+}
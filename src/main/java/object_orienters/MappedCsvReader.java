@@ -0,0 +1,388 @@
+package object_orienters;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Reads a CSV file through a read-only memory mapping, one row at a time.
+ * A row is split by scanning the mapped bytes for commas, quotes and line
+ * ends, recording only where each field starts and ends; nothing is copied or
+ * decoded until a field is asked for, and then only into the type asked for.
+ * Fields may be quoted, in which case they can hold commas, line breaks and
+ * doubled quotes. Text is UTF-8, lines may end in LF or CRLF, blank lines are
+ * skipped, and spaces around unquoted fields are ignored.
+ * Files larger than the mapping window are mapped one window at a time; a
+ * single row must fit in a window.
+ */
+public class MappedCsvReader implements AutoCloseable {
+    /**
+     * The largest part of the file mapped at once.
+     */
+    public static final int WINDOW_SIZE = 1 << 28;
+
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private final FileChannel channel;
+    private final long end;
+    private final int windowSize;
+    private MappedByteBuffer buffer;
+    private long windowStart;
+    // Position in the window where the next row starts
+    private int cursor;
+    private long row = -1;
+
+    private int fields;
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private boolean[] quoted = new boolean[8];
+    private byte[] scratch = new byte[64];
+
+    MappedCsvReader(FileChannel channel, long start, long end, int windowSize) throws IOException {
+        this.channel = channel;
+        this.end = end;
+        this.windowSize = windowSize;
+        map(start);
+    }
+
+    /**
+     * Opens a CSV file for reading.
+     *
+     * @param file The CSV file.
+     * @return A reader positioned before the first row.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public static MappedCsvReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new MappedCsvReader(channel, 0, channel.size(), WINDOW_SIZE);
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        long size = Math.min(windowSize, end - position);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        cursor = 0;
+    }
+
+    /**
+     * Moves to the next non-blank row.
+     *
+     * @return true if there is one, false at the end of the file.
+     * @throws IOException           If the next window cannot be mapped.
+     * @throws IllegalStateException If a row is longer than the mapping window.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            if (windowStart + cursor >= end) {
+                return false;
+            }
+            int rowEnd = scan(cursor);
+            if (rowEnd < 0) {
+                // The row runs past the window: map a new window starting at the row
+                if (cursor == 0) {
+                    throw new IllegalStateException("Row at byte " + windowStart + " is longer than "
+                            + windowSize + " bytes");
+                }
+                map(windowStart + cursor);
+                continue;
+            }
+            cursor = rowEnd;
+            if (fields == 1 && !quoted[0] && starts[0] == ends[0]) {
+                continue;
+            }
+            row++;
+            return true;
+        }
+    }
+
+    // Splits the row starting at from into fields; returns where the next row
+    // starts, or -1 if the row is not complete in this window
+    private int scan(int from) {
+        int limit = buffer.limit();
+        boolean lastWindow = windowStart + limit >= end;
+        fields = 0;
+        int i = from;
+        while (true) {
+            i = skipSpaces(i, limit);
+            int fieldStart = i;
+            boolean inQuotes = i < limit && buffer.get(i) == QUOTE;
+            int fieldEnd;
+            if (inQuotes) {
+                i++;
+                while (true) {
+                    if (i >= limit) {
+                        if (!lastWindow) {
+                            return -1;
+                        }
+                        throw new IllegalStateException("Unterminated quoted field at byte " + (windowStart + fieldStart));
+                    }
+                    if (buffer.get(i) == QUOTE) {
+                        if (i + 1 < limit && buffer.get(i + 1) == QUOTE) {
+                            i += 2;
+                            continue;
+                        }
+                        if (i + 1 >= limit && !lastWindow) {
+                            return -1;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                addField(fieldStart + 1, i, true);
+                i = skipSpaces(i + 1, limit);
+            } else {
+                for (; i < limit; i++) {
+                    byte b = buffer.get(i);
+                    if (b == COMMA || b == LF) {
+                        break;
+                    }
+                }
+                if (i >= limit && !lastWindow) {
+                    return -1;
+                }
+                fieldEnd = i;
+                while (fieldEnd > fieldStart && isSpace(buffer.get(fieldEnd - 1))) {
+                    fieldEnd--;
+                }
+                addField(fieldStart, fieldEnd, false);
+            }
+            if (i >= limit) {
+                return limit;
+            }
+            byte b = buffer.get(i);
+            if (b == LF) {
+                return i + 1;
+            }
+            if (b != COMMA) {
+                throw new IllegalStateException("Unexpected character after quoted field at byte " + (windowStart + i));
+            }
+            i++;
+        }
+    }
+
+    private int skipSpaces(int i, int limit) {
+        while (i < limit && buffer.get(i) != LF && isSpace(buffer.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == CR;
+    }
+
+    private void addField(int start, int end, boolean isQuoted) {
+        if (fields == starts.length) {
+            starts = Arrays.copyOf(starts, fields * 2);
+            ends = Arrays.copyOf(ends, fields * 2);
+            quoted = Arrays.copyOf(quoted, fields * 2);
+        }
+        starts[fields] = start;
+        ends[fields] = end;
+        quoted[fields] = isQuoted;
+        fields++;
+    }
+
+    /**
+     * Retrieves the index of the current row among the non-blank rows.
+     *
+     * @return The row index, starting at 0.
+     */
+    public long getRow() {
+        return row;
+    }
+
+    /**
+     * Retrieves the number of fields in the current row.
+     *
+     * @return The number of fields.
+     */
+    public int getFieldCount() {
+        return fields;
+    }
+
+    private void check(int field) {
+        if (field < 0 || field >= fields) {
+            throw new IndexOutOfBoundsException("Row " + row + " has no field " + field);
+        }
+    }
+
+    /**
+     * Retrieves a field as text.
+     *
+     * @param field The field's index.
+     * @return The decoded field, without surrounding quotes.
+     */
+    public String getString(int field) {
+        check(field);
+        int length = ends[field] - starts[field];
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(starts[field], scratch, 0, length);
+        if (quoted[field]) {
+            // Collapse doubled quotes
+            int out = 0;
+            for (int i = 0; i < length; i++) {
+                scratch[out++] = scratch[i];
+                if (scratch[i] == QUOTE) {
+                    i++;
+                }
+            }
+            length = out;
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Retrieves a field as an int, parsed straight from the bytes.
+     *
+     * @param field The field's index.
+     * @return The field's value.
+     * @throws NumberFormatException If the field is not a decimal int.
+     */
+    public int getInt(int field) {
+        long value = getLong(field);
+        if (value != (int) value) {
+            throw new NumberFormatException("Value out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Retrieves a field as a long, parsed straight from the bytes.
+     *
+     * @param field The field's index.
+     * @return The field's value.
+     * @throws NumberFormatException If the field is not a decimal long.
+     */
+    public long getLong(int field) {
+        check(field);
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = i < end && buffer.get(i) == '-';
+        if (negative || (i < end && buffer.get(i) == '+')) {
+            i++;
+        }
+        if (i == end || end - i > 18) {
+            return Long.parseLong(getString(field).trim());
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("For input string: \"" + getString(field) + "\"");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Retrieves a field holding a day name such as Monday, in any case.
+     *
+     * @param field The field's index.
+     * @return The day of the week.
+     * @throws IllegalArgumentException If the field is not a day name.
+     */
+    public DayOfWeek getDayOfWeek(int field) {
+        check(field);
+        int length = ends[field] - starts[field];
+        for (DayOfWeek day : DayOfWeek.values()) {
+            String name = day.name();
+            if (name.length() == length && matchesIgnoreCase(starts[field], name)) {
+                return day;
+            }
+        }
+        return DayOfWeek.valueOf(getString(field).toUpperCase());
+    }
+
+    private boolean matchesIgnoreCase(int from, String upper) {
+        for (int i = 0; i < upper.length(); i++) {
+            int b = buffer.get(from + i) & 0xff;
+            if ((b & ~0x20) != upper.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves a field holding a time of day such as 9:05, 09:05 or 09:05:30.
+     *
+     * @param field The field's index.
+     * @return The time.
+     * @throws DateTimeException If the field is not a valid time.
+     */
+    public LocalTime getTime(int field) {
+        check(field);
+        int i = starts[field];
+        int end = ends[field];
+        int colon = end - i > 1 && buffer.get(i + 1) == ':' ? i + 1 : i + 2;
+        int rest = end - colon;
+        if (colon < end && buffer.get(colon) == ':' && (rest == 3 || (rest == 6 && buffer.get(colon + 3) == ':'))) {
+            int hour = digits(i, colon);
+            int minute = digits(colon + 1, colon + 3);
+            int second = rest == 6 ? digits(colon + 4, colon + 6) : 0;
+            if (hour >= 0 && minute >= 0 && second >= 0) {
+                return LocalTime.of(hour, minute, second);
+            }
+        }
+        return LocalTime.parse(getString(field));
+    }
+
+    /**
+     * Retrieves a field holding an ISO date such as 2023-09-01.
+     *
+     * @param field The field's index.
+     * @return The date.
+     * @throws DateTimeException If the field is not a valid date.
+     */
+    public LocalDate getDate(int field) {
+        check(field);
+        int i = starts[field];
+        if (ends[field] - i == 10 && buffer.get(i + 4) == '-' && buffer.get(i + 7) == '-') {
+            int year = digits(i, i + 4);
+            int month = digits(i + 5, i + 7);
+            int day = digits(i + 8, i + 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(getString(field));
+    }
+
+    // Parses the digits in [from, to), or returns -1 if there is anything else
+    private int digits(int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Closes the file. The mapping is released when it is garbage collected.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
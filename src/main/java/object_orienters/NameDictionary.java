@@ -0,0 +1,75 @@
+package object_orienters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes names as dense ints, in order of first appearance, so they can be
+ * stored in primitive columns and records.
+ */
+public final class NameDictionary {
+    /**
+     * The code of a missing (null) name.
+     */
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Retrieves the code of a name, giving it the next free code on first use.
+     *
+     * @param name The name, or null.
+     * @return The name's code, or NONE for null.
+     */
+    public int encode(String name) {
+        if (name == null) {
+            return NONE;
+        }
+        return codes.computeIfAbsent(name, n -> {
+            names.add(n);
+            return names.size() - 1;
+        });
+    }
+
+    /**
+     * Retrieves the code of a name without adding it.
+     *
+     * @param name The name.
+     * @return The name's code, or NONE if it was never encoded.
+     */
+    public int code(String name) {
+        return codes.getOrDefault(name, NONE);
+    }
+
+    /**
+     * Retrieves the name of a code.
+     *
+     * @param code The code.
+     * @return The name, or null for NONE.
+     */
+    public String name(int code) {
+        return code == NONE ? null : names.get(code);
+    }
+
+    /**
+     * Retrieves the number of encoded names.
+     *
+     * @return The number of names.
+     */
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Retrieves the encoded names, indexed by code.
+     *
+     * @return An unmodifiable list of the names.
+     */
+    public List<String> names() {
+        return Collections.unmodifiableList(names);
+    }
+}
@@ -0,0 +1,139 @@
+package object_orienters;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Parses one large CSV file on all cores.
+ * The file is cut into chunks of about CHUNK_SIZE bytes, each moved forward to
+ * the next line end that is not inside a quoted field, and the chunks are
+ * parsed in parallel on the common fork-join pool with a MappedCsvReader each.
+ * Whether a line end is inside quotes depends on how many quotes come before
+ * it, so a first parallel pass counts the quotes of every chunk and a prefix
+ * sum gives the quote parity at each cut. This assumes quotes only appear in
+ * quoted fields, as written by the registrar.
+ * The row mapper runs on the pool threads and must only turn fields into
+ * values; the values come back in file order, so anything that depends on row
+ * order, such as person IDs or the meetings of a course, is done afterwards on
+ * one thread.
+ */
+public final class ParallelCsvParser {
+    /**
+     * The target size of the chunks parsed in parallel.
+     */
+    public static final int CHUNK_SIZE = 1 << 25;
+
+    private static final byte QUOTE = '"';
+    private static final byte LF = '\n';
+
+    private ParallelCsvParser() {
+    }
+
+    /**
+     * Parses every non-blank row of a CSV file.
+     *
+     * @param file   The CSV file.
+     * @param mapper Turns the current row of a reader into a value; called on
+     *               many threads at once.
+     * @param <T>    The type of the values.
+     * @return The values of all rows, in file order.
+     * @throws IOException If the file cannot be read.
+     */
+    public static <T> List<T> parse(Path file, Function<MappedCsvReader, T> mapper) throws IOException {
+        return parse(file, mapper, CHUNK_SIZE);
+    }
+
+    static <T> List<T> parse(Path file, Function<MappedCsvReader, T> mapper, int chunkSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= chunkSize) {
+                return parseChunk(channel, 0, size, mapper);
+            }
+            int chunks = (int) ((size + chunkSize - 1) / chunkSize);
+            try {
+                // Quote parity at the start of every chunk
+                long[] quotes = IntStream.range(0, chunks).parallel()
+                        .mapToLong(k -> countQuotes(channel, (long) k * chunkSize,
+                                Math.min(size, (long) (k + 1) * chunkSize)))
+                        .toArray();
+                boolean[] oddBefore = new boolean[chunks];
+                for (int k = 1; k < chunks; k++) {
+                    oddBefore[k] = oddBefore[k - 1] ^ (quotes[k - 1] & 1) == 1;
+                }
+                long[] cuts = LongStream.concat(LongStream.of(0),
+                        IntStream.range(1, chunks).parallel()
+                                .mapToLong(k -> nextRowStart(channel, (long) k * chunkSize, size, oddBefore[k])))
+                        .distinct()
+                        .toArray();
+                List<List<T>> parts = IntStream.range(0, cuts.length).parallel()
+                        .mapToObj(k -> parseChunk(channel, cuts[k], k + 1 < cuts.length ? cuts[k + 1] : size, mapper))
+                        .toList();
+                List<T> rows = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+                parts.forEach(rows::addAll);
+                return rows;
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static <T> List<T> parseChunk(FileChannel channel, long start, long end,
+            Function<MappedCsvReader, T> mapper) {
+        List<T> rows = new ArrayList<>();
+        if (start >= end) {
+            return rows;
+        }
+        try {
+            // Not closed: the channel is shared by all chunks
+            MappedCsvReader csv = new MappedCsvReader(channel, start, end, MappedCsvReader.WINDOW_SIZE);
+            while (csv.next()) {
+                rows.add(mapper.apply(csv));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private static long countQuotes(FileChannel channel, long start, long end) {
+        MappedByteBuffer buffer = map(channel, start, end);
+        long quotes = 0;
+        for (int i = 0; i < buffer.limit(); i++) {
+            if (buffer.get(i) == QUOTE) {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+
+    // Finds where the first row starting at or after position begins
+    private static long nextRowStart(FileChannel channel, long position, long size, boolean inQuotes) {
+        MappedByteBuffer buffer = map(channel, position, Math.min(size, position + MappedCsvReader.WINDOW_SIZE));
+        for (int i = 0; i < buffer.limit(); i++) {
+            byte b = buffer.get(i);
+            if (b == QUOTE) {
+                inQuotes = !inQuotes;
+            } else if (b == LF && !inQuotes) {
+                return position + i + 1;
+            }
+        }
+        return size;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long start, long end) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
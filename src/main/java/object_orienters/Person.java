@@ -4,13 +4,15 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Year;
 import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * A class representing a person in an educational context.
@@ -26,10 +28,12 @@ public abstract class Person {
     private Role role = Role.STAFF;
     private Set<Course> registeredCourses;
     private Schedule schedule;
+    private volatile int version;
     private LocalDate dateEnrolled; // YOUSEF CHANGED IT FROM yearEnrolled to dateEnrolled
     private static int stuSequence = 1000;
     private static int teacherSequence = 5000;
     private static Year yearValue = Year.of(2023);
+    private static final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
 
     /**
      * Constructs a new Person=> (Teacher or Student) with the specified role and
@@ -45,10 +49,10 @@ public abstract class Person {
         this.name = name;
         this.role = role;
         dateEnrolled = LocalDate.now();
-        registeredCourses = new HashSet<>();
+        this.schedule = new Schedule();
+        registeredCourses = new RegisteredCourses();
         this.id = this.setID();
         this.email = this.id + "@objectOrienters.com";
-        this.schedule = new Schedule(this.getRegisteredCourses());
     }
 
     /**
@@ -96,15 +100,25 @@ public abstract class Person {
         // Check if the person is a student and the course is full
         if (this.getRegisteredCourses().stream()
                 .anyMatch(e -> e.getCourseID().equalsIgnoreCase(course.getCourseID()))) {
-            System.out.println("Cannot register in " + course.getCourseName()
+            RegistrarOutput.getInstance().error("Cannot register in " + course.getCourseName()
                     + " as the student is already enrolled in a course with the same ID: " + course.getCourseID());
         } else if (this.role == Role.STUDENT && course.isFull()) {
-            System.out.println("Cannot register in " + course.getCourseName() + " as the course is already full.");
+            RegistrarOutput.getInstance().error("Cannot register in " + course.getCourseName() + " as the course is already full.");
         } else {
             this.registeredCourses.add(course);
         }
     }
 
+    /**
+     * Retrieves the person's version, which goes up every time a course is
+     * added to or removed from their registered courses.
+     *
+     * @return The version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
     /**
      * Retrieves the ID of the person.
      *
@@ -164,6 +178,33 @@ public abstract class Person {
         return schedule;
     }
 
+    /**
+     * Re-buckets the meetings of a registered course after its weekly meetings
+     * were replaced, so the schedule keeps matching the course.
+     *
+     * @param course The course whose weekly meetings changed.
+     */
+    void rescheduleCourse(Course course) {
+        if (registeredCourses.contains(course)) {
+            schedule.removeCourse(course);
+            schedule.addCourse(course);
+        }
+    }
+
+    /**
+     * Drops the rendered schedule and raises the version after a registered
+     * course was renamed or given a prerequisite, since the schedule and the
+     * report show the course details.
+     *
+     * @param course The course that changed.
+     */
+    void courseChanged(Course course) {
+        if (registeredCourses.contains(course)) {
+            schedule.rendered = null;
+            version++;
+        }
+    }
+
     /**
      * Retrieves the date the person enrolled in the university.
      *
@@ -190,6 +231,20 @@ public abstract class Person {
         System.out.println(this.getSchedule().displaySchedule());
     }
 
+    /**
+     * Retrieves the minutes of the week taken by the person's meetings.
+     *
+     * @return A copy of the person's booked minutes.
+     */
+    public WeekBitmap getBusyMinutes() {
+        return schedule.getBusyMinutes().copy();
+    }
+
+    // The schedule's own bitmap, for read-only use without copying
+    WeekBitmap busyMinutes() {
+        return schedule.getBusyMinutes();
+    }
+
     /**
      * Checks if the person is free on a given day and time.
      * This method checks the person's schedule to see if they have any other
@@ -200,7 +255,17 @@ public abstract class Person {
      * @return true if the person is free, false otherwise.
      */
     public boolean isFreeOn(List<WeeklyMeeting> list) {
-        return list.stream().allMatch(e -> isFreeOn(e));
+        RegistrarEvents.ConflictCheck event = new RegistrarEvents.ConflictCheck();
+        event.begin();
+        boolean free = list.stream().allMatch(e -> isFreeOn(e));
+        if (event.shouldCommit()) {
+            event.personId = id;
+            event.method = "schedule";
+            event.registeredCourses = registeredCourses.size();
+            event.free = free;
+            event.commit();
+        }
+        return free;
     }
 
     /**
@@ -216,11 +281,7 @@ public abstract class Person {
 
         return registeredCourses.stream()
                 .flatMap(course -> course.getWeeklyMeetings().stream())
-                .noneMatch(wm -> {
-                    return wm.getDay().equals(weeklyMeeting.getDay())
-                            && !(wm.getHour().plus(wm.getDuration()).isBefore(weeklyMeeting.getHour())
-                                    || wm.getHour().isAfter(weeklyMeeting.getHour().plus(weeklyMeeting.getDuration())));
-                });
+                .noneMatch(wm -> wm.hasTimeConflict(weeklyMeeting));
     }
 
     /**
@@ -264,39 +325,183 @@ public abstract class Person {
         STUDENT, TEACHER, STAFF;
     }
 
+    /**
+     * The set of courses a person is registered in.
+     * Every addition and removal, including those done through the iterator, is
+     * forwarded to the person's schedule so it never has to be rebuilt.
+     */
+    private class RegisteredCourses extends AbstractSet<Course> {
+        private final Set<Course> courses = new HashSet<>();
+
+        @Override
+        public boolean add(Course course) {
+            if (!courses.add(course)) {
+                return false;
+            }
+            schedule.addCourse(course);
+            version++;
+            return true;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!courses.remove(o)) {
+                return false;
+            }
+            schedule.removeCourse((Course) o);
+            version++;
+            return true;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return courses.contains(o);
+        }
+
+        @Override
+        public int size() {
+            return courses.size();
+        }
+
+        @Override
+        public Iterator<Course> iterator() {
+            Iterator<Course> it = courses.iterator();
+            return new Iterator<Course>() {
+                private Course current;
+
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Course next() {
+                    current = it.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                    schedule.removeCourse(current);
+                    version++;
+                }
+            };
+        }
+    }
+
+    /**
+     * A single meeting in a schedule together with the course it belongs to.
+     *
+     * @param course  The course that meets.
+     * @param meeting The weekly meeting of the course.
+     */
+    private record ScheduledMeeting(Course course, WeeklyMeeting meeting) {
+    }
+
     /**
      * A class representing the weekly schedule of a person(Teacher, Student).
      * This class is responsible for organizing and displaying the weekly schedule
      * of a person.
      * The schedule is organized by day, listing each course meeting time and
      * location.
+     * Meetings are kept bucketed by day and sorted by start time as courses are
+     * added or removed, and the rendered schedule is cached until the next change.
      */
     private class Schedule {
-        private Set<Course> courses;
-        Map<WeeklyMeeting, Course> meetingCourseMap;
+        private final Map<DayOfWeek, List<ScheduledMeeting>> meetingsByDay;
+        private final Map<Course, List<WeeklyMeeting>> meetingsByCourse;
+        private int creditLoad;
+        private String rendered;
+        private volatile WeekBitmap busy;
+
+        /**
+         * Constructs a new empty Schedule for the person(Teacher, Student).
+         */
+        public Schedule() {
+            this.meetingsByDay = new EnumMap<>(DayOfWeek.class);
+            this.meetingsByCourse = new HashMap<>();
+        }
+
+        /**
+         * Adds the meetings of a newly registered course, keeping every day sorted
+         * by start time.
+         *
+         * @param course The course the person registered in.
+         */
+        void addCourse(Course course) {
+            List<WeeklyMeeting> meetings = new ArrayList<>(course.getWeeklyMeetings());
+            meetingsByCourse.put(course, meetings);
+            for (WeeklyMeeting meeting : meetings) {
+                List<ScheduledMeeting> day = meetingsByDay.computeIfAbsent(meeting.getDay(),
+                        d -> new ArrayList<>());
+                day.add(insertionPoint(day, meeting), new ScheduledMeeting(course, meeting));
+            }
+            creditLoad += course.getCreditHours();
+            rendered = null;
+            busy = null;
+        }
 
         /**
-         * Constructs a new Schedule representation for the person(Teacher, Student) based on the
-         * courses in which they are enrolled.
+         * Removes the meetings of a course the person is no longer registered in.
          *
-         * @param courses The courses in which the person is enrolled.
+         * @param course The course the person left.
          */
-        public Schedule(Set<Course> courses) {
-            this.courses = courses;
-            this.meetingCourseMap = new HashMap<>();
-            this.courses.forEach(course -> course.getWeeklyMeetings()
-                    .forEach(weeklyMeeting -> meetingCourseMap.put(weeklyMeeting, course)));
+        void removeCourse(Course course) {
+            if (meetingsByCourse.remove(course) == null) {
+                return;
+            }
+            // Every day is searched, since a setter may have moved a meeting since it was bucketed
+            meetingsByDay.values().forEach(day -> day.removeIf(e -> e.course().equals(course)));
+            meetingsByDay.values().removeIf(List::isEmpty);
+            creditLoad -= course.getCreditHours();
+            rendered = null;
+            busy = null;
+        }
 
+        // Index after the last meeting starting at or before the given one
+        private int insertionPoint(List<ScheduledMeeting> day, WeeklyMeeting meeting) {
+            int low = 0;
+            int high = day.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (day.get(mid).meeting().getHour().isAfter(meeting.getHour())) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
         }
 
         /**
-         * Calculates and returns the total credit hours of courses in which the student
-         * is enrolled.
+         * Returns the total credit hours of courses in which the person is
+         * enrolled.
          *
          * @return The total credit hours.
          */
         public int getCreditLoad() {
-            return courses.stream().mapToInt(e -> e.getCreditHours()).sum();
+            return creditLoad;
+        }
+
+        /**
+         * Returns the minutes of the week taken by the person's meetings, built
+         * once after every change.
+         *
+         * @return The booked minutes; not to be modified.
+         */
+        WeekBitmap getBusyMinutes() {
+            WeekBitmap minutes = busy;
+            if (minutes == null) {
+                minutes = new WeekBitmap();
+                for (List<WeeklyMeeting> meetings : meetingsByCourse.values()) {
+                    for (WeeklyMeeting meeting : meetings) {
+                        minutes.add(meeting);
+                    }
+                }
+                busy = minutes;
+            }
+            return minutes;
         }
 
         /**
@@ -309,32 +514,17 @@ public abstract class Person {
          */
         // Method to display the schedule
         public String displaySchedule() {
-            StringBuilder scheduleBuilder = new StringBuilder();
-
-            // Grouping weekly meetings by day
-            Map<DayOfWeek, List<WeeklyMeeting>> meetingsByDay = courses.stream()
-                    .flatMap(course -> course.getWeeklyMeetings().stream())
-                    .collect(Collectors.groupingBy(WeeklyMeeting::getDay));
-
-            // Sorting and formatting schedule by day
-            meetingsByDay.entrySet().stream()
-                    .sorted(Map.Entry.comparingByKey())
-                    .forEach(entry -> {
-                        DayOfWeek day = entry.getKey();
-                        List<WeeklyMeeting> meetings = entry.getValue();
-                        scheduleBuilder.append(day).append(":\n");
-
-                        meetings.stream()
-                                .sorted(Comparator.comparing(WeeklyMeeting::getHour))
-                                .forEach(weeklyMeeting -> {
-                                    Course course = meetingCourseMap.get(weeklyMeeting);
-                                    scheduleBuilder.append(formatMeeting(course, weeklyMeeting)).append("\n");
-                                });
-                    });
-
-            return scheduleBuilder.toString();
+            if (rendered == null) {
+                StringBuilder scheduleBuilder = new StringBuilder();
+                // EnumMap iterates days in order, and each day is already sorted
+                meetingsByDay.forEach((day, meetings) -> {
+                    scheduleBuilder.append(day).append(":\n");
+                    meetings.forEach(e -> scheduleBuilder.append(formatMeeting(e.course(), e.meeting())).append("\n"));
+                });
+                rendered = scheduleBuilder.toString();
+            }
+            return rendered;
         }
-
         /**
          * Formats the details of a single meeting for display in a schedule.
          * This method is responsible for creating a string representation of a meeting,
@@ -354,7 +544,6 @@ public abstract class Person {
 
         // Helper method to format a single meeting entry
         private String formatMeeting(Course course, WeeklyMeeting meeting) {
-            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
             return String.format("  %s - %s | %s | Room: %s",
                     meeting.getHour().format(timeFormatter),
                     meeting.getHour().plus(meeting.getDuration()).format(timeFormatter),
@@ -1,17 +1,17 @@
 package object_orienters;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Path;
 import java.time.DayOfWeek;
 import java.time.Duration;
-import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -20,15 +20,26 @@ import java.util.stream.IntStream;
  */
 public class RegistrarDriver {
 
-    public static Map<String, Semester> semesters = new LinkedHashMap<>();
+    public static SemesterCache semesters = new SemesterCache();
     public static Map<Integer, Student> students = new LinkedHashMap<>();
     public static Map<Integer, Teacher> teachers = new LinkedHashMap<>();
     public static Map<String, Course> courses = new LinkedHashMap<>();
     public static List<WeeklyMeeting> weeklyMeetings = new ArrayList<>();
     public static Map<String, Specialization> specializations = new LinkedHashMap<>();
     public static Map<String, Faculty> faculties = new LinkedHashMap<>();
+    static final Path RESOURCES = Path.of("src/main/resources");
+    private static final Path STATS_FILE = Path.of("registrar-stats.txt");
 
+    /**
+     * Runs the registrar's menu.
+     *
+     * @param args --quiet to only print errors reported by the domain objects,
+     *             --silent to print none of them, --output=FILE to also
+     *             append all of them to a file, and --event-log to record
+     *             the registrar's history in a RegistrarEventLog.
+     */
     public static void main(String[] args) throws InterruptedException, IOException {
+        configureOutput(args);
         readFiles();
 
         BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
@@ -51,13 +62,19 @@ public class RegistrarDriver {
                             + Color.PURPLE.value + "\n11 - Show All Details of a Semester"
                             + Color.PURPLE.value + "\n12 - Enter Student Grade"
                             + Color.PURPLE.value + "\n13 - Calculate Student GPA"
+                            + Color.PURPLE.value + "\n14 - Show Statistics"
+                            + Color.PURPLE.value + "\n15 - Import CSV Changes"
+                            + Color.PURPLE.value + "\n16 - Export Registrar Data"
+                            + Color.PURPLE.value + "\n17 - Room Utilization"
+                            + Color.PURPLE.value + "\n18 - Find Free Slots"
+                            + Color.PURPLE.value + "\n19 - Archive Semesters"
                             + Color.PURPLE.value + "\n0  - Exit"
                             + Color.RESET.value);
 
             try {
                 input = Integer.parseInt(in.readLine());
             } catch (NumberFormatException e) {
-                System.out.println("Invalid input. Please enter a number between 0 and 13");
+                System.out.println("Invalid input. Please enter a number between 0 and 19");
                 continue;
             }
 
@@ -68,92 +85,153 @@ public class RegistrarDriver {
 
         }
 
+        RegistrarMetrics.dump(STATS_FILE);
+        RegistrarOutput.getInstance().setFile(null);
         System.out.println(Color.RED.value + ">>>>>>>>>>>>> Goodbye! <<<<<<<<<<<<<<<" + Color.RESET.value);
 
         in.close();
 
     }
 
+    // Applies the command-line options: where the domain objects' messages go and whether their events are logged
+    private static void configureOutput(String[] args) throws IOException {
+        RegistrarOutput output = RegistrarOutput.getInstance();
+        for (String arg : args) {
+            if (arg.equals("--quiet")) {
+                output.setMode(RegistrarOutput.Mode.QUIET);
+            } else if (arg.equals("--silent")) {
+                output.setMode(RegistrarOutput.Mode.SILENT);
+            } else if (arg.startsWith("--output=")) {
+                output.setFile(Path.of(arg.substring("--output=".length())));
+            } else if (arg.equals("--event-log")) {
+                RegistrarEventLog.setInstance(new RegistrarEventLog());
+            } else {
+                System.out.println("Ignoring unknown option " + arg);
+            }
+        }
+    }
+
     /**
      * Reads the CSV files and populates the data structures.
      */
     public static void readFiles() {
+        readFiles(RESOURCES);
+    }
+
+    /**
+     * Reads the CSV files of a directory and populates the data structures.
+     *
+     * @param directory The directory holding the resource files.
+     */
+    public static void readFiles(Path directory) {
+        // Load-scoped pool so repeated names and rooms share one String; dropped after loading
+        Map<String, String> strings = new ConcurrentHashMap<>();
         try {
-            BufferedReader bufferedReader = new BufferedReader(new FileReader("src/main/resources/WeeklyMeetings.csv"));
-            String line = bufferedReader.readLine();
-            while (line != null) {
-                String[] values = line.split(",");
-                DayOfWeek day = DayOfWeek.valueOf(values[0].toUpperCase());
-                Duration duration = Duration.ofMinutes(Long.parseLong(values[1]));
-                String room = values[2];
-                LocalTime hour = LocalTime.parse(values[3]);
-                WeeklyMeeting wm = new WeeklyMeeting(day, duration, room, hour);
-                weeklyMeetings.add(wm);
-                line = bufferedReader.readLine();
-            }
-            bufferedReader.close();
-            bufferedReader = new BufferedReader(new FileReader("src/main/resources/Faculties.csv"));
-            line = bufferedReader.readLine();
-            while (line != null) {
-                Faculty faculty = new Faculty(line);
-                faculties.put(faculty.getName(), faculty);
-                line = bufferedReader.readLine();
+            long start = System.nanoTime();
+            RegistrarEvents.LoadStage stage = RegistrarEvents.LoadStage.start("WeeklyMeetings.csv");
+            weeklyMeetings.addAll(ParallelCsvParser.parse(directory.resolve("WeeklyMeetings.csv"), csv -> {
+                DayOfWeek day = csv.getDayOfWeek(0);
+                Duration duration = Duration.ofMinutes(csv.getLong(1));
+                String room = pooled(strings, csv.getString(2));
+                LocalTime hour = csv.getTime(3);
+                return new WeeklyMeeting(day, duration, room, hour);
+            }));
+            start = recordLoad(stage, weeklyMeetings.size(), start);
+            stage = RegistrarEvents.LoadStage.start("Faculties.csv");
+            try (MappedCsvReader csv = MappedCsvReader.open(directory.resolve("Faculties.csv"))) {
+                while (csv.next()) {
+                    Catalog.faculty(pooled(strings, csv.getString(0)));
+                }
             }
-            bufferedReader.close();
-            bufferedReader = new BufferedReader(new FileReader("src/main/resources/SemesterDates.csv"));
-            line = bufferedReader.readLine();
-            while (line != null) {
-                String[] values = line.split(",");
-                Semester semester = new Semester(LocalDate.parse(values[0].trim()), LocalDate.parse(values[1].trim()));
-                semesters.put(semester.getSemesterName(), semester);
-                line = bufferedReader.readLine();
+            start = recordLoad(stage, faculties.size(), start);
+            stage = RegistrarEvents.LoadStage.start("SemesterDates.csv");
+            try (MappedCsvReader csv = MappedCsvReader.open(directory.resolve("SemesterDates.csv"))) {
+                // Only the dates are kept; each semester is built when it is first used
+                while (csv.next()) {
+                    semesters.declare(csv.getDate(0), csv.getDate(1));
+                }
             }
-            bufferedReader.close();
-            bufferedReader = new BufferedReader(new FileReader("src/main/resources/students.csv"));
-            line = bufferedReader.readLine();
-            while (line != null) {
-                String[] values = line.split(",");
-                Specialization spec = new Specialization(values[1], faculties.get(values[2]),
-                        Specialization.Type.valueOf(values[3]));
-                specializations.put(spec.getName(), spec);
-                Student student = new Student(values[0], spec);
+            start = recordLoad(stage, semesters.size(), start);
+            stage = RegistrarEvents.LoadStage.start("students.csv");
+            // Rows are parsed in parallel; students are created in file order so IDs follow it
+            for (PersonRow row : ParallelCsvParser.parse(directory.resolve("students.csv"),
+                    csv -> PersonRow.read(csv, strings))) {
+                Specialization spec = Catalog.specialization(row.specialization(), Catalog.faculty(row.faculty()),
+                        row.type());
+                Student student = row.minor() == null ? new Student(row.name(), spec)
+                        : new Student(row.name(), spec, Catalog.specialization(row.minor(),
+                                Catalog.faculty(row.minorFaculty()), Specialization.Type.MINOR));
                 students.put(student.getId(), student);
-                line = bufferedReader.readLine();
             }
-            bufferedReader.close();
-            bufferedReader = new BufferedReader(new FileReader("src/main/resources/Teachers.csv"));
-            line = bufferedReader.readLine();
-            while (line != null) {
-                String[] values = line.split(",");
-                Teacher teacher = new Teacher(values[0], specializations.get(values[1]));
+            start = recordLoad(stage, students.size(), start);
+            stage = RegistrarEvents.LoadStage.start("Teachers.csv");
+            for (PersonRow row : ParallelCsvParser.parse(directory.resolve("Teachers.csv"),
+                    csv -> PersonRow.read(csv, strings))) {
+                Teacher teacher = new Teacher(row.name(), Catalog.specialization(row.specialization(),
+                        Catalog.faculty(row.faculty()), row.type()));
                 teachers.put(teacher.getId(), teacher);
-                line = bufferedReader.readLine();
             }
-            bufferedReader.close();
-            bufferedReader = new BufferedReader(new FileReader("src/main/resources/Courses.csv"));
-            line = bufferedReader.readLine();
+            start = recordLoad(stage, teachers.size(), start);
+            stage = RegistrarEvents.LoadStage.start("Courses.csv");
             int courseCount = 0;
-            while (line != null) {
-                String[] values = line.split(",");
+            for (CourseRow row : ParallelCsvParser.parse(directory.resolve("Courses.csv"),
+                    csv -> CourseRow.read(csv, strings))) {
                 int startIndex = courseCount * 3;
                 List<WeeklyMeeting> courseMeetings = IntStream.range(startIndex, startIndex + 3)
                         .mapToObj(index -> weeklyMeetings.get(index))
                         .collect(Collectors.toList());
                 Course course = null;
-                if (faculties.containsKey(values[2])) {
-                    course = new Course(values[0], values[1], faculties.get(values[2]),
-                            Integer.parseInt(values[3]), courseMeetings, Integer.parseInt(values[4]));
+                if (faculties.containsKey(row.owner())) {
+                    course = new Course(row.courseID(), row.courseName(), faculties.get(row.owner()),
+                            row.creditHours(), courseMeetings, row.capacity());
                 } else {
-                    course = new Course(values[0], values[1], specializations.get(values[2]),
-                            Integer.parseInt(values[3]), courseMeetings, Integer.parseInt(values[4]));
+                    course = new Course(row.courseID(), row.courseName(), specializations.get(row.owner()),
+                            row.creditHours(), courseMeetings, row.capacity());
                 }
                 courses.put(course.getCourseID(), course);
-                line = bufferedReader.readLine();
                 courseCount++;
             }
-            bufferedReader.close();
+            recordLoad(stage, courses.size(), start);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    // A row of students.csv or Teachers.csv: name, specialization, faculty, type and,
+    // for students, an optional minor and the minor's faculty, the student's faculty
+    // if it is left out; a new minor is created in that faculty
+    private record PersonRow(String name, String specialization, String faculty, Specialization.Type type,
+            String minor, String minorFaculty) {
+        static PersonRow read(MappedCsvReader csv, Map<String, String> strings) {
+            String minor = csv.getFieldCount() > 4 ? csv.getString(4) : "";
+            String minorFaculty = csv.getFieldCount() > 5 ? csv.getString(5) : "";
+            String faculty = pooled(strings, csv.getString(2));
+            return new PersonRow(pooled(strings, csv.getString(0)), pooled(strings, csv.getString(1)),
+                    faculty, Specialization.Type.valueOf(csv.getString(3)),
+                    minor.isEmpty() ? null : pooled(strings, minor),
+                    minorFaculty.isEmpty() ? faculty : pooled(strings, minorFaculty));
+        }
+    }
+
+    // A row of Courses.csv: ID, name, faculty or specialization, credit hours, capacity
+    private record CourseRow(String courseID, String courseName, String owner, int creditHours, int capacity) {
+        static CourseRow read(MappedCsvReader csv, Map<String, String> strings) {
+            return new CourseRow(csv.getString(0), pooled(strings, csv.getString(1)), csv.getString(2),
+                    csv.getInt(3), csv.getInt(4));
+        }
+    }
+
+    // Returns the pooled instance of a string read from a resource file
+    private static String pooled(Map<String, String> strings, String value) {
+        return strings.computeIfAbsent(value, v -> v);
+    }
+
+    // Records the load time of a resource file and returns the new start time
+    private static long recordLoad(RegistrarEvents.LoadStage stage, int entries, long start) {
+        stage.entries = entries;
+        stage.commit();
+        long end = System.nanoTime();
+        RegistrarMetrics.record("readFiles." + stage.file, end - start);
+        return end;
+    }
 }
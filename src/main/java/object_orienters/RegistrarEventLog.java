@@ -0,0 +1,273 @@
+package object_orienters;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The append-only log of everything that happened in the registrar.
+ * Every appended event is applied to a materialized view right away, and a copy
+ * of the view is kept as a checkpoint every few thousand events, so the state as
+ * of any date is rebuilt by replaying from the nearest checkpoint instead of
+ * from the beginning.
+ * Only the last few checkpoints are kept, and the events before the oldest
+ * kept checkpoint are dropped with it, so the log holds a bounded window of
+ * history rather than growing with every event.
+ * Events must be appended in date order.
+ * The domain objects record their events only once a log is installed with
+ * setInstance, as with the --event-log option of RegistrarDriver.
+ */
+public class RegistrarEventLog {
+    static final int DEFAULT_CHECKPOINT_INTERVAL = 10_000;
+    static final int DEFAULT_RETAINED_CHECKPOINTS = 8;
+
+    private static volatile RegistrarEventLog instance;
+
+    private record Checkpoint(long position, LocalDate date, RegistrarView view) {
+    }
+
+    private final Clock clock;
+    private final int checkpointInterval;
+    private final int retainedCheckpoints;
+    // The number of events dropped from the front of the log
+    private long dropped;
+    private LocalDate last;
+    private final List<DomainEvent> events = new ArrayList<>();
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    private final RegistrarView current = new RegistrarView();
+    private final List<Consumer<DomainEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates an empty log using the system clock.
+     */
+    public RegistrarEventLog() {
+        this(Clock.systemDefaultZone(), DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Creates an empty log keeping the default number of checkpoints.
+     *
+     * @param clock              The clock giving the date of recorded events.
+     * @param checkpointInterval The number of events between two checkpoints.
+     */
+    public RegistrarEventLog(Clock clock, int checkpointInterval) {
+        this(clock, checkpointInterval, DEFAULT_RETAINED_CHECKPOINTS);
+    }
+
+    /**
+     * Creates an empty log.
+     *
+     * @param clock               The clock giving the date of recorded events.
+     * @param checkpointInterval  The number of events between two checkpoints.
+     * @param retainedCheckpoints The number of checkpoints kept; older ones are
+     *                            dropped together with the events before them.
+     */
+    public RegistrarEventLog(Clock clock, int checkpointInterval, int retainedCheckpoints) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        if (retainedCheckpoints <= 0) {
+            throw new IllegalArgumentException("At least one checkpoint must be kept");
+        }
+        this.clock = clock;
+        this.checkpointInterval = checkpointInterval;
+        this.retainedCheckpoints = retainedCheckpoints;
+    }
+
+    /**
+     * Retrieves the log the domain objects record their events to.
+     *
+     * @return The registrar's event log, or an empty Optional if none is
+     *         installed.
+     */
+    public static Optional<RegistrarEventLog> getInstance() {
+        return Optional.ofNullable(instance);
+    }
+
+    /**
+     * Sets the log the domain objects record their events to from now on.
+     *
+     * @param log The log, or null to stop recording events.
+     */
+    public static void setInstance(RegistrarEventLog log) {
+        instance = log;
+    }
+
+    /**
+     * Appends an event to the installed log, if any. The event is only built
+     * when there is a log to append it to.
+     *
+     * @param event Builds the event from the log's date of today.
+     */
+    static void record(Function<LocalDate, ? extends DomainEvent> event) {
+        RegistrarEventLog log = instance;
+        if (log != null) {
+            log.append(event.apply(log.today()));
+        }
+    }
+
+    /**
+     * Retrieves today's date according to the log's clock.
+     *
+     * @return The date to give new events.
+     */
+    public LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    /**
+     * Appends an event, applies it to the current view and notifies the
+     * listeners.
+     *
+     * @param event The event to append.
+     * @throws IllegalArgumentException If the event is dated before the last
+     *                                  appended event.
+     */
+    public synchronized void append(DomainEvent event) {
+        if (last != null && event.date().isBefore(last)) {
+            throw new IllegalArgumentException("Event " + event + " is dated before the end of the log");
+        }
+        last = event.date();
+        events.add(event);
+        current.apply(event);
+        long appended = dropped + events.size();
+        if (appended % checkpointInterval == 0) {
+            checkpoints.add(new Checkpoint(appended, event.date(), current.copy()));
+            if (checkpoints.size() > retainedCheckpoints) {
+                checkpoints.remove(0);
+                int before = (int) (checkpoints.get(0).position() - dropped);
+                events.subList(0, before).clear();
+                dropped += before;
+            }
+        }
+        for (Consumer<DomainEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    /**
+     * Registers a listener called, in order, for every event appended after it.
+     *
+     * @param listener The listener.
+     */
+    public void subscribe(Consumer<DomainEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Passes every event already in the log to a listener, then registers it for
+     * the events appended after, without missing or repeating any.
+     *
+     * @param listener The listener.
+     * @throws IllegalStateException If the log has already dropped its oldest
+     *                               events.
+     */
+    public synchronized void replayAndSubscribe(Consumer<DomainEvent> listener) {
+        if (dropped > 0) {
+            throw new IllegalStateException("The first " + dropped + " events were dropped from the log");
+        }
+        events.forEach(listener);
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener The listener.
+     */
+    public void unsubscribe(Consumer<DomainEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Retrieves the number of events the log still holds.
+     *
+     * @return The log's size.
+     */
+    public synchronized int size() {
+        return events.size();
+    }
+
+    /**
+     * Retrieves the number of events dropped with the checkpoints no longer
+     * kept.
+     *
+     * @return The number of dropped events.
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Retrieves a copy of the events the log still holds.
+     *
+     * @return An unmodifiable list of the events, oldest first.
+     */
+    public synchronized List<DomainEvent> getEvents() {
+        return Collections.unmodifiableList(new ArrayList<>(events));
+    }
+
+    /**
+     * Runs a query against the current view while no event is being appended.
+     *
+     * @param query The query.
+     * @param <T>   The type of the result.
+     * @return The query's result.
+     */
+    public synchronized <T> T query(Function<RegistrarView, T> query) {
+        return query.apply(current);
+    }
+
+    /**
+     * Rebuilds the state of the registrar at the end of a date, replaying the
+     * events after the last checkpoint taken by then.
+     *
+     * @param date The date.
+     * @return A view independent of the log.
+     * @throws IllegalArgumentException If the events up to the date were
+     *                                  dropped from the log.
+     */
+    public synchronized RegistrarView asOf(LocalDate date) {
+        int low = 0;
+        int high = checkpoints.size() - 1;
+        Checkpoint start = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (checkpoints.get(mid).date().isAfter(date)) {
+                high = mid - 1;
+            } else {
+                start = checkpoints.get(mid);
+                low = mid + 1;
+            }
+        }
+        if (start == null && dropped > 0) {
+            throw new IllegalArgumentException("The log only goes back to " + checkpoints.get(0).date());
+        }
+        RegistrarView view = start == null ? new RegistrarView() : start.view().copy();
+        int position = start == null ? 0 : (int) (start.position() - dropped);
+        while (position < events.size() && !events.get(position).date().isAfter(date)) {
+            view.apply(events.get(position++));
+        }
+        return view;
+    }
+
+    /**
+     * Builds a view by applying a sequence of events from the beginning.
+     *
+     * @param events The events, oldest first.
+     * @return The resulting view.
+     */
+    public static RegistrarView replay(Iterable<DomainEvent> events) {
+        RegistrarView view = new RegistrarView();
+        for (DomainEvent event : events) {
+            view.apply(event);
+        }
+        return view;
+    }
+}
@@ -0,0 +1,126 @@
+package object_orienters;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events emitted by the registrar's hot paths.
+ * The events cost next to nothing while no recording is running, and let a
+ * recording of a registration burst be lined up with GC and lock events.
+ * Start a recording with, for example,
+ * {@code java -XX:StartFlightRecording:filename=registrar.jfr ...}.
+ */
+public final class RegistrarEvents {
+
+    private RegistrarEvents() {
+    }
+
+    /**
+     * Emitted once per call to Semester.registerInACourse.
+     */
+    @Name("object_orienters.Registration")
+    @Label("Course Registration")
+    @Category({ "Registrar", "Registration" })
+    @Description("Registration of a list of students and a teacher in a course")
+    @StackTrace(false)
+    public static final class Registration extends Event {
+        @Label("Semester")
+        public String semester;
+
+        @Label("Course")
+        public String course;
+
+        @Label("Outcome")
+        @Description("registered, or why the whole request was refused")
+        public String outcome;
+
+        @Label("Students Requested")
+        public int requested;
+
+        @Label("Students Accepted")
+        public int accepted;
+
+        @Label("Rejected For Prerequisites")
+        public int rejectedPrerequisites;
+
+        @Label("Rejected For Conflicts")
+        public int rejectedConflicts;
+
+        @Label("Rejected Because Full")
+        public int rejectedFull;
+    }
+
+    /**
+     * Emitted for every schedule conflict check of a person against a list of
+     * weekly meetings.
+     */
+    @Name("object_orienters.ConflictCheck")
+    @Label("Conflict Check")
+    @Category({ "Registrar", "Registration" })
+    @StackTrace(false)
+    public static final class ConflictCheck extends Event {
+        @Label("Person ID")
+        public int personId;
+
+        @Label("Method")
+        @Description("schedule for a meeting by meeting scan, matrix for the semester conflict matrix")
+        public String method;
+
+        @Label("Registered Courses")
+        public int registeredCourses;
+
+        @Label("Free")
+        public boolean free;
+    }
+
+    /**
+     * Emitted for every GPA calculation.
+     */
+    @Name("object_orienters.GpaCalculation")
+    @Label("GPA Calculation")
+    @Category({ "Registrar", "Grades" })
+    @StackTrace(false)
+    public static final class GpaCalculation extends Event {
+        @Label("Student ID")
+        public int studentId;
+
+        @Label("Completed Courses")
+        public int completedCourses;
+
+        @Label("GPA")
+        public double gpa;
+    }
+
+    /**
+     * Emitted for every resource file read by RegistrarDriver.readFiles.
+     */
+    @Name("object_orienters.LoadStage")
+    @Label("Load Stage")
+    @Category({ "Registrar", "Loading" })
+    @StackTrace(false)
+    public static final class LoadStage extends Event {
+        @Label("File")
+        public String file;
+
+        @Label("Loaded Entries")
+        @Description("Number of entries of the loaded kind after the stage")
+        public int entries;
+
+        /**
+         * Creates a load stage event for a file and starts its timing.
+         *
+         * @param file The name of the file being loaded.
+         * @return The started event.
+         */
+        public static LoadStage start(String file) {
+            LoadStage stage = new LoadStage();
+            stage.file = file;
+            stage.begin();
+            return stage;
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package object_orienters;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the registrar's state to files, as CSV or as JSON Lines.
+ * The CSV files of the six resource types use exactly the layout that
+ * RegistrarDriver.readFiles and DeltaImporter read, so an exported directory
+ * can be loaded again: every course is written with the three weekly meetings
+ * it owns, at rows 3r to 3r + 2 of WeeklyMeetings.csv for the course on row r,
+ * and students.csv has two optional columns with the minor and the minor's
+ * faculty. Courses that do not have exactly three weekly meetings cannot be
+ * expressed in that layout and are left out of the CSV files; the JSON Lines
+ * files hold every course.
+ * Enrollments and transcripts are written to two more files.
+ * Each file has its own writer, and the writers run in parallel on the common
+ * fork-join pool. Rows are streamed from the static maps of RegistrarDriver to
+ * the file as they are formatted, so memory use does not grow with the data.
+ */
+public class RegistrarExporter {
+
+    /**
+     * The output formats.
+     */
+    public enum Format {
+        CSV(".csv"), JSONL(".jsonl");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    /**
+     * The outcome of an export.
+     *
+     * @param rows           The number of rows written, by file name.
+     * @param skippedCourses The IDs of courses left out of the CSV files.
+     * @param nanos          The time the export took.
+     */
+    public record Summary(Map<String, Long> rows, List<String> skippedCourses, long nanos) {
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            rows.forEach((file, count) -> out.append(String.format("%-24s %d rows%n", file, count)));
+            if (!skippedCourses.isEmpty()) {
+                out.append("Not in CSV (not three weekly meetings): ").append(skippedCourses).append('\n');
+            }
+            return out.append(String.format("Exported in %.1f ms", nanos / 1e6)).toString();
+        }
+    }
+
+    // A file and the code that fills it, returning the number of rows written
+    private record Part(String name, RowWriter writer) {
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        long write(Writer out) throws IOException;
+    }
+
+    private final Format format;
+    private final boolean gzip;
+
+    /**
+     * Creates an exporter.
+     *
+     * @param format The format of the files.
+     * @param gzip   Whether to compress the files, adding .gz to their names.
+     */
+    public RegistrarExporter(Format format, boolean gzip) {
+        this.format = format;
+        this.gzip = gzip;
+    }
+
+    /**
+     * Exports everything into a directory, creating it if needed and replacing
+     * files of the same names.
+     *
+     * @param directory The directory to write to.
+     * @return The number of rows written to each file.
+     * @throws IOException If a file cannot be written.
+     */
+    public Summary export(Path directory) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+        List<String> skipped = Collections.synchronizedList(new ArrayList<>());
+        boolean csv = format == Format.CSV;
+        List<Part> parts = List.of(
+                new Part("WeeklyMeetings", out -> csv ? meetingsCsv(out) : meetingsJson(out)),
+                new Part("Faculties", out -> csv ? facultiesCsv(out) : facultiesJson(out)),
+                new Part("SemesterDates", out -> csv ? semestersCsv(out) : semestersJson(out)),
+                new Part("students", out -> csv ? studentsCsv(out) : studentsJson(out)),
+                new Part("Teachers", out -> csv ? teachersCsv(out) : teachersJson(out)),
+                new Part("Courses", out -> csv ? coursesCsv(out, skipped) : coursesJson(out)),
+                new Part("enrollments", out -> csv ? enrollmentsCsv(out) : enrollmentsJson(out)),
+                new Part("transcripts", out -> csv ? transcriptsCsv(out) : transcriptsJson(out)));
+        List<Long> counts;
+        try {
+            counts = parts.parallelStream().map(part -> write(directory, part)).toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Map<String, Long> rows = new LinkedHashMap<>();
+        for (int i = 0; i < parts.size(); i++) {
+            rows.put(fileName(parts.get(i).name()), counts.get(i));
+        }
+        List<String> skippedCourses = new ArrayList<>(skipped);
+        Collections.sort(skippedCourses);
+        return new Summary(rows, skippedCourses, System.nanoTime() - start);
+    }
+
+    /**
+     * Retrieves the name of an exported file.
+     *
+     * @param name The file name without extension, such as students.
+     * @return The name with the format's extension, and .gz if compressed.
+     */
+    public String fileName(String name) {
+        return name + format.extension + (gzip ? ".gz" : "");
+    }
+
+    private long write(Path directory, Part part) {
+        long start = System.nanoTime();
+        Path file = directory.resolve(fileName(part.name()));
+        try (OutputStream stream = Files.newOutputStream(file);
+                OutputStream target = gzip ? new GZIPOutputStream(stream, 1 << 16) : stream;
+                Writer out = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 1 << 16)) {
+            long rows = part.writer().write(out);
+            RegistrarMetrics.record("RegistrarExporter." + part.name(), System.nanoTime() - start);
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean hasThreeMeetings(Course course) {
+        return course.getWeeklyMeetings().size() == 3;
+    }
+
+    private long meetingsCsv(Writer out) throws IOException {
+        long rows = 0;
+        for (Course course : RegistrarDriver.courses.values()) {
+            if (!hasThreeMeetings(course)) {
+                continue;
+            }
+            for (WeeklyMeeting wm : course.getWeeklyMeetings()) {
+                String day = wm.getDay().name();
+                csvRow(out, day.charAt(0) + day.substring(1).toLowerCase(), wm.getDuration().toMinutes(),
+                        wm.getRoom(), wm.getHour());
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long meetingsJson(Writer out) throws IOException {
+        long rows = 0;
+        for (Course course : RegistrarDriver.courses.values()) {
+            for (WeeklyMeeting wm : course.getWeeklyMeetings()) {
+                jsonRow(out, "course", course.getCourseID(), "day", wm.getDay(),
+                        "minutes", wm.getDuration().toMinutes(), "room", wm.getRoom(), "start", wm.getHour());
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long facultiesCsv(Writer out) throws IOException {
+        for (String name : RegistrarDriver.faculties.keySet()) {
+            csvRow(out, name);
+        }
+        return RegistrarDriver.faculties.size();
+    }
+
+    private long facultiesJson(Writer out) throws IOException {
+        for (String name : RegistrarDriver.faculties.keySet()) {
+            jsonRow(out, "name", name);
+        }
+        return RegistrarDriver.faculties.size();
+    }
+
+    private long semestersCsv(Writer out) throws IOException {
+        for (SemesterCache.Term term : RegistrarDriver.semesters.getTerms()) {
+            csvRow(out, term.start(), term.end());
+        }
+        return RegistrarDriver.semesters.size();
+    }
+
+    private long semestersJson(Writer out) throws IOException {
+        for (SemesterCache.Term term : RegistrarDriver.semesters.getTerms()) {
+            jsonRow(out, "name", term.name(), "start", term.start(), "end", term.end());
+        }
+        return RegistrarDriver.semesters.size();
+    }
+
+    private static String minorName(Student student) {
+        return student.getMinor() != null ? student.getMinor().map(Specialization::getName).orElse(null) : null;
+    }
+
+    private static String minorFaculty(Student student) {
+        return student.getMinor() != null
+                ? student.getMinor().map(minor -> minor.getFaculty().getName()).orElse(null)
+                : null;
+    }
+
+    private long studentsCsv(Writer out) throws IOException {
+        for (Student student : RegistrarDriver.students.values()) {
+            Specialization major = student.getMajor();
+            String minor = minorName(student);
+            if (minor == null) {
+                csvRow(out, student.getName(), major.getName(), major.getFaculty().getName(), major.getType());
+            } else {
+                csvRow(out, student.getName(), major.getName(), major.getFaculty().getName(), major.getType(), minor,
+                        minorFaculty(student));
+            }
+        }
+        return RegistrarDriver.students.size();
+    }
+
+    private long studentsJson(Writer out) throws IOException {
+        for (Student student : RegistrarDriver.students.values()) {
+            Specialization major = student.getMajor();
+            jsonRow(out, "id", student.getId(), "name", student.getName(), "major", major.getName(),
+                    "faculty", major.getFaculty().getName(), "type", major.getType(), "minor", minorName(student),
+                    "minorFaculty", minorFaculty(student));
+        }
+        return RegistrarDriver.students.size();
+    }
+
+    private long teachersCsv(Writer out) throws IOException {
+        for (Teacher teacher : RegistrarDriver.teachers.values()) {
+            Specialization specialization = teacher.getSpecialization();
+            csvRow(out, teacher.getName(), specialization.getName(), specialization.getFaculty().getName(),
+                    specialization.getType());
+        }
+        return RegistrarDriver.teachers.size();
+    }
+
+    private long teachersJson(Writer out) throws IOException {
+        for (Teacher teacher : RegistrarDriver.teachers.values()) {
+            Specialization specialization = teacher.getSpecialization();
+            jsonRow(out, "id", teacher.getId(), "name", teacher.getName(), "specialization", specialization.getName(),
+                    "faculty", specialization.getFaculty().getName(), "type", specialization.getType());
+        }
+        return RegistrarDriver.teachers.size();
+    }
+
+    private static String owner(Course course) {
+        return course.getSpecialization().map(Specialization::getName)
+                .orElseGet(() -> course.getCourseFaculty().getName());
+    }
+
+    private long coursesCsv(Writer out, List<String> skipped) throws IOException {
+        long rows = 0;
+        for (Course course : RegistrarDriver.courses.values()) {
+            if (!hasThreeMeetings(course)) {
+                skipped.add(course.getCourseID());
+                continue;
+            }
+            csvRow(out, course.getCourseID(), course.getCourseName(), owner(course), course.getCreditHours(),
+                    course.getCapacity());
+            rows++;
+        }
+        return rows;
+    }
+
+    private long coursesJson(Writer out) throws IOException {
+        for (Course course : RegistrarDriver.courses.values()) {
+            jsonRow(out, "id", course.getCourseID(), "name", course.getCourseName(),
+                    "faculty", course.getCourseFaculty().getName(),
+                    "specialization", course.getSpecialization().map(Specialization::getName).orElse(null),
+                    "creditHours", course.getCreditHours(), "capacity", course.getCapacity(),
+                    "teacher", course.getTeacher().map(Teacher::getId).orElse(null),
+                    "prerequisites", course.getPrerequisites().stream().map(Course::getCourseID).sorted().toList());
+        }
+        return RegistrarDriver.courses.size();
+    }
+
+    private long enrollmentsCsv(Writer out) throws IOException {
+        long rows = 0;
+        for (Semester semester : RegistrarDriver.semesters.getPopulated()) {
+            for (CourseOffering offering : semester.getOfferings()) {
+                for (Student student : offering.getEnrolledStudents()) {
+                    csvRow(out, semester.getSemesterName(), offering.getCourse().getCourseID(), student.getId());
+                    rows++;
+                }
+            }
+            Optional<SemesterArchive> archive = semester.getArchive();
+            if (archive.isPresent()) {
+                for (String courseID : archive.get().getCourseIDs()) {
+                    for (int studentId : archive.get().getStudentIds(courseID)) {
+                        csvRow(out, semester.getSemesterName(), courseID, studentId);
+                        rows++;
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long enrollmentsJson(Writer out) throws IOException {
+        long rows = 0;
+        for (Semester semester : RegistrarDriver.semesters.getPopulated()) {
+            for (CourseOffering offering : semester.getOfferings()) {
+                for (Student student : offering.getEnrolledStudents()) {
+                    jsonRow(out, "semester", semester.getSemesterName(), "course", offering.getCourse().getCourseID(),
+                            "student", student.getId());
+                    rows++;
+                }
+            }
+            Optional<SemesterArchive> archive = semester.getArchive();
+            if (archive.isPresent()) {
+                for (String courseID : archive.get().getCourseIDs()) {
+                    for (int studentId : archive.get().getStudentIds(courseID)) {
+                        jsonRow(out, "semester", semester.getSemesterName(), "course", courseID,
+                                "student", studentId);
+                        rows++;
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long transcriptsCsv(Writer out) throws IOException {
+        long rows = 0;
+        for (Student student : RegistrarDriver.students.values()) {
+            Transcript transcript = student.getTranscript();
+            for (int i = 0; i < transcript.size(); i++) {
+                csvRow(out, student.getId(), transcript.courseAt(i).getCourseID(), transcript.pointsAt(i));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long transcriptsJson(Writer out) throws IOException {
+        long rows = 0;
+        for (Student student : RegistrarDriver.students.values()) {
+            Transcript transcript = student.getTranscript();
+            for (int i = 0; i < transcript.size(); i++) {
+                jsonRow(out, "student", student.getId(), "course", transcript.courseAt(i).getCourseID(),
+                        "points", transcript.pointsAt(i));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    // Writes one CSV row, quoting the fields that need it
+    private static void csvRow(Writer out, Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(csvField(String.valueOf(fields[i])));
+        }
+        out.write('\n');
+    }
+
+    static String csvField(String value) {
+        boolean quote = !value.isEmpty() && (Character.isWhitespace(value.charAt(0))
+                || Character.isWhitespace(value.charAt(value.length() - 1)));
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    // Writes one JSON object from alternating keys and values
+    private static void jsonRow(Writer out, Object... keysAndValues) throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            row.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        out.write(Json.write(row));
+        out.write('\n');
+    }
+}
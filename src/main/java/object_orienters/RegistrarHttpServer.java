@@ -0,0 +1,583 @@
+package object_orienters;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A JSON-over-HTTP API for the registrar, served by the JDK's built-in
+ * HttpServer with one virtual thread per request.
+ * It exposes the same operations as the TaskSwitcher menu on the shared maps of
+ * RegistrarDriver. Reads run in parallel while writes are serialized by a
+ * read-write lock, since the domain objects are not thread-safe.
+ *
+ * Endpoints:
+ * GET  /semesters, /students, /teachers, /courses (paginated with ?offset=&amp;limit=)
+ * GET  /semesters/{name}, /students/{id}, /students/{id}/gpa, /teachers/{id}, /courses/{id}
+ * POST /semesters, /students, /teachers, /courses, /courses/{id}/prerequisites,
+ *      /registrations, /grades
+ * POST /students/batch, /teachers/batch, /courses/batch, /registrations/batch,
+ *      /grades/batch (a JSON array of the single-item bodies). Each item is
+ *      applied on its own and answered in turn with its result or, for an item
+ *      that was refused, its status and error; the response is 207 if any item
+ *      was refused.
+ */
+public class RegistrarHttpServer {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 1000;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Creates a server bound to the loopback interface. Port 0 picks a free port.
+     *
+     * @param port The port to listen on.
+     * @throws IOException If the port cannot be bound.
+     */
+    public RegistrarHttpServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Loads the resource files and serves the API until the process is stopped.
+     *
+     * @param args Optionally the port to listen on, 8080 by default.
+     * @throws IOException If the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        RegistrarDriver.readFiles();
+        RegistrarHttpServer api = new RegistrarHttpServer(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT);
+        api.start();
+        System.out.println(Color.RED.value + "Registrar API listening on http://127.0.0.1:" + api.getPort()
+                + Color.RESET.value);
+    }
+
+    /**
+     * Starts serving requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops serving requests and releases the port.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.close();
+    }
+
+    /**
+     * Retrieves the port the server listens on.
+     *
+     * @return The bound port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        String method = exchange.getRequestMethod();
+        List<String> path = segments(exchange.getRequestURI().getRawPath());
+        String metric = "http." + method + " /" + (path.isEmpty() ? "" : path.get(0));
+        int status;
+        Object body;
+        try {
+            Object result = route(method, path, exchange);
+            if (result instanceof BatchResult batch) {
+                status = batch.failed() ? 207 : 201;
+                body = batch.items();
+            } else {
+                status = "POST".equals(method) ? 201 : 200;
+                body = result;
+            }
+        } catch (RuntimeException e) {
+            status = statusOf(e);
+            body = errorOf(e);
+        }
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        if (status >= 500) {
+            RegistrarMetrics.recordError(metric, System.nanoTime() - start);
+        } else {
+            RegistrarMetrics.record(metric, System.nanoTime() - start);
+        }
+    }
+
+    private Object route(String method, List<String> path, HttpExchange exchange) throws IOException {
+        if (path.isEmpty()) {
+            throw new NoSuchElementException("Unknown resource");
+        }
+        String resource = path.get(0);
+        Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+        if ("GET".equals(method)) {
+            return read(() -> get(resource, path, query));
+        }
+        if (!"POST".equals(method)) {
+            throw new IllegalArgumentException("Unsupported method " + method);
+        }
+        Object body = Json.parse(readBody(exchange));
+        if (path.size() == 2 && path.get(1).equals("batch")) {
+            Function<Map<String, Object>, Object> create = creator(resource);
+            List<?> items = (List<?>) body;
+            return write(() -> {
+                // Each item succeeds or fails on its own, so the caller knows which were applied
+                List<Object> results = new ArrayList<>(items.size());
+                boolean failed = false;
+                for (Object item : items) {
+                    try {
+                        results.add(create.apply(asMap(item)));
+                    } catch (RuntimeException e) {
+                        Map<String, Object> error = new LinkedHashMap<>();
+                        error.put("status", statusOf(e));
+                        error.putAll(errorOf(e));
+                        results.add(error);
+                        failed = true;
+                    }
+                }
+                return new BatchResult(results, failed);
+            });
+        }
+        if (path.size() == 3 && resource.equals("courses") && path.get(2).equals("prerequisites")) {
+            return write(() -> addPrerequisite(path.get(1), asMap(body)));
+        }
+        if (path.size() != 1) {
+            throw new NoSuchElementException("Unknown resource " + String.join("/", path));
+        }
+        Function<Map<String, Object>, Object> create = creator(resource);
+        return write(() -> create.apply(asMap(body)));
+    }
+
+    // The results of a batch, one per item: the item's view or its error
+    private record BatchResult(List<Object> items, boolean failed) {
+    }
+
+    private static int statusOf(RuntimeException e) {
+        if (e instanceof NoSuchElementException) {
+            return 404;
+        }
+        if (e instanceof IllegalArgumentException || e instanceof IllegalStateException
+                || e instanceof ClassCastException || e instanceof DateTimeParseException) {
+            return 400;
+        }
+        return 500;
+    }
+
+    private static Map<String, Object> errorOf(RuntimeException e) {
+        return Map.of("error", statusOf(e) == 500 ? String.valueOf(e) : String.valueOf(e.getMessage()));
+    }
+
+    private Object get(String resource, List<String> path, Map<String, String> query) {
+        switch (resource) {
+            case "semesters":
+                if (path.size() == 2) {
+                    return semesterDetails(findSemester(path.get(1)));
+                }
+                // Only the semesters of the page are built
+                return page(RegistrarDriver.semesters.getTerms(), query,
+                        term -> semesterView(RegistrarDriver.semesters.get(term.name())));
+            case "students":
+                if (path.size() == 3 && path.get(2).equals("gpa")) {
+                    // Only the read lock is held, so the student's GPA status is not written back
+                    Student student = findStudent(path.get(1));
+                    double value = student.peekGPA();
+                    Map<String, Object> gpa = new LinkedHashMap<>();
+                    gpa.put("id", student.getId());
+                    gpa.put("gpa", value);
+                    gpa.put("status", Student.statusOf(value));
+                    return gpa;
+                }
+                if (path.size() == 2) {
+                    return studentDetails(findStudent(path.get(1)));
+                }
+                return page(RegistrarDriver.students.values(), query, this::studentView);
+            case "teachers":
+                if (path.size() == 2) {
+                    return teacherView(findTeacher(path.get(1)));
+                }
+                return page(RegistrarDriver.teachers.values(), query, this::teacherView);
+            case "courses":
+                if (path.size() == 2) {
+                    return courseView(findCourse(path.get(1)));
+                }
+                return page(RegistrarDriver.courses.values(), query, this::courseView);
+            default:
+                throw new NoSuchElementException("Unknown resource " + resource);
+        }
+    }
+
+    private Function<Map<String, Object>, Object> creator(String resource) {
+        switch (resource) {
+            case "semesters":
+                return this::createSemester;
+            case "students":
+                return this::createStudent;
+            case "teachers":
+                return this::createTeacher;
+            case "courses":
+                return this::createCourse;
+            case "registrations":
+                return this::register;
+            case "grades":
+                return this::enterGrade;
+            default:
+                throw new NoSuchElementException("Unknown resource " + resource);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+
+    private Object createSemester(Map<String, Object> body) {
+        LocalDate start = LocalDate.parse(string(body, "start"));
+        LocalDate end = LocalDate.parse(string(body, "end"));
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start Date is after End Date");
+        }
+        Semester semester = new Semester(start, end);
+        Semester existing = RegistrarDriver.semesters.putIfAbsent(semester.getSemesterName(), semester);
+        return semesterView(existing != null ? existing : semester);
+    }
+
+    private Object createStudent(Map<String, Object> body) {
+        Specialization major = specialization(string(body, "major"), optionalString(body, "majorFaculty"),
+                Specialization.Type.MAJOR);
+        String minorName = optionalString(body, "minor");
+        Specialization minor = minorName == null ? null
+                : specialization(minorName, optionalString(body, "minorFaculty"), Specialization.Type.MINOR);
+        Student student = new Student(string(body, "name"), major, minor);
+        RegistrarDriver.students.put(student.getId(), student);
+        return studentView(student);
+    }
+
+    private Object createTeacher(Map<String, Object> body) {
+        Specialization specialization = specialization(string(body, "specialization"),
+                optionalString(body, "faculty"), Specialization.Type.MAJOR);
+        Teacher teacher = new Teacher(string(body, "name"), specialization);
+        RegistrarDriver.teachers.put(teacher.getId(), teacher);
+        return teacherView(teacher);
+    }
+
+    private Object createCourse(Map<String, Object> body) {
+        String id = string(body, "id");
+        Course existing = RegistrarDriver.courses.get(id);
+        if (existing != null) {
+            return courseView(existing);
+        }
+        List<WeeklyMeeting> meetings = new ArrayList<>();
+        for (Object item : (List<?>) body.getOrDefault("meetings", List.of())) {
+            Map<String, Object> m = asMap(item);
+            WeeklyMeeting wm = new WeeklyMeeting(DayOfWeek.valueOf(string(m, "day").toUpperCase()),
+                    Duration.ofMinutes(number(m, "duration")), string(m, "room"), LocalTime.parse(string(m, "start")));
+            if (meetings.stream().anyMatch(e -> e.hasTimeConflict(wm))) {
+                throw new IllegalArgumentException("Weekly meeting " + wm + " conflicts with another meeting");
+            }
+            meetings.add(wm);
+        }
+        Specialization specialization = specialization(string(body, "specialization"),
+                optionalString(body, "faculty"), Specialization.Type.MAJOR);
+        Course course = new Course(id, string(body, "name"), specialization, (int) number(body, "creditHours"),
+                meetings, (int) number(body, "capacity"));
+        RegistrarDriver.courses.put(course.getCourseID(), course);
+        return courseView(course);
+    }
+
+    private Object addPrerequisite(String courseID, Map<String, Object> body) {
+        Course course = findCourse(courseID);
+        course.addPrerequisites(findCourse(string(body, "prerequisite")));
+        return courseView(course);
+    }
+
+    private Object register(Map<String, Object> body) {
+        Semester semester = findSemester(string(body, "semester"));
+        Course course = findCourse(string(body, "course"));
+        Teacher teacher = findTeacher(String.valueOf(number(body, "teacher")));
+        List<Student> students = new ArrayList<>();
+        for (Object id : (List<?>) body.getOrDefault("students", List.of())) {
+            students.add(findStudent(String.valueOf(id)));
+        }
+        semester.registerInACourse(course, students, teacher);
+        Optional<CourseOffering> offering = semester.getOffering(course);
+        List<Student> enrolled = offering.map(CourseOffering::getEnrolledStudents).orElse(List.of());
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("semester", semester.getSemesterName());
+        result.put("course", course.getCourseID());
+        result.put("teacher", offering.flatMap(CourseOffering::getTeacher).map(Person::getId).orElse(null));
+        result.put("registered", students.stream().filter(enrolled::contains).map(Person::getId).toList());
+        result.put("rejected", students.stream().filter(s -> !enrolled.contains(s)).map(Person::getId).toList());
+        return result;
+    }
+
+    private Object enterGrade(Map<String, Object> body) {
+        Student student = findStudent(String.valueOf(number(body, "student")));
+        Course course = findCourse(string(body, "course"));
+        if (!student.getRegisteredCourses().contains(course)) {
+            throw new IllegalArgumentException(student.getName() + " is not registered in " + course.getCourseName());
+        }
+        student.enterCourseGrade(course, string(body, "grade"));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("student", student.getId());
+        result.put("course", course.getCourseID());
+        result.put("points", student.getCompletedCoursesGrades().get(course));
+        return result;
+    }
+
+    private Specialization specialization(String name, String facultyName, Specialization.Type type) {
+        Specialization spec = RegistrarDriver.specializations.get(name);
+        if (spec != null) {
+            return spec;
+        }
+        if (facultyName == null) {
+            throw new IllegalArgumentException("Unknown specialization " + name + ", a faculty is needed to create it");
+        }
+        return Catalog.specialization(name, Catalog.faculty(facultyName), type);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+
+    private Map<String, Object> semesterView(Semester semester) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("name", semester.getSemesterName());
+        view.put("start", semester.getSemesterStartDate().toString());
+        view.put("end", semester.getSemesterEndDate().toString());
+        view.put("weeks", semester.getWeeksNumber());
+        return view;
+    }
+
+    private Map<String, Object> semesterDetails(Semester semester) {
+        SemesterSnapshot snapshot = semester.getSnapshot();
+        Map<String, Object> view = semesterView(semester);
+        view.put("version", snapshot.getVersion());
+        List<Object> courses = new ArrayList<>();
+        for (SemesterSnapshot.CourseView course : snapshot.getCourses()) {
+            Map<String, Object> c = new LinkedHashMap<>();
+            c.put("id", course.courseID());
+            c.put("name", course.courseName());
+            c.put("creditHours", course.creditHours());
+            c.put("capacity", course.capacity());
+            c.put("teacher", course.teacher().map(SemesterSnapshot.PersonView::id).orElse(null));
+            c.put("enrolled", course.students().stream().map(SemesterSnapshot.PersonView::id).toList());
+            courses.add(c);
+        }
+        view.put("courses", courses);
+        return view;
+    }
+
+    private Map<String, Object> studentView(Student student) {
+        Map<String, Object> view = personView(student);
+        view.put("major", student.getMajor().getName());
+        view.put("minor", student.getMinor() != null && student.getMinor().isPresent()
+                ? student.getMinor().get().getName()
+                : null);
+        view.put("faculty", student.getFaculty().getName());
+        return view;
+    }
+
+    private Map<String, Object> studentDetails(Student student) {
+        Map<String, Object> view = studentView(student);
+        view.put("registeredCourses", student.getRegisteredCourses().stream().map(Course::getCourseID).toList());
+        Map<String, Object> grades = new LinkedHashMap<>();
+        student.getCompletedCoursesGrades().forEach((course, grade) -> grades.put(course.getCourseID(), grade));
+        view.put("completedCourses", grades);
+        view.put("creditLoad", student.getCreditLoad());
+        return view;
+    }
+
+    private Map<String, Object> teacherView(Teacher teacher) {
+        Map<String, Object> view = personView(teacher);
+        view.put("specialization", teacher.getSpecialization().getName());
+        view.put("courses", teacher.getRegisteredCourses().stream().map(Course::getCourseID).toList());
+        return view;
+    }
+
+    private Map<String, Object> personView(Person person) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", person.getId());
+        view.put("name", person.getName());
+        view.put("email", person.getEmail());
+        return view;
+    }
+
+    private Map<String, Object> courseView(Course course) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", course.getCourseID());
+        view.put("name", course.getCourseName());
+        view.put("faculty", course.getCourseFaculty().getName());
+        view.put("type", course.getCourseType());
+        view.put("creditHours", course.getCreditHours());
+        view.put("capacity", course.getCapacity());
+        view.put("enrolledCount", course.getEnrolledStudents().size());
+        view.put("teacher", course.getTeacher().map(Person::getId).orElse(null));
+        view.put("prerequisites", course.getPrerequisites().stream().map(Course::getCourseID).toList());
+        List<Object> meetings = new ArrayList<>();
+        for (WeeklyMeeting wm : course.getWeeklyMeetings()) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("day", wm.getDay());
+            m.put("start", wm.getHour().toString());
+            m.put("duration", wm.getDuration().toMinutes());
+            m.put("room", wm.getRoom());
+            meetings.add(m);
+        }
+        view.put("meetings", meetings);
+        return view;
+    }
+
+    private <T> Map<String, Object> page(Collection<T> items, Map<String, String> query,
+            Function<T, Map<String, Object>> view) {
+        int offset = Math.max(0, Integer.parseInt(query.getOrDefault("offset", "0")));
+        int limit = Math.min(MAX_LIMIT, Math.max(0, Integer.parseInt(query.getOrDefault("limit",
+                String.valueOf(DEFAULT_LIMIT)))));
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("total", items.size());
+        page.put("offset", offset);
+        page.put("limit", limit);
+        page.put("items", items.stream().skip(offset).limit(limit).map(view).toList());
+        return page;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+
+    private Semester findSemester(String name) {
+        return RegistrarDriver.semesters.find(name)
+                .orElseThrow(() -> new NoSuchElementException("Semester not found: " + name));
+    }
+
+    private Student findStudent(String id) {
+        Student student = RegistrarDriver.students.get(Integer.parseInt(id));
+        if (student == null) {
+            throw new NoSuchElementException("Student not found: " + id);
+        }
+        return student;
+    }
+
+    private Teacher findTeacher(String id) {
+        Teacher teacher = RegistrarDriver.teachers.get(Integer.parseInt(id));
+        if (teacher == null) {
+            throw new NoSuchElementException("Teacher not found: " + id);
+        }
+        return teacher;
+    }
+
+    private Course findCourse(String id) {
+        Course course = RegistrarDriver.courses.get(id);
+        if (course == null) {
+            throw new NoSuchElementException("Course not found: " + id);
+        }
+        return course;
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private static String string(Map<String, Object> body, String key) {
+        String value = optionalString(body, key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing field " + key);
+        }
+        return value;
+    }
+
+    private static String optionalString(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    private static long number(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        if (value instanceof Number n) {
+            return n.longValue();
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Missing field " + key);
+        }
+        return Long.parseLong(value.toString());
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<String> segments(String rawPath) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : rawPath.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+        return segments;
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+}
@@ -0,0 +1,141 @@
+package object_orienters;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-operation counts, error counts and latency histograms for the
+ * registrar's menu actions and hot paths.
+ * Every operation is identified by a name such as "action7" or
+ * "Semester.registerInACourse". Recording never takes a lock.
+ */
+public class RegistrarMetrics {
+    private static final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    private RegistrarMetrics() {
+    }
+
+    /**
+     * Records one successful execution of an operation.
+     *
+     * @param name  The name of the operation.
+     * @param nanos How long the operation took, in nanoseconds.
+     */
+    public static void record(String name, long nanos) {
+        statsOf(name).latencies.record(nanos);
+    }
+
+    /**
+     * Records one failed execution of an operation.
+     *
+     * @param name  The name of the operation.
+     * @param nanos How long the operation ran before failing, in nanoseconds.
+     */
+    public static void recordError(String name, long nanos) {
+        Stats s = statsOf(name);
+        s.latencies.record(nanos);
+        s.errors.increment();
+    }
+
+    /**
+     * Wraps an action so every run of it is timed under the given name.
+     * An exception thrown by the action is counted as an error and rethrown.
+     *
+     * @param name   The name of the operation.
+     * @param action The action to time.
+     * @return A runnable that runs and times the action.
+     */
+    public static Runnable timed(String name, Runnable action) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                action.run();
+            } catch (RuntimeException | Error e) {
+                recordError(name, System.nanoTime() - start);
+                throw e;
+            }
+            record(name, System.nanoTime() - start);
+        };
+    }
+
+    /**
+     * Retrieves the latency histogram of an operation.
+     *
+     * @param name The name of the operation.
+     * @return The histogram of the operation, empty if it never ran.
+     */
+    public static LatencyHistogram getHistogram(String name) {
+        Stats s = stats.get(name);
+        return s == null ? new LatencyHistogram() : s.latencies;
+    }
+
+    /**
+     * Retrieves the number of failed executions of an operation.
+     *
+     * @param name The name of the operation.
+     * @return The number of errors recorded for the operation.
+     */
+    public static long getErrors(String name) {
+        Stats s = stats.get(name);
+        return s == null ? 0 : s.errors.sum();
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public static void reset() {
+        stats.clear();
+    }
+
+    /**
+     * Generates a table of every operation with its count, errors and latency
+     * percentiles in milliseconds, sorted by name.
+     *
+     * @return A formatted string of the collected statistics.
+     */
+    public static String report() {
+        if (stats.isEmpty()) {
+            return "No statistics recorded yet\n";
+        }
+        StringBuilder report = new StringBuilder(String.format("%-40s %8s %7s %10s %10s %10s %10s %10s%n",
+                "Operation", "Count", "Errors", "Mean(ms)", "p50(ms)", "p90(ms)", "p99(ms)", "Max(ms)"));
+        new TreeMap<>(stats).forEach((name, s) -> {
+            LatencyHistogram h = s.latencies;
+            report.append(String.format("%-40s %8d %7d %10.3f %10.3f %10.3f %10.3f %10.3f%n", name,
+                    h.getCount(), s.errors.sum(), h.getMean() / 1e6, h.getValueAtPercentile(50) / 1e6,
+                    h.getValueAtPercentile(90) / 1e6, h.getValueAtPercentile(99) / 1e6, h.getMax() / 1e6));
+        });
+        return report.toString();
+    }
+
+    /**
+     * Writes the statistics table to a file, replacing its content.
+     *
+     * @param file The file to write to.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void dump(Path file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            writer.print(report());
+        }
+    }
+
+    private static Stats statsOf(String name) {
+        return stats.computeIfAbsent(name, n -> new Stats());
+    }
+
+    /**
+     * The statistics collected for a single operation.
+     */
+    private static class Stats {
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,281 @@
+package object_orienters;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The messages the domain objects report while they work, such as a student
+ * registered in a course or a registration refused.
+ * Reporting a message only queues it; a background thread takes the queued
+ * messages in batches and writes each batch to the console in one go, and to a
+ * file if one is set, so registering hundreds of students never waits for the
+ * terminal. The queue is bounded: when it is full, informational messages are
+ * dropped and the number dropped is reported with the next batch, while errors
+ * wait for room so none is ever lost.
+ * In quiet mode only errors reach the console, and in silent mode nothing
+ * does; messages that would reach neither the console nor a file are not
+ * queued at all.
+ */
+public class RegistrarOutput {
+    /**
+     * The number of messages queued before new informational ones are dropped.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final int BATCH_SIZE = 512;
+
+    private static final RegistrarOutput instance = new RegistrarOutput(DEFAULT_CAPACITY);
+
+    /**
+     * How important a message is.
+     */
+    public enum Level {
+        INFO, ERROR
+    }
+
+    /**
+     * Which messages are written to the console.
+     */
+    public enum Mode {
+        /** Every message. */
+        NORMAL,
+        /** Only errors. */
+        QUIET,
+        /** None. */
+        SILENT
+    }
+
+    /**
+     * A message reported by a domain object.
+     *
+     * @param level The message's level.
+     * @param text  The message.
+     */
+    public record Message(Level level, String text) {
+        @Override
+        public String toString() {
+            return level + " " + text;
+        }
+    }
+
+    private final BlockingQueue<Message> queue;
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Object progress = new Object();
+    private long written;
+    private volatile Mode mode = Mode.NORMAL;
+    private volatile Writer file;
+
+    /**
+     * Constructs a new RegistrarOutput and starts its writer thread.
+     *
+     * @param capacity The number of messages queued before new informational
+     *                 ones are dropped.
+     */
+    RegistrarOutput(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        Thread writer = new Thread(this::drain, "registrar-output");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Retrieves the output the domain objects report to.
+     *
+     * @return The registrar's output.
+     */
+    public static RegistrarOutput getInstance() {
+        return instance;
+    }
+
+    /**
+     * Reports what an operation did.
+     *
+     * @param text The message.
+     */
+    public void info(String text) {
+        report(Level.INFO, text);
+    }
+
+    /**
+     * Reports why an operation was refused or failed.
+     *
+     * @param text The message.
+     */
+    public void error(String text) {
+        report(Level.ERROR, text);
+    }
+
+    /**
+     * Reports a message. An error reported while the queue is full waits until
+     * the writer thread makes room; an informational message is dropped.
+     *
+     * @param level The message's level.
+     * @param text  The message.
+     */
+    public void report(Level level, String text) {
+        if (file == null && !showsOnConsole(level)) {
+            return;
+        }
+        Message message = new Message(level, text);
+        if (queue.offer(message)) {
+            queued.incrementAndGet();
+        } else if (level == Level.ERROR) {
+            put(message);
+            queued.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    // Queues a message however long it takes, keeping the interrupt for the caller
+    private void put(Message message) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(message);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until every message reported so far is written.
+     */
+    public void flush() {
+        long target = queued.get();
+        synchronized (progress) {
+            while (written < target) {
+                try {
+                    progress.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the mode of the console.
+     *
+     * @return The mode.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets which messages are written to the console from now on.
+     *
+     * @param mode The mode.
+     */
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Writes every message to a file as well, appending to it, after the
+     * messages already reported are written where they were meant to go.
+     * Replaces the current file, if any.
+     *
+     * @param path The file, or null to stop writing to a file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public void setFile(Path path) throws IOException {
+        flush();
+        Writer next = path == null ? null
+                : Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+        synchronized (this) {
+            if (file != null) {
+                file.close();
+            }
+            file = next;
+        }
+    }
+
+    /**
+     * Retrieves the number of informational messages dropped because the queue
+     * was full.
+     *
+     * @return The number of dropped messages.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private boolean showsOnConsole(Level level) {
+        Mode current = mode;
+        return current == Mode.NORMAL || (current == Mode.QUIET && level == Level.ERROR);
+    }
+
+    // The writer thread: takes the messages in batches and writes each batch at once
+    private void drain() {
+        List<Message> batch = new ArrayList<>(BATCH_SIZE);
+        long reportedDrops = 0;
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            long drops = dropped.get();
+            if (drops > reportedDrops) {
+                batch.add(0, new Message(Level.ERROR, (drops - reportedDrops) + " messages were dropped"));
+                reportedDrops = drops;
+                write(batch);
+                batch.remove(0);
+            } else {
+                write(batch);
+            }
+            synchronized (progress) {
+                written += batch.size();
+                progress.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<Message> batch) {
+        StringBuilder console = new StringBuilder();
+        StringBuilder lines = new StringBuilder();
+        for (Message message : batch) {
+            if (showsOnConsole(message.level())) {
+                console.append(message.text()).append(System.lineSeparator());
+            }
+            lines.append(message).append(System.lineSeparator());
+        }
+        if (console.length() > 0) {
+            PrintStream out = System.out;
+            out.print(console);
+            out.flush();
+        }
+        synchronized (this) {
+            if (file != null) {
+                try {
+                    file.write(lines.toString());
+                    file.flush();
+                } catch (IOException e) {
+                    System.err.println("Cannot write the output file: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package object_orienters;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A materialized view of the registrar built by applying domain events in
+ * order.
+ * Unlike the domain objects, the view keeps every completed course together
+ * with the teacher who taught it. Teachers and enrollments are kept per
+ * offering, so the same course taught in several semesters is tracked
+ * separately in each.
+ */
+public class RegistrarView {
+
+    // A course as offered in one semester
+    private record Offering(String semester, String courseId) {
+    }
+
+    /**
+     * A completed course on a student's transcript.
+     *
+     * @param courseId  The course ID.
+     * @param teacherId The ID of the teacher who taught the course, or -1 if none
+     *                  was assigned.
+     * @param points    The grade points.
+     * @param date      The date the grade was entered.
+     */
+    public record Grade(String courseId, int teacherId, double points, LocalDate date) {
+    }
+
+    private final Map<Integer, String> students;
+    private final Map<Offering, Integer> teachers;
+    private final Map<Offering, Set<Integer>> enrollments;
+    private final Map<Integer, Map<String, Grade>> transcripts;
+    private long applied;
+
+    /**
+     * Creates an empty view.
+     */
+    public RegistrarView() {
+        this.students = new HashMap<>();
+        this.teachers = new HashMap<>();
+        this.enrollments = new HashMap<>();
+        this.transcripts = new HashMap<>();
+    }
+
+    // Deep copy, used for checkpoints
+    private RegistrarView(RegistrarView other) {
+        this.students = new HashMap<>(other.students);
+        this.teachers = new HashMap<>(other.teachers);
+        this.enrollments = new HashMap<>(other.enrollments.size() * 2);
+        other.enrollments.forEach((offering, ids) -> enrollments.put(offering, new LinkedHashSet<>(ids)));
+        this.transcripts = new HashMap<>(other.transcripts.size() * 2);
+        other.transcripts.forEach((id, grades) -> transcripts.put(id, new HashMap<>(grades)));
+        this.applied = other.applied;
+    }
+
+    /**
+     * Creates an independent copy of the view.
+     *
+     * @return The copy.
+     */
+    public RegistrarView copy() {
+        return new RegistrarView(this);
+    }
+
+    /**
+     * Applies an event to the view.
+     *
+     * @param event The event to apply.
+     */
+    public void apply(DomainEvent event) {
+        switch (event) {
+            case DomainEvent.StudentAdmitted e -> students.put(e.studentId(), e.name());
+            case DomainEvent.CourseRegistered e ->
+                teachers.put(new Offering(e.semester(), e.courseId()), e.teacherId());
+            case DomainEvent.StudentEnrolled e -> enrollments
+                    .computeIfAbsent(new Offering(e.semester(), e.courseId()), k -> new LinkedHashSet<>())
+                    .add(e.studentId());
+            case DomainEvent.StudentUnenrolled e -> unenroll(new Offering(e.semester(), e.courseId()), e.studentId());
+            case DomainEvent.TeacherUnassigned e ->
+                teachers.remove(new Offering(e.semester(), e.courseId()), e.teacherId());
+            case DomainEvent.GradeEntered e -> {
+                // The offering keeps its teacher for the students graded after this one
+                unenroll(new Offering(e.semester(), e.courseId()), e.studentId());
+                transcripts.computeIfAbsent(e.studentId(), k -> new HashMap<>())
+                        .put(e.courseId(), new Grade(e.courseId(), e.teacherId(), e.points(), e.date()));
+            }
+            case DomainEvent.GradeRemoved e -> {
+                Map<String, Grade> grades = transcripts.get(e.studentId());
+                if (grades != null) {
+                    grades.remove(e.courseId());
+                }
+            }
+        }
+        applied++;
+    }
+
+    private void unenroll(Offering offering, int studentId) {
+        Set<Integer> enrolled = enrollments.get(offering);
+        if (enrolled != null && enrolled.remove(studentId) && enrolled.isEmpty()) {
+            enrollments.remove(offering);
+        }
+    }
+
+    /**
+     * Retrieves the number of events applied to the view.
+     *
+     * @return The number of applied events.
+     */
+    public long getAppliedEvents() {
+        return applied;
+    }
+
+    /**
+     * Retrieves the number of admitted students.
+     *
+     * @return The number of students.
+     */
+    public int getStudentCount() {
+        return students.size();
+    }
+
+    /**
+     * Retrieves the name of a student.
+     *
+     * @param studentId The student's ID.
+     * @return The student's name, or an empty Optional if not admitted.
+     */
+    public Optional<String> getStudentName(int studentId) {
+        return Optional.ofNullable(students.get(studentId));
+    }
+
+    /**
+     * Retrieves the teacher assigned to a course in a semester.
+     *
+     * @param semester The semester name.
+     * @param courseId The course ID.
+     * @return The teacher's ID, or an empty Optional if none is assigned.
+     */
+    public Optional<Integer> getTeacher(String semester, String courseId) {
+        return Optional.ofNullable(teachers.get(new Offering(semester, courseId)));
+    }
+
+    /**
+     * Retrieves the students currently enrolled in a course in a semester.
+     *
+     * @param semester The semester name.
+     * @param courseId The course ID.
+     * @return An unmodifiable set of student IDs, in enrollment order.
+     */
+    public Set<Integer> getEnrolledStudents(String semester, String courseId) {
+        return Collections.unmodifiableSet(enrollments.getOrDefault(new Offering(semester, courseId), Set.of()));
+    }
+
+    /**
+     * Retrieves the completed courses of a student.
+     *
+     * @param studentId The student's ID.
+     * @return An unmodifiable map of course IDs to grades.
+     */
+    public Map<String, Grade> getTranscript(int studentId) {
+        return Collections.unmodifiableMap(transcripts.getOrDefault(studentId, Map.of()));
+    }
+}
@@ -0,0 +1,129 @@
+package object_orienters;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the rendered academic reports of the most recently listed students.
+ * Each report is stored with the student's version at the time it was
+ * rendered; registering, leaving a course and entering a grade raise the
+ * version, so a stale report is never served and is rendered again on the next
+ * request. When the cache is full the least recently used report is dropped.
+ * Reports also show course details, so renaming a course or adding a
+ * prerequisite raises the version of the people in its offerings. A report
+ * whose student changed while it was being rendered is returned but not kept.
+ */
+public final class ReportCache {
+    /**
+     * The number of reports kept by the shared cache.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final ReportCache instance = new ReportCache(DEFAULT_CAPACITY);
+
+    private record Entry(int version, String report) {
+    }
+
+    private final int capacity;
+    private final LinkedHashMap<Integer, Entry> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity The largest number of reports kept.
+     */
+    public ReportCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                return size() > ReportCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the cache used by the registrar's listings.
+     *
+     * @return The shared report cache.
+     */
+    public static ReportCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Retrieves a student's academic report, rendering it only if the student
+     * changed since it was last rendered.
+     *
+     * @param student The student.
+     * @return The student's current report.
+     */
+    public String getReport(Student student) {
+        int version = student.getVersion();
+        synchronized (this) {
+            Entry entry = entries.get(student.getId());
+            if (entry != null && entry.version() == version) {
+                hits++;
+                return entry.report();
+            }
+            misses++;
+        }
+        long start = System.nanoTime();
+        String report = student.getReport();
+        RegistrarMetrics.record("ReportCache.render", System.nanoTime() - start);
+        synchronized (this) {
+            if (student.getVersion() == version) {
+                entries.put(student.getId(), new Entry(version, report));
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Drops a student's report.
+     *
+     * @param student The student.
+     */
+    public synchronized void invalidate(Student student) {
+        entries.remove(student.getId());
+    }
+
+    /**
+     * Drops every report.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Retrieves the number of reports kept.
+     *
+     * @return The number of reports.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieves the number of requests served without rendering.
+     *
+     * @return The number of hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Retrieves the number of requests that rendered a report.
+     *
+     * @return The number of misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,288 @@
+package object_orienters;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * How much the rooms named by the weekly meetings of a set of courses are
+ * used.
+ * Every room gets a WeekBitmap of its booked minutes, built once from the
+ * courses, so occupancy is a bit count and a free-slot query is a few word
+ * tests per room.
+ * Rooms have no recorded size, so the seats of a room are taken to be the
+ * largest capacity of a course meeting in it.
+ * Occupancy is measured against the opening hours of every day from Monday to
+ * Friday.
+ */
+public class RoomUtilization {
+    /**
+     * The time rooms open by default.
+     */
+    public static final LocalTime DEFAULT_OPEN = LocalTime.of(8, 0);
+
+    /**
+     * The time rooms close by default.
+     */
+    public static final LocalTime DEFAULT_CLOSE = LocalTime.of(18, 0);
+
+    private static final List<DayOfWeek> WEEKDAYS = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY,
+            DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+
+    /**
+     * The booked and available minutes of a room on one day.
+     *
+     * @param room             The room.
+     * @param day              The day.
+     * @param bookedMinutes    The minutes booked within the opening hours.
+     * @param availableMinutes The minutes the room is open.
+     */
+    public record Occupancy(String room, DayOfWeek day, int bookedMinutes, int availableMinutes) {
+        /**
+         * Retrieves the share of the open minutes that are booked.
+         *
+         * @return The occupancy, between 0 and 1.
+         */
+        public double ratio() {
+            return availableMinutes == 0 ? 0 : (double) bookedMinutes / availableMinutes;
+        }
+    }
+
+    /**
+     * The number of room minutes booked in one hour of one day.
+     *
+     * @param day         The day.
+     * @param hour        The start of the hour.
+     * @param roomMinutes The booked minutes summed over all rooms.
+     */
+    public record Peak(DayOfWeek day, LocalTime hour, int roomMinutes) {
+    }
+
+    private static final class Room {
+        private final String name;
+        private final WeekBitmap booked = new WeekBitmap();
+        private int seats;
+        private int doubleBookedMinutes;
+
+        private Room(String name) {
+            this.name = name;
+        }
+    }
+
+    private final int open;
+    private final int close;
+    private final Map<String, Room> rooms;
+    // Rooms ordered by seats, so a query skips the rooms that are too small
+    private final Room[] bySeats;
+
+    /**
+     * Constructs the room utilization of a set of courses with the default
+     * opening hours.
+     *
+     * @param courses The courses whose weekly meetings book the rooms.
+     */
+    public RoomUtilization(Collection<Course> courses) {
+        this(courses, DEFAULT_OPEN, DEFAULT_CLOSE);
+    }
+
+    /**
+     * Constructs the room utilization of a set of courses.
+     *
+     * @param courses The courses whose weekly meetings book the rooms.
+     * @param open    The time rooms open every weekday.
+     * @param close   The time rooms close every weekday.
+     */
+    public RoomUtilization(Collection<Course> courses, LocalTime open, LocalTime close) {
+        if (!open.isBefore(close)) {
+            throw new IllegalArgumentException("Rooms must open before they close");
+        }
+        this.open = WeekBitmap.minuteOf(open);
+        this.close = WeekBitmap.minuteOf(close);
+        this.rooms = new HashMap<>();
+        for (Course course : courses) {
+            for (WeeklyMeeting meeting : course.getWeeklyMeetings()) {
+                Room room = rooms.computeIfAbsent(meeting.getRoom(), Room::new);
+                room.seats = Math.max(room.seats, course.getCapacity());
+                room.doubleBookedMinutes += room.booked.add(meeting);
+            }
+        }
+        this.bySeats = rooms.values().stream()
+                .sorted(Comparator.comparingInt((Room r) -> r.seats).thenComparing(r -> r.name))
+                .toArray(Room[]::new);
+    }
+
+    /**
+     * Retrieves the names of all rooms, ordered by name.
+     *
+     * @return The rooms.
+     */
+    public List<String> getRooms() {
+        return rooms.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * Retrieves the number of seats assumed for a room.
+     *
+     * @param room The room.
+     * @return The largest capacity of a course meeting in the room.
+     * @throws IllegalArgumentException If no course meets in the room.
+     */
+    public int getSeats(String room) {
+        return room(room).seats;
+    }
+
+    /**
+     * Retrieves the number of minutes a room is booked by more than one
+     * meeting at once.
+     *
+     * @param room The room.
+     * @return The double-booked minutes in a week.
+     * @throws IllegalArgumentException If no course meets in the room.
+     */
+    public int getDoubleBookedMinutes(String room) {
+        return room(room).doubleBookedMinutes;
+    }
+
+    /**
+     * Retrieves the occupancy of a room on every weekday.
+     *
+     * @param room The room.
+     * @return The occupancy from Monday to Friday.
+     * @throws IllegalArgumentException If no course meets in the room.
+     */
+    public List<Occupancy> getOccupancy(String room) {
+        Room r = room(room);
+        return WEEKDAYS.stream()
+                .map(day -> new Occupancy(room, day, r.booked.count(day, open, close), close - open))
+                .toList();
+    }
+
+    /**
+     * Retrieves the occupancy of a room over the whole week.
+     *
+     * @param room The room.
+     * @return The share of the room's open minutes that are booked.
+     * @throws IllegalArgumentException If no course meets in the room.
+     */
+    public double getUtilization(String room) {
+        Room r = room(room);
+        int booked = WEEKDAYS.stream().mapToInt(day -> r.booked.count(day, open, close)).sum();
+        return (double) booked / (WEEKDAYS.size() * (close - open));
+    }
+
+    /**
+     * Retrieves all rooms ordered from the least to the most used.
+     *
+     * @return The rooms by weekly utilization.
+     */
+    public List<String> getRoomsByUtilization() {
+        Map<String, Double> utilization = rooms.keySet().stream()
+                .collect(Collectors.toMap(r -> r, this::getUtilization));
+        return utilization.keySet().stream()
+                .sorted(Comparator.comparingDouble((String r) -> utilization.get(r)).thenComparing(r -> r))
+                .toList();
+    }
+
+    /**
+     * Retrieves the busiest hours of the week, counting the booked minutes of
+     * all rooms in each opening hour.
+     *
+     * @param limit The largest number of hours returned.
+     * @return The busiest hours, busiest first.
+     */
+    public List<Peak> getPeakHours(int limit) {
+        List<Peak> peaks = new ArrayList<>();
+        for (DayOfWeek day : WEEKDAYS) {
+            for (int hour = open; hour < close; hour += 60) {
+                int from = hour;
+                int to = Math.min(close, hour + 60);
+                int minutes = Arrays.stream(bySeats).mapToInt(r -> r.booked.count(day, from, to)).sum();
+                peaks.add(new Peak(day, LocalTime.of(hour / 60, hour % 60), minutes));
+            }
+        }
+        return peaks.stream()
+                .sorted(Comparator.comparingInt(Peak::roomMinutes).reversed()
+                        .thenComparing(Peak::day).thenComparing(Peak::hour))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Finds the rooms that are free for a whole time range and have enough
+     * seats.
+     *
+     * @param day   The day.
+     * @param start The start of the range.
+     * @param end   The end of the range, excluded.
+     * @param seats The number of seats needed.
+     * @return The free rooms, smallest first.
+     */
+    public List<String> findFreeRooms(DayOfWeek day, LocalTime start, LocalTime end, int seats) {
+        int from = WeekBitmap.minuteOf(start);
+        int to = WeekBitmap.minuteOf(end);
+        List<String> free = new ArrayList<>();
+        for (int i = firstWithSeats(seats); i < bySeats.length; i++) {
+            if (bySeats[i].booked.isFree(day, from, to)) {
+                free.add(bySeats[i].name);
+            }
+        }
+        return free;
+    }
+
+    // Index of the first room with at least the given number of seats
+    private int firstWithSeats(int seats) {
+        int low = 0;
+        int high = bySeats.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bySeats[mid].seats < seats) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Room room(String name) {
+        Room room = rooms.get(name);
+        if (room == null) {
+            throw new IllegalArgumentException("No course meets in room " + name);
+        }
+        return room;
+    }
+
+    /**
+     * Generates a summary of the least and most used rooms and the busiest
+     * hours.
+     *
+     * @return A formatted string of the summary.
+     */
+    @Override
+    public String toString() {
+        List<String> ordered = getRoomsByUtilization();
+        StringBuilder sb = new StringBuilder("Rooms: " + ordered.size());
+        sb.append("\nLeast used:");
+        ordered.stream().limit(5).forEach(r -> sb.append(summary(r)));
+        sb.append("\nMost used:");
+        ordered.reversed().stream().limit(5).forEach(r -> sb.append(summary(r)));
+        sb.append("\nPeak hours:");
+        getPeakHours(5).forEach(p -> sb.append("\n  ").append(p.day()).append(' ').append(p.hour())
+                .append(": ").append(p.roomMinutes()).append(" room minutes"));
+        return sb.toString();
+    }
+
+    private String summary(String room) {
+        return String.format("%n  %s: %.1f%% of %d open minutes, %d seats%s", room, 100 * getUtilization(room),
+                WEEKDAYS.size() * (close - open), getSeats(room),
+                getDoubleBookedMinutes(room) > 0 ? ", " + getDoubleBookedMinutes(room) + " minutes double-booked"
+                        : "");
+    }
+}
@@ -1,10 +1,23 @@
 package object_orienters;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Represents a semester at the university.
@@ -12,6 +25,10 @@ import java.util.Set;
  * A semester can also have a name, start date, and end date.
  * A semester can be a Fall, Spring, or Summer semester.
  * A semester can also have a length in weeks.
+ * Every course registered in a semester gets its own CourseOffering holding the
+ * teacher and students of that semester. Once a semester is over it can be
+ * archived: its offerings are written to a SemesterArchive file and dropped
+ * from memory, and the archive is read back when it is asked for.
  */
 public class Semester {
 
@@ -21,11 +38,17 @@ public class Semester {
     private LocalDate semesterEndDate;
     private Set<Student> students;
     private Set<Teacher> teachers;
-    private Set<Course> courses;
+    private final Map<Course, CourseOffering> offerings;
+    private final ConflictMatrix conflictMatrix;
+    private final AtomicReference<SemesterSnapshot> snapshot;
     private final long weeksNumber;
     private boolean isFall;
     private boolean isSpring;
     private boolean isSummer;
+    private Path archiveFile;
+    private SoftReference<SemesterArchive> archive = new SoftReference<>(null);
+    private Consumer<Semester> stateListener = semester -> {
+    };
 
     /**
      * Constructs a new Semester with specified start and end dates.
@@ -45,11 +68,13 @@ public class Semester {
         this.semesterName = this.name + " - " + semesterStartDate.getYear();
         this.students = new HashSet<>();
         this.teachers = new HashSet<>();
-        this.courses = new HashSet<>();
+        this.offerings = new LinkedHashMap<>();
+        this.conflictMatrix = new ConflictMatrix();
         this.isFall = this.name.equals("Fall");
         this.isSpring = this.name.equals("Spring");
         this.isSummer = this.name.equals("Summer");
         this.weeksNumber = calculateWeeksBetween(semesterStartDate, semesterEndDate);
+        this.snapshot = new AtomicReference<>(SemesterSnapshot.empty(this));
 
     }
 
@@ -71,89 +96,159 @@ public class Semester {
      */
     // TESTED SUCCESSFULLY
     public void registerInACourse(Course course, List<Student> lStudents, Teacher teacher) {
+        RegistrarEvents.Registration event = new RegistrarEvents.Registration();
+        event.begin();
+        int enrolledBefore = getOffering(course).map(o -> o.getEnrolledStudents().size()).orElse(0);
+        RegistrarMetrics.timed("Semester.registerInACourse", () -> register(course, lStudents, teacher, event)).run();
+        List<Person> people = new ArrayList<>(lStudents);
+        people.add(teacher);
+        publish(course, people);
+        if (event.shouldCommit()) {
+            event.semester = semesterName;
+            event.course = course.getCourseID();
+            event.requested = lStudents.size();
+            event.accepted = getOffering(course).map(o -> o.getEnrolledStudents().size()).orElse(0)
+                    - enrolledBefore;
+            event.commit();
+        }
+    }
+
+    // Body of registerInACourse, timed by the public method and reported to the event
+    private void register(Course course, List<Student> lStudents, Teacher teacher,
+            RegistrarEvents.Registration event) {
+        if (isArchived()) {
+            RegistrarOutput.getInstance().error("Error registering " + course.getCourseName() + " because " + semesterName
+                    + " is archived");
+            event.outcome = "archived";
+            return;
+        }
 
-        boolean isNewCourse = courses.stream().noneMatch(e -> e.getCourseID().equalsIgnoreCase(course.getCourseID()));
+        boolean isNewCourse = offerings.keySet().stream()
+                .noneMatch(e -> e.getCourseID().equalsIgnoreCase(course.getCourseID()));
+        CourseOffering offering = offerings.get(course);
 
         // Add new course to the semester if it doesn't already exist
         if (isNewCourse) {
             // Check for room conflict
-            boolean roomConflict = courses.stream()
+            boolean roomConflict = offerings.keySet().stream()
                     .flatMap(e -> e.getWeeklyMeetings()
                     .stream())
                     .anyMatch(wm -> course.getWeeklyMeetings().stream().anyMatch(wm2 -> wm2.hasRoomConflict(wm)));
 
             if (roomConflict) {
-                System.out.println("Error registering " + course.getCourseName() + " because another course has a conflict with the room");
+                RegistrarOutput.getInstance().error("Error registering " + course.getCourseName() + " because another course has a conflict with the room");
+                event.outcome = "room conflict";
                 return;
             }
 
         
 
             // Check if teacher is free
-            if (!teacher.isFreeOn(course.getWeeklyMeetings())) {
-                System.out.println("Error registering " + course.getCourseName() + " because the teacher has a conflict with course Weekly Meetings");
+            if (!isFreeFor(teacher, course)) {
+                RegistrarOutput.getInstance().error("Error registering " + course.getCourseName() + " because the teacher has a conflict with course Weekly Meetings");
+                event.outcome = "teacher busy";
                 return;
             }
 
+            // Add the course to the semester's course list
+            offering = offer(course);
+
             // Assign the teacher to the course and add the course to the teacher's registered courses
-            course.setTeacher(teacher);
+            offering.setTeacher(teacher);
             teacher.getRegisteredCourses().add(course);
             this.teachers.add(teacher);
-
-            // Add the course to the semester's course list
-            this.courses.add(course);
+            recordCourseRegistered(course, teacher);
         }
 
         // For existing courses, check if the same teacher is already assigned
-        else if (course.getTeacher().map(existingTeacher -> !existingTeacher.equals(teacher)).orElse(false)) {
-            System.out.println("Error registering " + course.getCourseName() + " because it already has a different teacher assigned.");
+        else if (offering != null
+                && offering.getTeacher().map(existingTeacher -> !existingTeacher.equals(teacher)).orElse(false)) {
+            RegistrarOutput.getInstance().error("Error registering " + course.getCourseName() + " because it already has a different teacher assigned.");
+            event.outcome = "different teacher";
             return;
         }
 
         // Assign the teacher to the course and add the course to the teacher's
         // registered courses
-        course.setTeacher(teacher);
+        offering = offer(course);
+        if (offering.getTeacher().isEmpty()) {
+            recordCourseRegistered(course, teacher);
+        }
+        offering.setTeacher(teacher);
         teacher.getRegisteredCourses().add(course);
         this.teachers.add(teacher);
 
+        event.outcome = "registered";
+
         // Check if prerequisites are met
-        lStudents.stream().filter(e -> !e.preRequisitesCheck(course)).forEach(student -> {
-            System.out.println("Prerequisites need to be completed for " + student.getId() + ": "
+        List<Student> missingPrerequisites = lStudents.stream().filter(e -> !e.preRequisitesCheck(course)).toList();
+        missingPrerequisites.forEach(student -> {
+            RegistrarOutput.getInstance().error("Prerequisites need to be completed for " + student.getId() + ": "
                     + student.getName() + "> to register in " + course.getCourseName());
         });
+        event.rejectedPrerequisites = missingPrerequisites.size();
 
         // Check if student is free on weekly meetings
-        lStudents.stream().filter(e -> !e.isFreeOn(course.getWeeklyMeetings())).forEach(student -> {
-            System.out.println("Error registering " + student.getId() + " " + student.getName() + " in "
+        List<Student> conflicting = lStudents.stream().filter(e -> !isFreeFor(e, course)).toList();
+        conflicting.forEach(student -> {
+            RegistrarOutput.getInstance().error("Error registering " + student.getId() + " " + student.getName() + " in "
                     + course.getCourseName() + " because of conflict");
         });
+        event.rejectedConflicts = conflicting.size();
 
         // Register students who meet all criteria
         for (Student student : lStudents) {
-            if (student.isFreeOn(course.getWeeklyMeetings()) && student.preRequisitesCheck(course)
-                    && !course.isFull()) {
-                course.enrollStudent(student);
-                student.addRegisteredCourse(course);
-                System.out.println(
-                        student.getId() + " " + student.getName() + " registered in " + course.getCourseName());
-                this.students.add(student);
+            if (isFreeFor(student, course) && student.preRequisitesCheck(course)) {
+                if (offering.isFull()) {
+                    event.rejectedFull++;
+                    continue;
+                }
+                enroll(offering, student);
             }
         }
 
-        this.courses.add(course);
-
         // Register the new list of students to the course using streams and lambdas
+        CourseOffering section = offering;
         lStudents.stream()
-                .filter(student -> !course.getEnrolledStudents().contains(student) &&
-                        student.isFreeOn(course.getWeeklyMeetings()) &&
+                .filter(student -> !section.getEnrolledStudents().contains(student) &&
+                        isFreeFor(student, course) &&
                         student.preRequisitesCheck(course) &&
-                        !course.isFull())
-                .forEach(student -> {
-                    course.enrollStudent(student);
-                    student.addRegisteredCourse(course);
-                    System.out.println(student.getId() + " " + student.getName() + " registered in " + course.getCourseName());
-                    this.students.add(student);
-                });
+                        !section.isFull())
+                .forEach(student -> enroll(section, student));
+    }
+
+    // The semester's offering of a course, created the first time it is needed
+    private CourseOffering offer(Course course) {
+        CourseOffering offering = offerings.get(course);
+        if (offering == null) {
+            offering = new CourseOffering(course, this);
+            offerings.put(course, offering);
+            course.addOffering(offering);
+            conflictMatrix.add(course);
+            if (offerings.size() == 1) {
+                stateListener.accept(this);
+            }
+        }
+        return offering;
+    }
+
+    // Enrolls a student who passed all checks and records it in the event log
+    private void enroll(CourseOffering offering, Student student) {
+        Course course = offering.getCourse();
+        offering.enroll(student);
+        // A course retaken from an earlier semester is already registered
+        if (!student.getRegisteredCourses().contains(course)) {
+            student.addRegisteredCourse(course);
+        }
+        RegistrarOutput.getInstance().info(student.getId() + " " + student.getName() + " registered in " + course.getCourseName());
+        this.students.add(student);
+        RegistrarEventLog.record(today -> new DomainEvent.StudentEnrolled(today, semesterName, course.getCourseID(),
+                student.getId()));
+    }
+
+    private void recordCourseRegistered(Course course, Teacher teacher) {
+        RegistrarEventLog.record(today -> new DomainEvent.CourseRegistered(today, semesterName, course.getCourseID(),
+                teacher.getId()));
     }
 
 
@@ -178,38 +273,151 @@ public class Semester {
      *                             participants.
      */
     public void unregisterInACourse(Course course, List<Student> studentsToUnregister, boolean unregisterTeacher) {
-        if (!courses.contains(course)) {
-            System.out.println("Course with ID: " + course.getCourseID() + " is not registered in this semester.");
+        CourseOffering offering = offerings.get(course);
+        if (offering == null) {
+            RegistrarOutput.getInstance().error("Course with ID: " + course.getCourseID() + " is not registered in this semester.");
             return;
         }
+        List<Person> people = new ArrayList<>(studentsToUnregister);
+        offering.getTeacher().ifPresent(people::add);
 
         // Unenroll specified students from the course
         studentsToUnregister.stream()
-                .filter(student -> course.getEnrolledStudents().contains(student))
+                .filter(student -> offering.getEnrolledStudents().contains(student))
                 .forEach(student -> {
-                    course.getEnrolledStudents().remove(student);
-                    student.getRegisteredCourses().remove(course);
+                    offering.unenroll(student);
+                    if (!takesPartElsewhere(student, course)) {
+                        student.getRegisteredCourses().remove(course);
+                    }
                     this.students.remove(student);
+                    RegistrarEventLog.record(today -> new DomainEvent.StudentUnenrolled(today, semesterName,
+                            course.getCourseID(), student.getId()));
 
-                    System.out.println("Student " + student.getId() + " " + student.getName() + " unregistered from " + course.getCourseName());
+                    RegistrarOutput.getInstance().info("Student " + student.getId() + " " + student.getName() + " unregistered from " + course.getCourseName());
                 });
 
 
         // Unassign the teacher from the course
-        if (unregisterTeacher && course.getTeacher().isPresent()) {
-            Teacher teacher = course.getTeacher().get();
-            teacher.getRegisteredCourses().remove(course);
+        if (unregisterTeacher && offering.getTeacher().isPresent()) {
+            Teacher teacher = offering.getTeacher().get();
+            if (!takesPartElsewhere(teacher, course)) {
+                teacher.getRegisteredCourses().remove(course);
+            }
             this.teachers.remove(teacher);
-            course.setTeacher(null);
-            System.out.println("Teacher " + teacher.getName() + " is unassigned from course " + course.getCourseName());
+            offering.setTeacher(null);
+            RegistrarEventLog.record(today -> new DomainEvent.TeacherUnassigned(today, semesterName,
+                    course.getCourseID(), teacher.getId()));
+            RegistrarOutput.getInstance().info("Teacher " + teacher.getName() + " is unassigned from course " + course.getCourseName());
         }
 
         // If there are no more students enrolled and the teacher is unassigned, remove
         // the course from the semester
-        if (course.getEnrolledStudents().isEmpty() && !course.getTeacher().isPresent()) {
-            courses.remove(course);
-            System.out.println("Course " + course.getCourseName() + " removed from the semester.");
+        if (offering.getEnrolledStudents().isEmpty() && !offering.getTeacher().isPresent()) {
+            offerings.remove(course);
+            course.removeOffering(offering);
+            conflictMatrix.remove(course);
+            if (offerings.isEmpty()) {
+                stateListener.accept(this);
+            }
+            RegistrarOutput.getInstance().info("Course " + course.getCourseName() + " removed from the semester.");
         }
+        publish(course, people);
+    }
+
+    /**
+     * Retrieves the latest published snapshot of the semester.
+     * The snapshot never changes once published, so it can be read from any
+     * thread without locking while registration continues.
+     *
+     * @return The latest snapshot.
+     */
+    public SemesterSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Publishes a fully rebuilt snapshot. Registration, unregistration, grades
+     * and changes to a course publish on their own; this is only needed after
+     * changing the people of the semester directly.
+     */
+    public void publishSnapshot() {
+        snapshot.updateAndGet(current -> current.rebuilt(this));
+    }
+
+    /**
+     * Publishes the next snapshot after a course of the semester or one of its
+     * people changed, without anyone joining or leaving the semester. Called by
+     * Course and Student.
+     *
+     * @param course The course that changed.
+     */
+    void publish(Course course) {
+        publish(course, List.of());
+    }
+
+    // Publishes the next snapshot after people joined or left a course of the semester
+    private void publish(Course course, Collection<? extends Person> people) {
+        snapshot.updateAndGet(current -> current.with(this, course, people));
+    }
+
+    // Whether the person still teaches or takes the course in another semester
+    private boolean takesPartElsewhere(Person person, Course course) {
+        return course.getOfferings().stream().anyMatch(o -> o.getSemester() != this && o.includes(person));
+    }
+
+    // The courses the person teaches or takes in this semester
+    private List<Course> coursesOf(Person person) {
+        return person.getRegisteredCourses().stream()
+                .filter(course -> {
+                    CourseOffering offering = offerings.get(course);
+                    return offering != null && offering.includes(person);
+                })
+                .toList();
+    }
+
+    /**
+     * Checks whether a person's courses in this semester leave room for a
+     * course, using the semester's precomputed conflict matrix. Courses the
+     * person teaches or takes in other semesters never conflict.
+     *
+     * @param person The person to check.
+     * @param course The course the person wants to join.
+     * @return true if the person is free on all the course's weekly meetings.
+     */
+    public boolean isFreeFor(Person person, Course course) {
+        RegistrarEvents.ConflictCheck event = new RegistrarEvents.ConflictCheck();
+        event.begin();
+        List<Course> taken = coursesOf(person);
+        boolean free = conflictMatrix.isFree(course, taken);
+        if (event.shouldCommit()) {
+            event.personId = person.getId();
+            event.method = "matrix";
+            event.registeredCourses = taken.size();
+            event.free = free;
+            event.commit();
+        }
+        return free;
+    }
+
+    /**
+     * Checks whether two courses have a time conflict, answered from the
+     * semester's conflict matrix when both are registered in it.
+     *
+     * @param a The first course.
+     * @param b The second course.
+     * @return true if the courses have a time conflict, false otherwise.
+     */
+    public boolean hasTimeConflict(Course a, Course b) {
+        return conflictMatrix.conflicts(a, b);
+    }
+
+    /**
+     * Recomputes the conflict matrix of all registered courses in parallel.
+     * Registration keeps the matrix up to date incrementally, so this is only
+     * needed after bulk changes to course meetings.
+     */
+    public void rebuildConflictMatrix() {
+        conflictMatrix.rebuild();
     }
 
     /**
@@ -219,19 +427,39 @@ public class Semester {
      * @return The name of the semester.
      */
     private String giveName() {
-        int startMonth = semesterStartDate.getMonthValue();
+        this.setName(termOf(semesterStartDate));
+        return name;
+    }
+
+    /**
+     * Determines the name of the semester (Fall, Spring, or Summer) starting on a
+     * date.
+     *
+     * @param startDate The start date of the semester.
+     * @return The name of the semester.
+     */
+    static String termOf(LocalDate startDate) {
+        int startMonth = startDate.getMonthValue();
         if ((startMonth >= 9 && startMonth <= 12)) {
             // Fall semester (September to December)
-            this.setName("Fall");
+            return "Fall";
         } else if ((startMonth >= 1 && startMonth <= 6)) {
             // Spring semester (January to May)
-            this.setName("Spring");
-        } else if ((startMonth >= 6 && startMonth <= 8)) {
-            // Summer semester (June to August)
-            this.setName("Summer");
+            return "Spring";
         }
+        // Summer semester (June to August)
+        return "Summer";
+    }
 
-        return name;
+    /**
+     * Determines the full name of the semester starting on a date, such as
+     * "Fall - 2023", without creating it.
+     *
+     * @param startDate The start date of the semester.
+     * @return The semester's name.
+     */
+    static String nameOf(LocalDate startDate) {
+        return termOf(startDate) + " - " + startDate.getYear();
     }
 
     // HELPER NETHOD
@@ -257,7 +485,153 @@ public class Semester {
     }
 
     public Set<Course> getRegisteredCourses() {
-        return courses;
+        return Collections.unmodifiableSet(offerings.keySet());
+    }
+
+    /**
+     * Retrieves the semester's offering of a course.
+     *
+     * @param course The course.
+     * @return The offering, or an empty Optional if the course is not registered
+     *         in the semester.
+     */
+    public Optional<CourseOffering> getOffering(Course course) {
+        return Optional.ofNullable(offerings.get(course));
+    }
+
+    /**
+     * Retrieves the semester's course offerings.
+     *
+     * @return An unmodifiable collection of the offerings, in the order the
+     *         courses were registered.
+     */
+    public Collection<CourseOffering> getOfferings() {
+        return Collections.unmodifiableCollection(offerings.values());
+    }
+
+    /**
+     * Checks whether the semester ended before a given date.
+     *
+     * @param date The date.
+     * @return true if the semester is over on that date, false otherwise.
+     */
+    public boolean isClosed(LocalDate date) {
+        return semesterEndDate.isBefore(date);
+    }
+
+    /**
+     * Checks whether the semester's offerings were archived.
+     *
+     * @return true if the semester is archived, false otherwise.
+     */
+    public boolean isArchived() {
+        return archiveFile != null;
+    }
+
+    /**
+     * Archives a closed semester: its offerings are written to a file in the
+     * given directory, the courses stop being offered in it, and teachers and
+     * students leave the courses unless they take part in another offering.
+     * The semester takes no registrations afterwards.
+     *
+     * @param directory The directory of the archive files.
+     * @return The archive file.
+     * @throws IOException           If the archive cannot be written; the semester
+     *                               is left as it was.
+     * @throws IllegalStateException If the semester is not over yet or is
+     *                               already archived.
+     */
+    public Path archive(Path directory) throws IOException {
+        if (isArchived()) {
+            throw new IllegalStateException(semesterName + " is already archived");
+        }
+        if (!isClosed(LocalDate.now())) {
+            throw new IllegalStateException(semesterName + " is not over yet");
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve(SemesterArchive.fileName(semesterName));
+        SemesterArchive.write(semesterName, semesterStartDate, semesterEndDate, offerings.values(), file);
+
+        for (CourseOffering offering : new ArrayList<>(offerings.values())) {
+            Course course = offering.getCourse();
+            course.removeOffering(offering);
+            conflictMatrix.remove(course);
+            List<Person> people = new ArrayList<>(offering.getEnrolledStudents());
+            offering.getTeacher().ifPresent(people::add);
+            for (Person person : people) {
+                if (course.getOfferings().stream().noneMatch(o -> o.includes(person))) {
+                    person.getRegisteredCourses().remove(course);
+                }
+            }
+        }
+        offerings.clear();
+        students.clear();
+        teachers.clear();
+        archiveFile = file;
+        publishSnapshot();
+        stateListener.accept(this);
+        return file;
+    }
+
+    /**
+     * Checks whether the semester keeps anything in memory besides its dates:
+     * course offerings, students or teachers.
+     *
+     * @return true if the semester holds registrations, false otherwise.
+     */
+    boolean holdsRegistrations() {
+        return !offerings.isEmpty() || !students.isEmpty() || !teachers.isEmpty();
+    }
+
+    /**
+     * Retrieves the archive file of the semester.
+     *
+     * @return The file, or null if the semester is not archived.
+     */
+    Path getArchiveFile() {
+        return archiveFile;
+    }
+
+    /**
+     * Marks a semester rebuilt from its dates as archived to an existing file.
+     *
+     * @param file The archive file written when the semester was archived.
+     */
+    void restoreArchive(Path file) {
+        this.archiveFile = file;
+    }
+
+    /**
+     * Sets the callback run when the semester gets its first course offering,
+     * loses its last one, or is archived.
+     *
+     * @param listener The callback, given the semester.
+     */
+    void setStateListener(Consumer<Semester> listener) {
+        this.stateListener = listener;
+    }
+
+    /**
+     * Retrieves the archived offerings of the semester, reading the archive file
+     * again if it was dropped from memory.
+     *
+     * @return The archive, or an empty Optional if the semester is not archived.
+     * @throws UncheckedIOException If the archive file cannot be read.
+     */
+    public Optional<SemesterArchive> getArchive() {
+        if (archiveFile == null) {
+            return Optional.empty();
+        }
+        SemesterArchive archived = archive.get();
+        if (archived == null) {
+            try {
+                archived = SemesterArchive.read(archiveFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            archive = new SoftReference<>(archived);
+        }
+        return Optional.of(archived);
     }
 
     public LocalDate getSemesterStartDate() {
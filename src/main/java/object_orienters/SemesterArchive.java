@@ -0,0 +1,234 @@
+package object_orienters;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * The read-only record of a closed semester: its dates and, for every course
+ * offered, the teacher's ID and the enrolled students' IDs.
+ * Archives are written by Semester.archive in a compact binary format, with
+ * each course's student IDs sorted and stored as variable-length gaps, and
+ * read back on demand.
+ */
+public final class SemesterArchive {
+    /**
+     * The extension of archive files.
+     */
+    public static final String EXTENSION = ".sem";
+
+    private static final int MAGIC = 0x53454d41;
+    private static final int VERSION = 1;
+
+    private final String semesterName;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Map<String, Integer> courses;
+    private final int[] teacherIds;
+    private final int[][] studentIds;
+
+    private SemesterArchive(String semesterName, LocalDate startDate, LocalDate endDate,
+            Map<String, Integer> courses, int[] teacherIds, int[][] studentIds) {
+        this.semesterName = semesterName;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.courses = courses;
+        this.teacherIds = teacherIds;
+        this.studentIds = studentIds;
+    }
+
+    /**
+     * Retrieves the name of the archive file of a semester.
+     *
+     * @param semesterName The semester's name, such as "Fall - 2023".
+     * @return The file name, such as "Fall-2023.sem".
+     */
+    public static String fileName(String semesterName) {
+        return semesterName.replaceAll("[^A-Za-z0-9]+", "-") + EXTENSION;
+    }
+
+    /**
+     * Writes the offerings of a semester to an archive file, replacing it if it
+     * exists. The file is complete or absent even if writing fails.
+     *
+     * @param semesterName The semester's name.
+     * @param startDate    The semester's start date.
+     * @param endDate      The semester's end date.
+     * @param offerings    The semester's course offerings.
+     * @param file         The archive file.
+     * @throws IOException If the file cannot be written.
+     */
+    static void write(String semesterName, LocalDate startDate, LocalDate endDate,
+            Collection<CourseOffering> offerings, Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(semesterName);
+            out.writeLong(startDate.toEpochDay());
+            out.writeLong(endDate.toEpochDay());
+            out.writeInt(offerings.size());
+            for (CourseOffering offering : offerings) {
+                out.writeUTF(offering.getCourse().getCourseID());
+                out.writeInt(offering.getTeacher().map(Person::getId).orElse(-1));
+                int[] ids = offering.getEnrolledStudents().stream().mapToInt(Person::getId).sorted().toArray();
+                writeVarInt(out, ids.length);
+                int previous = 0;
+                for (int id : ids) {
+                    writeVarInt(out, id - previous);
+                    previous = id;
+                }
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads an archive file.
+     *
+     * @param file The archive file.
+     * @return The archived semester.
+     * @throws IOException If the file cannot be read or is not an archive.
+     */
+    public static SemesterArchive read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException(file + " is not a semester archive");
+            }
+            String semesterName = in.readUTF();
+            LocalDate startDate = LocalDate.ofEpochDay(in.readLong());
+            LocalDate endDate = LocalDate.ofEpochDay(in.readLong());
+            int count = in.readInt();
+            Map<String, Integer> courses = new LinkedHashMap<>();
+            int[] teacherIds = new int[count];
+            int[][] studentIds = new int[count][];
+            for (int i = 0; i < count; i++) {
+                courses.put(in.readUTF(), i);
+                teacherIds[i] = in.readInt();
+                int[] ids = new int[readVarInt(in)];
+                int previous = 0;
+                for (int j = 0; j < ids.length; j++) {
+                    previous += readVarInt(in);
+                    ids[j] = previous;
+                }
+                studentIds[i] = ids;
+            }
+            return new SemesterArchive(semesterName, startDate, endDate, Collections.unmodifiableMap(courses),
+                    teacherIds, studentIds);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length int");
+    }
+
+    /**
+     * Retrieves the name of the archived semester.
+     *
+     * @return The semester name, such as Fall - 2023.
+     */
+    public String getSemesterName() {
+        return semesterName;
+    }
+
+    /**
+     * Retrieves the date the archived semester started.
+     *
+     * @return The start date.
+     */
+    public LocalDate getSemesterStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Retrieves the date the archived semester ended.
+     *
+     * @return The end date.
+     */
+    public LocalDate getSemesterEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Retrieves the IDs of the courses offered in the semester.
+     *
+     * @return The course IDs, in the order the courses were registered.
+     */
+    public List<String> getCourseIDs() {
+        return List.copyOf(courses.keySet());
+    }
+
+    /**
+     * Retrieves the ID of the teacher of a course.
+     *
+     * @param courseID The course ID.
+     * @return The teacher's ID, or an empty OptionalInt if the course had no
+     *         teacher or was not offered.
+     */
+    public OptionalInt getTeacherId(String courseID) {
+        Integer index = courses.get(courseID);
+        return index == null || teacherIds[index] < 0 ? OptionalInt.empty() : OptionalInt.of(teacherIds[index]);
+    }
+
+    /**
+     * Retrieves the IDs of the students enrolled in a course.
+     *
+     * @param courseID The course ID.
+     * @return The student IDs in ascending order; empty if the course was not
+     *         offered.
+     */
+    public int[] getStudentIds(String courseID) {
+        Integer index = courses.get(courseID);
+        return index == null ? new int[0] : studentIds[index].clone();
+    }
+
+    /**
+     * Retrieves the number of enrollments in the semester.
+     *
+     * @return The number of enrolled students, summed over all courses.
+     */
+    public int getEnrollmentCount() {
+        return Arrays.stream(studentIds).mapToInt(ids -> ids.length).sum();
+    }
+
+    /**
+     * Returns a summary of the archived semester.
+     *
+     * @return A formatted string containing the semester's details.
+     */
+    @Override
+    public String toString() {
+        return "Semester Name: " + semesterName + " (archived)\nSemester Start Date: " + startDate
+                + "\nSemester End Date: " + endDate + "\nCourses: " + courses.size() + "\nEnrollments: "
+                + getEnrollmentCount();
+    }
+}
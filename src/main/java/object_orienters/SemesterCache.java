@@ -0,0 +1,399 @@
+package object_orienters;
+
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The semesters of the registrar by name, created the first time they are used.
+ * Loading SemesterDates.csv only records every semester's dates. A Semester is
+ * built when it is first looked up, and the most recently used ones are kept in
+ * a bounded cache. A semester that falls out of the cache is dropped if it only
+ * holds its dates, and is built again when it is needed; one with courses
+ * registered stays in memory, and of an archived one only the path of its
+ * archive is kept. Looking a semester up also builds the terms just before and
+ * after it in the background, since terms tend to be visited in order.
+ * Listing names through keySet builds nothing, while iterating values builds
+ * the semesters one at a time; getPopulated builds only the archived ones.
+ */
+public class SemesterCache extends AbstractMap<String, Semester> {
+    /**
+     * The default number of semesters kept when they hold nothing but their dates.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The dates of a known semester.
+     *
+     * @param name  The semester's name.
+     * @param start The semester's start date.
+     * @param end   The semester's end date.
+     */
+    public record Term(String name, LocalDate start, LocalDate end) {
+    }
+
+    // What is kept of a semester whether it is built or not
+    private static final class Entry {
+        final Term term;
+        // The semester while it holds registrations, so it is never dropped
+        Semester pinned;
+        // The last semester built, reused while anyone still uses it
+        WeakReference<Semester> built = new WeakReference<>(null);
+        Path archiveFile;
+
+        Entry(Term term) {
+            this.term = term;
+        }
+    }
+
+    private final int capacity;
+    private final Map<String, Entry> index = new LinkedHashMap<>();
+    private final NavigableMap<LocalDate, String> byStart = new TreeMap<>();
+    private final LinkedHashMap<String, Semester> recent;
+    private final ExecutorService prefetcher;
+    private long builds;
+
+    /**
+     * Constructs a new, empty SemesterCache keeping the default number of
+     * semesters.
+     */
+    public SemesterCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new, empty SemesterCache.
+     *
+     * @param capacity The number of recently used semesters kept when they hold
+     *                 nothing but their dates.
+     */
+    public SemesterCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Semester> eldest) {
+                return size() > SemesterCache.this.capacity;
+            }
+        };
+        this.prefetcher = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "semester-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records a semester by its dates without building it. A semester of the same
+     * name with other dates is replaced.
+     *
+     * @param start The semester's start date.
+     * @param end   The semester's end date.
+     * @return The semester's name.
+     */
+    public synchronized String declare(LocalDate start, LocalDate end) {
+        String name = Semester.nameOf(start);
+        Entry entry = index.get(name);
+        if (entry == null || !entry.term.start().equals(start) || !entry.term.end().equals(end)) {
+            remove(name);
+            index.put(name, new Entry(new Term(name, start, end)));
+            byStart.put(start, name);
+        }
+        return name;
+    }
+
+    /**
+     * Retrieves a semester, building it if it is not in memory.
+     *
+     * @param key The semester's name.
+     * @return The semester, or null if there is none by that name.
+     */
+    @Override
+    public synchronized Semester get(Object key) {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        Semester semester = load(entry);
+        prefetchAround(entry.term);
+        return semester;
+    }
+
+    /**
+     * Finds a semester by its name, ignoring case and surrounding spaces.
+     *
+     * @param name The semester's name, as typed by a user.
+     * @return The semester, or an empty Optional if there is none by that name.
+     */
+    public Optional<Semester> find(String name) {
+        String wanted = name.trim();
+        String key;
+        synchronized (this) {
+            key = index.keySet().stream().filter(wanted::equalsIgnoreCase).findAny().orElse(null);
+        }
+        return key == null ? Optional.empty() : Optional.ofNullable(get(key));
+    }
+
+    /**
+     * Retrieves the dates of every known semester without building any.
+     *
+     * @return The terms, in the order the semesters were added.
+     */
+    public synchronized List<Term> getTerms() {
+        return index.values().stream().map(entry -> entry.term).toList();
+    }
+
+    /**
+     * Retrieves the semesters that hold registrations or have been archived,
+     * without building the ones that hold nothing but their dates. Archived
+     * semesters that were dropped are built again, with their archive.
+     *
+     * @return The semesters, in the order they were added.
+     */
+    public synchronized List<Semester> getPopulated() {
+        List<Semester> populated = new ArrayList<>();
+        for (Entry entry : index.values()) {
+            if (entry.pinned != null) {
+                populated.add(entry.pinned);
+            } else if (entry.archiveFile != null) {
+                populated.add(load(entry));
+            }
+        }
+        return populated;
+    }
+
+    /**
+     * Checks whether a semester is in memory.
+     *
+     * @param name The semester's name.
+     * @return true if the semester is built and cached or holds registrations.
+     */
+    public synchronized boolean isLoaded(String name) {
+        Entry entry = index.get(name);
+        return entry != null && (entry.pinned != null || recent.containsKey(name));
+    }
+
+    /**
+     * Retrieves the number of semesters built so far, including those built
+     * again after being dropped.
+     *
+     * @return The number of semesters built.
+     */
+    public synchronized long getBuildCount() {
+        return builds;
+    }
+
+    /**
+     * Adds a semester that was built elsewhere, replacing the one of that name.
+     *
+     * @param key      The semester's name.
+     * @param semester The semester.
+     * @return The semester replaced, if it was in memory, or null.
+     */
+    @Override
+    public synchronized Semester put(String key, Semester semester) {
+        Semester previous = remove(key);
+        Entry entry = new Entry(new Term(key, semester.getSemesterStartDate(), semester.getSemesterEndDate()));
+        index.put(key, entry);
+        byStart.put(entry.term.start(), key);
+        attach(entry, semester);
+        return previous;
+    }
+
+    @Override
+    public synchronized Semester putIfAbsent(String key, Semester semester) {
+        Semester existing = get(key);
+        return existing != null ? existing : put(key, semester);
+    }
+
+    @Override
+    public synchronized Semester remove(Object key) {
+        Entry entry = index.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        byStart.remove(entry.term.start(), key);
+        recent.remove(key);
+        Semester semester = entry.pinned != null ? entry.pinned : entry.built.get();
+        if (semester != null) {
+            semester.setStateListener(s -> {
+            });
+        }
+        return semester;
+    }
+
+    @Override
+    public synchronized void clear() {
+        new ArrayList<>(index.keySet()).forEach(this::remove);
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        return index.containsKey(key);
+    }
+
+    @Override
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Retrieves the names of the semesters without building any.
+     *
+     * @return A copy of the names, in the order the semesters were added.
+     */
+    @Override
+    public synchronized Set<String> keySet() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(index.keySet()));
+    }
+
+    /**
+     * Retrieves the semesters by name. Semesters are built as the iteration
+     * reaches them and may be dropped again behind it.
+     *
+     * @return A view of the semesters.
+     */
+    @Override
+    public Set<Map.Entry<String, Semester>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, Semester>> iterator() {
+                Iterator<String> names = keySet().iterator();
+                return new Iterator<>() {
+                    private Map.Entry<String, Semester> next;
+                    private String last;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (next == null && names.hasNext()) {
+                            String name = names.next();
+                            Semester semester = loadWithoutPrefetch(name);
+                            if (semester != null) {
+                                next = new SimpleImmutableEntry<>(name, semester);
+                            }
+                        }
+                        return next != null;
+                    }
+
+                    @Override
+                    public Map.Entry<String, Semester> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<String, Semester> entry = next;
+                        last = entry.getKey();
+                        next = null;
+                        return entry;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) {
+                            throw new IllegalStateException();
+                        }
+                        SemesterCache.this.remove(last);
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return SemesterCache.this.size();
+            }
+        };
+    }
+
+    /**
+     * Waits until the semesters being built in the background are ready.
+     */
+    void awaitPrefetch() {
+        try {
+            prefetcher.submit(() -> {
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private synchronized Semester loadWithoutPrefetch(String name) {
+        Entry entry = index.get(name);
+        return entry == null ? null : load(entry);
+    }
+
+    // The semester of an entry, built if it is not in memory, marked as just used
+    private Semester load(Entry entry) {
+        String name = entry.term.name();
+        Semester semester = entry.pinned;
+        if (semester == null) {
+            semester = recent.get(name);
+        }
+        if (semester == null) {
+            semester = entry.built.get();
+        }
+        if (semester == null) {
+            semester = new Semester(entry.term.start(), entry.term.end());
+            if (entry.archiveFile != null) {
+                semester.restoreArchive(entry.archiveFile);
+            }
+            builds++;
+            attach(entry, semester);
+            return semester;
+        }
+        recent.put(name, semester);
+        return semester;
+    }
+
+    private void attach(Entry entry, Semester semester) {
+        entry.built = new WeakReference<>(semester);
+        recent.put(entry.term.name(), semester);
+        semester.setStateListener(this::stateChanged);
+        stateChanged(semester);
+    }
+
+    // Pins a semester while it holds registrations and remembers its archive
+    private synchronized void stateChanged(Semester semester) {
+        Entry entry = index.get(semester.getSemesterName());
+        if (entry == null || entry.built.get() != semester) {
+            return;
+        }
+        entry.pinned = semester.holdsRegistrations() ? semester : null;
+        entry.archiveFile = semester.getArchiveFile();
+    }
+
+    // Builds the terms before and after a semester in the background
+    private void prefetchAround(Term term) {
+        List<String> neighbours = new ArrayList<>(2);
+        for (Map.Entry<LocalDate, String> neighbour : Arrays.asList(byStart.lowerEntry(term.start()),
+                byStart.higherEntry(term.start()))) {
+            if (neighbour != null && !isLoaded(neighbour.getValue())) {
+                neighbours.add(neighbour.getValue());
+            }
+        }
+        if (!neighbours.isEmpty()) {
+            prefetcher.execute(() -> neighbours.forEach(this::loadWithoutPrefetch));
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package object_orienters;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable, versioned view of a semester's registered courses, teachers and
+ * students.
+ * A Semester publishes a new snapshot after every registration,
+ * unregistration, grade and change to one of its courses, so reports and
+ * exports can read a consistent state without locking while registration goes
+ * on. Course views that did not change are shared between consecutive
+ * snapshots, and so are the sets of IDs while nobody joins or leaves.
+ */
+public final class SemesterSnapshot {
+
+    /**
+     * A person as seen at the time of the snapshot.
+     *
+     * @param id          The person's ID.
+     * @param name        The person's name.
+     * @param description The person's details as printed by the registrar.
+     */
+    public record PersonView(int id, String name, String description) {
+        static PersonView of(Person person) {
+            return new PersonView(person.getId(), person.getName(), person.toString());
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * A registered course as seen at the time of the snapshot.
+     *
+     * @param courseID    The course ID.
+     * @param courseName  The course name.
+     * @param creditHours The course's credit hours.
+     * @param capacity    The course's capacity.
+     * @param description The course's details as printed by the registrar.
+     * @param teacher     The assigned teacher, if any.
+     * @param students    The enrolled students, in enrollment order.
+     */
+    public record CourseView(String courseID, String courseName, int creditHours, int capacity, String description,
+            Optional<PersonView> teacher, List<PersonView> students) {
+        static CourseView of(CourseOffering offering) {
+            Course course = offering.getCourse();
+            return new CourseView(course.getCourseID(), course.getCourseName(), course.getCreditHours(),
+                    course.getCapacity(), course.toString(), offering.getTeacher().map(PersonView::of),
+                    offering.getEnrolledStudents().stream().map(PersonView::of).toList());
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    private final long version;
+    private final String semesterName;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long weeksNumber;
+    private final Map<String, CourseView> courses;
+    private final Set<Integer> studentIds;
+    private final Set<Integer> teacherIds;
+
+    private SemesterSnapshot(long version, Semester semester, Map<String, CourseView> courses,
+            Set<Integer> studentIds, Set<Integer> teacherIds) {
+        this.version = version;
+        this.semesterName = semester.getSemesterName();
+        this.startDate = semester.getSemesterStartDate();
+        this.endDate = semester.getSemesterEndDate();
+        this.weeksNumber = semester.getWeeksNumber();
+        this.courses = Collections.unmodifiableMap(courses);
+        this.studentIds = studentIds;
+        this.teacherIds = teacherIds;
+    }
+
+    /**
+     * Creates the first, empty snapshot of a semester.
+     *
+     * @param semester The semester.
+     * @return The snapshot with version 0.
+     */
+    static SemesterSnapshot empty(Semester semester) {
+        return new SemesterSnapshot(0, semester, new LinkedHashMap<>(), Set.of(), Set.of());
+    }
+
+    /**
+     * Creates the next snapshot after a course of the semester changed. Views of
+     * the other courses are reused as they are, and only the given people are
+     * looked up to update the IDs of the semester's students and teachers.
+     *
+     * @param semester The semester, after the change.
+     * @param course   The course that changed.
+     * @param people   The people who may have joined or left the semester.
+     * @return The next snapshot.
+     */
+    SemesterSnapshot with(Semester semester, Course course, Collection<? extends Person> people) {
+        Map<String, CourseView> next = new LinkedHashMap<>(courses);
+        Optional<CourseOffering> offering = semester.getOffering(course);
+        if (offering.isPresent()) {
+            next.put(course.getCourseID(), CourseView.of(offering.get()));
+        } else {
+            next.remove(course.getCourseID());
+        }
+        return new SemesterSnapshot(version + 1, semester, next, updated(studentIds, people, semester.getStudents()),
+                updated(teacherIds, people, semester.getTeachers()));
+    }
+
+    /**
+     * Creates the next snapshot with every course view rebuilt.
+     *
+     * @param semester The semester.
+     * @return The next snapshot.
+     */
+    SemesterSnapshot rebuilt(Semester semester) {
+        Map<String, CourseView> next = new LinkedHashMap<>();
+        for (CourseOffering offering : semester.getOfferings()) {
+            next.put(offering.getCourse().getCourseID(), CourseView.of(offering));
+        }
+        return new SemesterSnapshot(version + 1, semester, next, ids(semester.getStudents()),
+                ids(semester.getTeachers()));
+    }
+
+    private static Set<Integer> ids(Collection<? extends Person> people) {
+        return Set.copyOf(people.stream().map(Person::getId).toList());
+    }
+
+    // The IDs once the given people joined or left the members; the same set if none did
+    private static Set<Integer> updated(Set<Integer> ids, Collection<? extends Person> people,
+            Set<? extends Person> members) {
+        Set<Integer> next = null;
+        for (Person person : people) {
+            boolean member = members.contains(person);
+            if (member != ids.contains(person.getId())) {
+                if (next == null) {
+                    next = new HashSet<>(ids);
+                }
+                if (member) {
+                    next.add(person.getId());
+                } else {
+                    next.remove(person.getId());
+                }
+            }
+        }
+        return next == null ? ids : Collections.unmodifiableSet(next);
+    }
+
+    /**
+     * Retrieves the version of the snapshot, incremented on every publication.
+     *
+     * @return The snapshot's version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public String getSemesterName() {
+        return semesterName;
+    }
+
+    public LocalDate getSemesterStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getSemesterEndDate() {
+        return endDate;
+    }
+
+    public long getWeeksNumber() {
+        return weeksNumber;
+    }
+
+    /**
+     * Retrieves the registered courses, in the order they were registered.
+     *
+     * @return An unmodifiable collection of course views.
+     */
+    public Collection<CourseView> getCourses() {
+        return courses.values();
+    }
+
+    /**
+     * Retrieves a registered course by its ID.
+     *
+     * @param courseID The course ID.
+     * @return The course view, or an empty Optional if the course is not registered.
+     */
+    public Optional<CourseView> getCourse(String courseID) {
+        return Optional.ofNullable(courses.get(courseID));
+    }
+
+    /**
+     * Retrieves the IDs of the students registered in the semester.
+     *
+     * @return An unmodifiable set of student IDs.
+     */
+    public Set<Integer> getStudentIds() {
+        return studentIds;
+    }
+
+    /**
+     * Retrieves the IDs of the teachers teaching in the semester.
+     *
+     * @return An unmodifiable set of teacher IDs.
+     */
+    public Set<Integer> getTeacherIds() {
+        return teacherIds;
+    }
+
+    /**
+     * Returns the same summary as Semester.toString.
+     *
+     * @return A formatted string containing the semester's details.
+     */
+    @Override
+    public String toString() {
+        return "Semester Name: " + semesterName + "\nSemester Start Date: " + startDate
+                + "\nSemester End Date: " + endDate + "\nSemester Length: " + weeksNumber;
+    }
+}
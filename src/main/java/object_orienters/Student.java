@@ -1,11 +1,8 @@
 package object_orienters;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.RecursiveTask;
 
 /**
  * Represents a student at the university.
@@ -19,7 +16,7 @@ public class Student extends Person {
     private Specialization major;
     private Optional<Specialization> minor;
     private final boolean isCurrentlyRegisterd;
-    private Map<Course, Double> completedCoursesGrades;
+    private final Transcript completedCoursesGrades;
     private GPAstatus gpaStatus;
     private Faculty faculty;
 
@@ -35,9 +32,10 @@ public class Student extends Person {
         super(Role.STUDENT, name);
         this.major = major;
         isCurrentlyRegisterd = true;
-        completedCoursesGrades = new HashMap<>();
+        completedCoursesGrades = new Transcript(getId());
         this.faculty = major.getFaculty();
         faculty.getStudents().add(this);
+        recordAdmission();
     }
 
     /**
@@ -55,9 +53,15 @@ public class Student extends Person {
         this.major = major;
         this.minor = Optional.ofNullable(minor);
         isCurrentlyRegisterd = true;
-        completedCoursesGrades = new HashMap<>();
+        completedCoursesGrades = new Transcript(getId());
         this.faculty = major.getFaculty();
         faculty.getStudents().add(this);
+        recordAdmission();
+    }
+
+    private void recordAdmission() {
+        RegistrarEventLog.record(today -> new DomainEvent.StudentAdmitted(today, getId(), getName(),
+                faculty.getName(), major.getName(), minor != null && minor.isPresent() ? minor.get().getName() : null));
     }
 
     /**
@@ -69,15 +73,26 @@ public class Student extends Person {
      */
     public void enterCourseGrade(Course course, String grade) {
         if (getRegisteredCourses().contains(course)) {
-            completedCoursesGrades.put(course, convertGrade(grade));
+            Double points = convertGrade(grade);
+            double previous = completedCoursesGrades.record(course, points);
+            // The grade belongs to the latest offering the student took, which keeps
+            // its teacher for the other students and the archive
+            Optional<CourseOffering> offering = course.getOfferings().stream().filter(o -> o.includes(this))
+                    .reduce((first, second) -> second);
+            Optional<Teacher> teacher = offering.isPresent() ? offering.get().getTeacher() : course.getTeacher();
+            RegistrarEventLog.record(today -> new DomainEvent.GradeEntered(today,
+                    offering.map(o -> o.getSemester().getSemesterName()).orElse(""), getId(), course.getCourseID(),
+                    teacher.map(Person::getId).orElse(-1), course.getCreditHours(), points,
+                    Double.isNaN(previous) ? -1 : previous));
             getRegisteredCourses().remove(course);
 
-            if (course.getTeacher().isPresent())
-                course.getTeacher().get().getRegisteredCourses().remove(course);
-            course.setTeacher(null);
+            // The course leaves the teacher's current schedule only
+            if (teacher.isPresent())
+                teacher.get().getRegisteredCourses().remove(course);
+            offering.ifPresent(o -> o.getSemester().publish(course));
 
         } else
-            System.out.println("Error: " + this.getName() + " is not registered in " + course.getCourseName());
+            RegistrarOutput.getInstance().error("Error: " + this.getName() + " is not registered in " + course.getCourseName());
     }
 
     /**
@@ -163,6 +178,8 @@ public class Student extends Person {
 
     /**
      * Retrieves a map of completed courses along with the grades received.
+     * The map is the student's transcript, so changes to it are changes to the
+     * student's grades.
      *
      * @return A map with Course keys and Double values representing grades.
      */
@@ -170,6 +187,16 @@ public class Student extends Person {
         return completedCoursesGrades;
     }
 
+    /**
+     * Retrieves the student's transcript of completed courses, with primitive
+     * access to grade points and credit hours.
+     *
+     * @return The student's transcript.
+     */
+    public Transcript getTranscript() {
+        return completedCoursesGrades;
+    }
+
     /**
      * Checks if the student has completed all prerequisites for a given course.
      *
@@ -178,71 +205,76 @@ public class Student extends Person {
      */
     public boolean preRequisitesCheck(Course course) {
         Set<Course> preRequisites = course.getPrerequisites();
-        return preRequisites.stream().allMatch(e -> this.completedCoursesGrades.keySet().contains(e));
+        return preRequisites.stream().allMatch(e -> this.completedCoursesGrades.hasCompleted(e));
         // Angela changed the method from registerCourse to completed courses ^(in the
         // allMatch method)
     }
 
     /**
      * Calculates the student's GPA based on completed courses and their grades.
-     * Utilizes parallel computation for efficiency.
+     * The transcript keeps the sums of grade points and credit hours up to date,
+     * so no grades are visited.
      *
      * @return The calculated GPA.
      */
     public double calculateGPA() {
+        long start = System.nanoTime();
+        RegistrarEvents.GpaCalculation event = new RegistrarEvents.GpaCalculation();
+        event.begin();
 
-        class Summation extends RecursiveTask<Double> {
-            final static int THRESHOLD = 3;
-            Double[] list;
-            int low;
-            int high;
-
-            Summation(Double[] list, int low, int high) {
-                this.list = list;
-                this.low = low;
-                this.high = high;
-            }
-
-            @Override
-            protected Double compute() {
-                if (high - low < THRESHOLD) {
-                    double sum = 0;
-                    for (int i = low; i < high; i++)
-                        sum += list[i];
-                    return sum;
-                } else {
-                    int mid = (low + high) / 2;
-                    RecursiveTask<Double> left = new Summation(list, low, mid);
-                    RecursiveTask<Double> right = new Summation(list, mid, high);
-
-                    right.fork();
-                    left.fork();
-
-                    return right.join() + left.join();
-                }
-            }
+        double gpa = roundedGPA();
 
+        updateGPAStatus(gpa);
+        RegistrarMetrics.record("Student.calculateGPA", System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.studentId = getId();
+            event.completedCourses = completedCoursesGrades.size();
+            event.gpa = gpa;
+            event.commit();
         }
+        return gpa;
+    }
 
-        Double[] grades = this.completedCoursesGrades.values().toArray(new Double[0]);
-        Double[] credits = this.completedCoursesGrades.keySet().stream().map(e -> ((double)e.getCreditHours())).toArray(Double[]::new);
+    /**
+     * Calculates the student's GPA like calculateGPA, without updating the GPA
+     * status, so it can be called while other threads read the student.
+     *
+     * @return The GPA, or NaN if the student has not completed any course.
+     */
+    public double peekGPA() {
+        return roundedGPA();
+    }
 
-        RecursiveTask<Double> sumGradesTask = new Summation(grades, 0, grades.length);
-        ForkJoinPool pool = new ForkJoinPool();
-        double sum = pool.invoke(sumGradesTask);
-        pool.shutdown();
-        pool.close();
+    private double roundedGPA() {
+        double sum = completedCoursesGrades.getTotalPoints();
+        double ch = completedCoursesGrades.getTotalCredits();
+        return round(sum / ch);
+    }
 
-        RecursiveTask<Double> sumCreditsTask = new Summation(credits, 0, credits.length);
-        pool = new ForkJoinPool();
-        double ch = pool.invoke(sumCreditsTask);
-        pool.shutdown();
-        pool.close();
+    // Rounds a GPA to two decimals, keeping NaN for a student without grades
+    static double round(double gpa) {
+        return Double.parseDouble(String.format("%.2f", gpa));
+    }
 
-        double gpa = Double.parseDouble(String.format("%.2f", sum / ch));
-        
-        updateGPAStatus(gpa);
-        return gpa;
+    /**
+     * Determines the GPA status a GPA earns.
+     *
+     * @param gpa The Grade Point Average.
+     * @return The GPA status, or null if the GPA is not a number.
+     */
+    public static GPAstatus statusOf(double gpa) {
+        if (gpa >= 3.90) {
+            return GPAstatus.HIGHESTHONORS;
+        } else if (gpa >= 3.50) {
+            return GPAstatus.DEANSLIST;
+        } else if (gpa >= 3.00) {
+            return GPAstatus.HONORS;
+        } else if (gpa < 3.00) {
+            return GPAstatus.NORMAL;
+        } else if (gpa < 1.75) {
+            return GPAstatus.PROBATION;
+        }
+        return null;
     }
 
     /**
@@ -255,19 +287,23 @@ public class Student extends Person {
      */
     // HELPER METHOD FOR calculateGPA()
     private void updateGPAStatus(double gpa) {
-        if (gpa >= 3.90) {
-            gpaStatus = GPAstatus.HIGHESTHONORS;
-        } else if (gpa >= 3.50) {
-            gpaStatus = GPAstatus.DEANSLIST;
-        } else if (gpa >= 3.00) {
-            gpaStatus = GPAstatus.HONORS;
-        } else if (gpa < 3.00) {
-            gpaStatus = GPAstatus.NORMAL;
-        } else if (gpa < 1.75) {
-            gpaStatus = GPAstatus.PROBATION;
+        GPAstatus status = statusOf(gpa);
+        if (status != null) {
+            gpaStatus = status;
         }
     }
 
+    /**
+     * Retrieves the student's version, which goes up every time they register
+     * in or leave a course and every time their transcript changes.
+     *
+     * @return The version.
+     */
+    @Override
+    public int getVersion() {
+        return super.getVersion() + completedCoursesGrades.getVersion();
+    }
+
     /**
      * Generates a comprehensive academic report for the student.
      * Includes details such as major, minor, year of admission, current
@@ -0,0 +1,254 @@
+package object_orienters;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * A column-oriented copy of the student records for analytics.
+ * Each attribute is kept in its own primitive array indexed by row, with
+ * faculties and specializations dictionary-encoded as small ints, so aggregates
+ * scan contiguous memory instead of walking Student objects and their grade
+ * maps. The store follows a RegistrarEventLog and stays in sync with the object
+ * model as students are admitted and graded.
+ * Aggregates run in parallel on the fork-join common pool once the store has
+ * more than PARALLEL_THRESHOLD rows.
+ */
+public class StudentColumnStore {
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int NONE = NameDictionary.NONE;
+
+    private int size;
+    private int[] ids = new int[64];
+    private int[] facultyIds = new int[64];
+    private int[] majorIds = new int[64];
+    private int[] minorIds = new int[64];
+    private int[] creditsCompleted = new int[64];
+    private double[] qualityPoints = new double[64];
+    private int[] enrollmentYears = new int[64];
+
+    private final Map<Integer, Integer> rows = new HashMap<>();
+    private final NameDictionary faculties = new NameDictionary();
+    private final NameDictionary specializations = new NameDictionary();
+    private final Consumer<DomainEvent> listener = this::apply;
+
+    /**
+     * Creates a store holding every student of the log and subscribes it to the
+     * events appended afterwards.
+     *
+     * @param log The log to follow.
+     * @return The store.
+     */
+    public static StudentColumnStore attach(RegistrarEventLog log) {
+        StudentColumnStore store = new StudentColumnStore();
+        log.replayAndSubscribe(store.listener);
+        return store;
+    }
+
+    /**
+     * Stops following a log the store was attached to.
+     *
+     * @param log The log.
+     */
+    public void detach(RegistrarEventLog log) {
+        log.unsubscribe(listener);
+    }
+
+    /**
+     * Applies an event to the store. Events other than admissions, grades and
+     * removed grades are ignored, as are grades of students the store does not
+     * hold.
+     *
+     * @param event The event.
+     */
+    public synchronized void apply(DomainEvent event) {
+        if (event instanceof DomainEvent.StudentAdmitted e) {
+            if (size == ids.length) {
+                grow();
+            }
+            rows.put(e.studentId(), size);
+            ids[size] = e.studentId();
+            facultyIds[size] = faculties.encode(e.faculty());
+            majorIds[size] = specializations.encode(e.major());
+            minorIds[size] = specializations.encode(e.minor());
+            enrollmentYears[size] = e.date().getYear();
+            size++;
+        } else if (event instanceof DomainEvent.GradeEntered e) {
+            Integer row = rows.get(e.studentId());
+            if (row == null) {
+                return;
+            }
+            if (e.previousPoints() >= 0) {
+                qualityPoints[row] += e.points() - e.previousPoints();
+            } else {
+                creditsCompleted[row] += e.creditHours();
+                qualityPoints[row] += e.points();
+            }
+        } else if (event instanceof DomainEvent.GradeRemoved e) {
+            Integer row = rows.get(e.studentId());
+            if (row != null) {
+                creditsCompleted[row] -= e.creditHours();
+                qualityPoints[row] -= e.points();
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        facultyIds = Arrays.copyOf(facultyIds, capacity);
+        majorIds = Arrays.copyOf(majorIds, capacity);
+        minorIds = Arrays.copyOf(minorIds, capacity);
+        creditsCompleted = Arrays.copyOf(creditsCompleted, capacity);
+        qualityPoints = Arrays.copyOf(qualityPoints, capacity);
+        enrollmentYears = Arrays.copyOf(enrollmentYears, capacity);
+    }
+
+    private IntStream rows() {
+        IntStream rows = IntStream.range(0, size);
+        return size > PARALLEL_THRESHOLD ? rows.parallel() : rows;
+    }
+
+    /**
+     * Retrieves the number of students in the store.
+     *
+     * @return The number of rows.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Calculates a student's GPA the same way as Student.calculateGPA, rounded
+     * to two decimals.
+     *
+     * @param studentId The student's ID.
+     * @return The GPA, or NaN if the student has no completed courses or is not
+     *         in the store.
+     */
+    public synchronized double getGPA(int studentId) {
+        Integer row = rows.get(studentId);
+        return row == null || creditsCompleted[row] == 0 ? Double.NaN : Student.round(gpa(row));
+    }
+
+    private double gpa(int row) {
+        return creditsCompleted[row] == 0 ? 0 : qualityPoints[row] / creditsCompleted[row];
+    }
+
+    /**
+     * Calculates the average GPA of the students of each faculty who completed at
+     * least one course.
+     *
+     * @return A map of faculty names to average GPA, in order of first admission.
+     */
+    public synchronized Map<String, Double> averageGpaByFaculty() {
+        int groups = faculties.size();
+        double[] sums = rows().filter(row -> creditsCompleted[row] > 0)
+                .collect(() -> new double[2 * groups], (acc, row) -> {
+                    acc[2 * facultyIds[row]] += gpa(row);
+                    acc[2 * facultyIds[row] + 1]++;
+                }, StudentColumnStore::add);
+        Map<String, Double> averages = new LinkedHashMap<>();
+        for (int i = 0; i < groups; i++) {
+            if (sums[2 * i + 1] > 0) {
+                averages.put(faculties.name(i), sums[2 * i] / sums[2 * i + 1]);
+            }
+        }
+        return averages;
+    }
+
+    /**
+     * Counts students by completed credit hours.
+     *
+     * @param bucketWidth The number of credit hours per bucket.
+     * @return The counts, where index i counts students with completed credits in
+     *         [i * bucketWidth, (i + 1) * bucketWidth).
+     */
+    public synchronized long[] creditHistogram(int bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("Bucket width must be positive");
+        }
+        int max = rows().map(row -> creditsCompleted[row]).max().orElse(0);
+        int buckets = max / bucketWidth + 1;
+        return rows().collect(() -> new long[buckets], (acc, row) -> acc[creditsCompleted[row] / bucketWidth]++,
+                StudentColumnStore::add);
+    }
+
+    /**
+     * Counts students by major.
+     *
+     * @return A map of major names to number of students, in order of first
+     *         appearance.
+     */
+    public synchronized Map<String, Long> countByMajor() {
+        return countBy(majorIds);
+    }
+
+    /**
+     * Counts students by minor, leaving out students without one.
+     *
+     * @return A map of minor names to number of students, in order of first
+     *         appearance.
+     */
+    public synchronized Map<String, Long> countByMinor() {
+        return countBy(minorIds);
+    }
+
+    /**
+     * Counts students of a major.
+     *
+     * @param major The name of the major.
+     * @return The number of students with that major.
+     */
+    public synchronized long countMajor(String major) {
+        int code = specializations.code(major);
+        return code == NONE ? 0 : rows().filter(row -> majorIds[row] == code).count();
+    }
+
+    /**
+     * Counts students by the year they were admitted.
+     *
+     * @return A map of years to number of students, in ascending order.
+     */
+    public synchronized Map<Integer, Long> countByEnrollmentYear() {
+        int first = rows().map(row -> enrollmentYears[row]).min().orElse(0);
+        int last = rows().map(row -> enrollmentYears[row]).max().orElse(-1);
+        long[] counts = rows().collect(() -> new long[last - first + 1],
+                (acc, row) -> acc[enrollmentYears[row] - first]++, StudentColumnStore::add);
+        Map<Integer, Long> byYear = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                byYear.put(first + i, counts[i]);
+            }
+        }
+        return byYear;
+    }
+
+    private Map<String, Long> countBy(int[] column) {
+        int groups = specializations.size();
+        long[] counts = rows().filter(row -> column[row] != NONE)
+                .collect(() -> new long[groups], (acc, row) -> acc[column[row]]++, StudentColumnStore::add);
+        Map<String, Long> byName = new LinkedHashMap<>();
+        for (int i = 0; i < groups; i++) {
+            if (counts[i] > 0) {
+                byName.put(specializations.name(i), counts[i]);
+            }
+        }
+        return byName;
+    }
+
+    private static void add(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += from[i];
+        }
+    }
+
+    private static void add(double[] into, double[] from) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += from[i];
+        }
+    }
+}
@@ -49,12 +49,17 @@ public class Task extends Thread {
     }
 
     /**
-     * Executes the action of the task.
+     * Executes the action of the task, then waits until the messages it reported
+     * are written, so they come before the next menu.
      */
     @Override
     public void run() {
         if (this.action != null) {
-            this.action.run();
+            try {
+                this.action.run();
+            } finally {
+                RegistrarOutput.getInstance().flush();
+            }
         }
     }
 }
@@ -3,6 +3,8 @@ package object_orienters;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDate;
@@ -18,13 +20,7 @@ import java.util.*;
 public class TaskSwitcher {
 
     private static Faculty createFaculty(String facultyName) {
-        Faculty faculty = RegistrarDriver.faculties.get(
-                facultyName);
-        if (faculty == null) {
-            faculty = new Faculty(facultyName);
-            RegistrarDriver.faculties.put(facultyName, faculty);
-        }
-        return faculty;
+        return Catalog.faculty(facultyName);
     }
 
     private static Specialization createMajorSpecialization(String specialization) {
@@ -40,10 +36,7 @@ public class TaskSwitcher {
             e.printStackTrace();
         }
 
-        Specialization spec = new Specialization(specialization, createFaculty(facultyName),
-                Specialization.Type.MAJOR);
-        RegistrarDriver.specializations.put(spec.getName(), spec);
-        return spec;
+        return Catalog.specialization(specialization, createFaculty(facultyName), Specialization.Type.MAJOR);
     }
 
     private static Specialization createMinorSpecialization(String specialization) {
@@ -58,10 +51,7 @@ public class TaskSwitcher {
         } catch (IOException e) {
             e.printStackTrace();
         }
-        Specialization spec = new Specialization(specialization, createFaculty(facultyName),
-                Specialization.Type.MINOR);
-        RegistrarDriver.specializations.put(spec.getName(), spec);
-        return spec;
+        return Catalog.specialization(specialization, createFaculty(facultyName), Specialization.Type.MINOR);
     }
 
     private static Student createStudent(Integer id) {
@@ -206,7 +196,7 @@ public class TaskSwitcher {
         Semester semester = new Semester(startDate,
                 endDate);
 
-        if (RegistrarDriver.semesters.get(semester.getSemesterName()) != null) {
+        if (RegistrarDriver.semesters.containsKey(semester.getSemesterName())) {
             System.out.println(Color.YELLOW.value + "Semester already exists" + Color.RESET.value);
             return RegistrarDriver.semesters.get(semester.getSemesterName());
         } else {
@@ -422,7 +412,7 @@ public class TaskSwitcher {
         System.out
                 .println(Color.YELLOW.value + "Available Students (Possibliy Not Registered yet)" + Color.RESET.value);
         System.out.println(Color.YELLOW.value +
-                RegistrarDriver.students.values().stream().map(s -> s.getReport())
+                RegistrarDriver.students.values().stream().map(ReportCache.getInstance()::getReport)
                         .reduce((s1, s2) -> s1 + "\n--------------------------------------\n" + s2)
                         .orElse("No Students Records\n")
                 + Color.RESET.value);
@@ -509,7 +499,7 @@ public class TaskSwitcher {
                 if (semesterName.trim().toLowerCase().contains("show")) {
                     System.out.println(Color.YELLOW.value + "Available Semesters: " + Color.RESET.value);
                     System.out.println(Color.YELLOW.value +
-                            RegistrarDriver.semesters.values().stream().map(s -> s.getSemesterName())
+                            RegistrarDriver.semesters.keySet().stream()
                                     .reduce((s1, s2) -> s1 + "\n-----------------------------------\n" + s2)
                                     .orElse("No Semesters Available\n")
                             + Color.RESET.value);
@@ -524,9 +514,7 @@ public class TaskSwitcher {
         }
 
         String sName = semesterName;
-        Semester semester = RegistrarDriver.semesters.values().stream()
-                .filter(s -> s.getSemesterName().trim().toLowerCase().equals(sName.trim().toLowerCase()))
-                .findAny().orElseGet(TaskSwitcher::createSemester);
+        Semester semester = RegistrarDriver.semesters.find(sName).orElseGet(TaskSwitcher::createSemester);
 
         System.out.println(Color.YELLOW.value + "Enter Course Code: (Enter 'show' to view available courses) "
                 + Color.RESET.value);
@@ -658,7 +646,7 @@ public class TaskSwitcher {
                 if (semesterName.trim().toLowerCase().contains("show")) {
                     System.out.println(Color.YELLOW.value + "Available Semesters: " + Color.RESET.value);
                     System.out.println(Color.YELLOW.value +
-                            RegistrarDriver.semesters.values().stream().map(s -> s.getSemesterName())
+                            RegistrarDriver.semesters.keySet().stream()
                                     .reduce((s1, s2) -> s1 + "\n-----------------------------------\n" + s2)
                                     .orElse("No Semesters Available\n")
                             + Color.RESET.value);
@@ -672,27 +660,153 @@ public class TaskSwitcher {
         }
 
         String sName = semesterName;
-        Optional<Semester> semesteropt = RegistrarDriver.semesters.values().stream()
-                .filter(s -> s.getSemesterName().trim().toLowerCase().equals(sName.trim().toLowerCase()))
-                .findAny();
+        Optional<Semester> semesteropt = RegistrarDriver.semesters.find(sName);
         if (!semesteropt.isPresent()) {
 
             System.out.println(Color.YELLOW.value + "Semester not found" + Color.RESET.value);
+        } else if (semesteropt.get().isArchived()) {
+            System.out.println(Color.YELLOW.value + semesteropt.get().getArchive().get() + Color.RESET.value);
         } else {
-            Semester semester = semesteropt.get();
+            SemesterSnapshot semester = semesteropt.get().getSnapshot();
 
             System.out.println(Color.YELLOW.value + semester + Color.RESET.value);
 
             System.out.println(Color.YELLOW.value + "Details are as follows: " + Color.RESET.value);
             System.out.println(Color.YELLOW.value + "Registered Courses: " + Color.RESET.value);
-            semester.getRegisteredCourses().stream()
+            semester.getCourses().stream()
                     .forEach((c1) -> System.out
-                            .println(Color.YELLOW.value + c1 + "\n" + c1.getTeacher() + "\n" + c1.getEnrolledStudents()
+                            .println(Color.YELLOW.value + c1 + "\n" + c1.teacher() + "\n" + c1.students()
                                     + "\n-----------------------------------\n" + Color.RESET.value));
         }
 
     };
 
+    private static Runnable action14 = () -> {
+        System.out.println(Color.YELLOW.value + "Registrar Statistics" + Color.RESET.value);
+        System.out.println(Color.YELLOW.value + RegistrarMetrics.report() + Color.RESET.value);
+    };
+
+    private static Runnable action15 = () -> {
+        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+        System.out.println(Color.YELLOW.value + "Enter the directory of the CSV files (empty for "
+                + RegistrarDriver.RESOURCES + "): " + Color.RESET.value);
+        try {
+            String directory = br.readLine();
+            Path path = directory == null || directory.isBlank() ? RegistrarDriver.RESOURCES
+                    : Path.of(directory.trim());
+            List<DeltaImporter.Report> reports = DeltaImporter.importDirectory(path);
+            if (reports.isEmpty()) {
+                System.out.println(Color.YELLOW.value + "No resource files found in " + path + Color.RESET.value);
+            }
+            reports.forEach(report -> System.out.println(Color.YELLOW.value + report + Color.RESET.value));
+        } catch (IOException | InvalidPathException e) {
+            System.out.println(Color.YELLOW.value + "Import failed: " + e.getMessage() + Color.RESET.value);
+        }
+    };
+
+    private static Runnable action16 = () -> {
+        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+        try {
+            System.out.println(Color.YELLOW.value + "Enter the directory to export to (empty for export): "
+                    + Color.RESET.value);
+            String directory = br.readLine();
+            System.out.println(Color.YELLOW.value + "Enter the format (csv or jsonl): " + Color.RESET.value);
+            String format = br.readLine();
+            System.out.println(Color.YELLOW.value + "Compress with gzip? (y/n): " + Color.RESET.value);
+            String gzip = br.readLine();
+            RegistrarExporter exporter = new RegistrarExporter(
+                    RegistrarExporter.Format.valueOf(format.trim().toUpperCase()),
+                    gzip != null && gzip.trim().equalsIgnoreCase("y"));
+            Path path = Path.of(directory == null || directory.isBlank() ? "export" : directory.trim());
+            System.out.println(Color.YELLOW.value + exporter.export(path) + Color.RESET.value);
+        } catch (IOException | InvalidPathException e) {
+            System.out.println(Color.YELLOW.value + "Export failed: " + e.getMessage() + Color.RESET.value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            System.out.println(Color.YELLOW.value + "Invalid format. Please enter csv or jsonl" + Color.RESET.value);
+        }
+    };
+
+    private static Runnable action17 = () -> {
+        RoomUtilization utilization = new RoomUtilization(RegistrarDriver.courses.values());
+        System.out.println(Color.YELLOW.value + utilization + Color.RESET.value);
+        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+        try {
+            System.out.println(Color.YELLOW.value + "Find a free room? Enter the day (empty to skip): "
+                    + Color.RESET.value);
+            String day = br.readLine();
+            if (day == null || day.isBlank()) {
+                return;
+            }
+            System.out.println(Color.YELLOW.value + "Enter the start time (HH:mm): " + Color.RESET.value);
+            LocalTime start = LocalTime.parse(br.readLine().trim(), DateTimeFormatter.ofPattern("HH:mm"));
+            System.out.println(Color.YELLOW.value + "Enter the end time (HH:mm): " + Color.RESET.value);
+            LocalTime end = LocalTime.parse(br.readLine().trim(), DateTimeFormatter.ofPattern("HH:mm"));
+            System.out.println(Color.YELLOW.value + "Enter the number of seats: " + Color.RESET.value);
+            int seats = Integer.parseInt(br.readLine().trim());
+            List<String> rooms = utilization.findFreeRooms(DayOfWeek.valueOf(day.trim().toUpperCase()), start, end,
+                    seats);
+            System.out.println(Color.YELLOW.value + (rooms.isEmpty() ? "No free room" : "Free rooms: " + rooms)
+                    + Color.RESET.value);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (DateTimeParseException e) {
+            System.out.println(Color.YELLOW.value + "Invalid time. Please use HH:mm" + Color.RESET.value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            System.out.println(Color.YELLOW.value + "Invalid day or number of seats" + Color.RESET.value);
+        }
+    };
+
+    private static Runnable action18 = () -> {
+        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+        try {
+            System.out.println(Color.YELLOW.value + "Enter Course ID: " + Color.RESET.value);
+            Course course = RegistrarDriver.courses.get(br.readLine().trim());
+            if (course == null) {
+                System.out.println(Color.YELLOW.value + "Course not found" + Color.RESET.value);
+                return;
+            }
+            System.out.println(Color.YELLOW.value + "Enter the session length in minutes: " + Color.RESET.value);
+            Duration duration = Duration.ofMinutes(Integer.parseInt(br.readLine().trim()));
+            List<Person> persons = FreeSlotFinder.participants(course);
+            List<FreeSlotFinder.Slot> slots = new FreeSlotFinder().find(persons, duration, 10);
+            System.out.println(Color.YELLOW.value + "Best times for " + persons.size() + " people:"
+                    + Color.RESET.value);
+            slots.forEach(slot -> System.out.println(Color.YELLOW.value + slot.day() + " " + slot.start() + " - "
+                    + slot.end() + (slot.conflicts() == 0 ? " (everyone is free)"
+                            : " (" + slot.conflicts() + " busy)")
+                    + Color.RESET.value));
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (IllegalArgumentException | NullPointerException e) {
+            System.out.println(Color.YELLOW.value + "Invalid session length" + Color.RESET.value);
+        }
+    };
+
+    private static Runnable action19 = () -> {
+        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+        try {
+            System.out.println(Color.YELLOW.value + "Enter the archive directory (default: archive): "
+                    + Color.RESET.value);
+            String line = br.readLine().trim();
+            Path directory = Path.of(line.isEmpty() ? "archive" : line);
+            LocalDate today = LocalDate.now();
+            int archived = 0;
+            for (Semester semester : RegistrarDriver.semesters.getPopulated()) {
+                // Archived semesters and ones left without registrations have nothing to write
+                if (semester.holdsRegistrations() && semester.isClosed(today)) {
+                    semester.archive(directory);
+                    archived++;
+                }
+            }
+            System.out.println(Color.YELLOW.value + "Archived " + archived + " semesters to " + directory
+                    + Color.RESET.value);
+        } catch (InvalidPathException e) {
+            System.out.println(Color.YELLOW.value + "Invalid directory" + Color.RESET.value);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    };
+
     /**
      * A switcher that returns a task to be executed on another thread by the
      * Regiatrar.
@@ -709,50 +823,83 @@ public class TaskSwitcher {
      * Action 11: show all details of a semester
      * Action 12: Enter Student Grade
      * Action 13: Calculate student GPA
+     * Action 14: Show statistics
+     * Action 15: Import new and changed rows of the CSV files
+     * Action 16: Export registrar data to CSV or JSON Lines
+     * Action 17: Show room utilization and find free rooms
+     * Action 18: Find free times for a course's students and teacher
+     * Action 19: Archive the semesters that are over
      * Action 0: Exit
+     * Every action is timed and counted in RegistrarMetrics.
      * 
      * @param input the action code to be executed
      * @return Task To be executed on another thread by the Regiatrar
      *
      */
     public static Task get(int input) {
+        Runnable action;
         switch (input) {
             case 1:
-                return new Task(input, action1);
-
+                action = action1;
+                break;
             case 2:
-                return new Task(input, action2);
-
+                action = action2;
+                break;
             case 3:
-                return new Task(input, action3);
-
+                action = action3;
+                break;
             case 4:
-                return new Task(input, action4);
-
+                action = action4;
+                break;
             case 5:
-                return new Task(input, action5);
-
+                action = action5;
+                break;
             case 6:
-                return new Task(input, action6);
-
+                action = action6;
+                break;
             case 7:
-                return new Task(input, action7);
-
+                action = action7;
+                break;
             case 8:
-                return new Task(input, action8);
+                action = action8;
+                break;
             case 9:
-                return new Task(input, action9);
+                action = action9;
+                break;
             case 10:
-                return new Task(input, action10);
+                action = action10;
+                break;
             case 11:
-                return new Task(input, action11);
+                action = action11;
+                break;
             case 12:
-                return new Task(input, action12);
+                action = action12;
+                break;
             case 13:
-                return new Task(input, action13);
+                action = action13;
+                break;
+            case 14:
+                action = action14;
+                break;
+            case 15:
+                action = action15;
+                break;
+            case 16:
+                action = action16;
+                break;
+            case 17:
+                action = action17;
+                break;
+            case 18:
+                action = action18;
+                break;
+            case 19:
+                action = action19;
+                break;
 
             default:
                 return new Task(input);
         }
+        return new Task(input, RegistrarMetrics.timed("action" + input, action));
     }
 }
\ No newline at end of file
@@ -0,0 +1,346 @@
+package object_orienters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns teachers to the courses of a semester that have none.
+ * A course can be taught by the teachers of its faculty: teachers of the
+ * course's own specialization are preferred, and university requirement
+ * courses can be taught by any teacher of the faculty. A teacher only gets a
+ * course if they are free on all its weekly meetings and it keeps them within
+ * the maximum credit load.
+ * Faculties share no teachers, so each faculty is solved on its own and in
+ * parallel. Within a faculty, courses are handed out in rounds: every round is
+ * a minimum-cost bipartite matching between the courses left and the teachers
+ * who can still take one of them, where a course costs more for a teacher
+ * outside its specialization and for a teacher who already has a heavier
+ * load. The rounds stop when no course left can be given to anyone.
+ */
+public class TeacherAssignment {
+    /**
+     * The credit load a teacher may reach when none is given.
+     */
+    public static final int DEFAULT_MAX_CREDIT_LOAD = 12;
+
+    // Added to the cost of a course taught outside its specialization, larger
+    // than any difference in credit load so a specialist always wins
+    private static final long SPECIALIZATION_PENALTY = 1_000;
+
+    /**
+     * The outcome of an assignment.
+     *
+     * @param assignments The teacher chosen for each course.
+     * @param unassigned  The courses no teacher could take.
+     * @param cost        The total cost of the assignments.
+     */
+    public record Result(Map<Course, Teacher> assignments, List<Course> unassigned, long cost) {
+    }
+
+    private static final Comparator<Course> BY_ID = Comparator.comparing(Course::getCourseID);
+
+    private final Semester semester;
+    private final int maxCreditLoad;
+
+    /**
+     * Creates an assignment engine for a semester with the default maximum
+     * credit load.
+     *
+     * @param semester The semester the courses are taught in.
+     */
+    public TeacherAssignment(Semester semester) {
+        this(semester, DEFAULT_MAX_CREDIT_LOAD);
+    }
+
+    /**
+     * Creates an assignment engine for a semester.
+     *
+     * @param semester      The semester the courses are taught in.
+     * @param maxCreditLoad The most credit hours a teacher may teach.
+     */
+    public TeacherAssignment(Semester semester, int maxCreditLoad) {
+        this.semester = semester;
+        this.maxCreditLoad = maxCreditLoad;
+    }
+
+    /**
+     * Finds teachers for every registered course of the semester that has none.
+     *
+     * @return The assignments found; nothing is changed yet.
+     */
+    public Result assignUnstaffed() {
+        return assign(semester.getRegisteredCourses());
+    }
+
+    /**
+     * Finds teachers for the given courses that have none. Courses that already
+     * have a teacher in the semester are ignored.
+     *
+     * @param courses The courses to staff, registered in the semester or not.
+     * @return The assignments found; nothing is changed yet.
+     */
+    public Result assign(Collection<Course> courses) {
+        Map<Faculty, List<Course>> byFaculty = courses.stream()
+                .filter(course -> semester.getOffering(course).flatMap(CourseOffering::getTeacher).isEmpty())
+                .distinct()
+                .collect(Collectors.groupingBy(Course::getCourseFaculty));
+        List<Result> results = byFaculty.entrySet().parallelStream()
+                .map(entry -> new FacultyRounds(entry.getKey(), entry.getValue()).solve())
+                .toList();
+
+        Map<Course, Teacher> assignments = new LinkedHashMap<>();
+        List<Course> unassigned = new ArrayList<>();
+        long cost = 0;
+        for (Result result : results) {
+            assignments.putAll(result.assignments());
+            unassigned.addAll(result.unassigned());
+            cost += result.cost();
+        }
+        unassigned.sort(BY_ID);
+        return new Result(assignments, unassigned, cost);
+    }
+
+    /**
+     * Registers the courses of an assignment in the semester with their chosen
+     * teachers.
+     *
+     * @param result The assignment to apply.
+     * @return The number of courses that now have their chosen teacher.
+     */
+    public int apply(Result result) {
+        int applied = 0;
+        for (Map.Entry<Course, Teacher> entry : result.assignments().entrySet()) {
+            Course course = entry.getKey();
+            semester.registerInACourse(course, List.of(), entry.getValue());
+            if (semester.getOffering(course).flatMap(CourseOffering::getTeacher)
+                    .filter(entry.getValue()::equals).isPresent()) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    // The cost of a teacher taking a course, or -1 if they cannot
+    private long cost(Teacher teacher, Course course, int load, List<Course> planned) {
+        if (load + course.getCreditHours() > maxCreditLoad) {
+            return -1;
+        }
+        for (Course other : planned) {
+            if (semester.hasTimeConflict(course, other)) {
+                return -1;
+            }
+        }
+        if (!semester.isFreeFor(teacher, course)) {
+            return -1;
+        }
+        boolean specialist = course.getSpecialization()
+                .map(specialization -> specialization.equals(teacher.getSpecialization()))
+                .orElse(true);
+        return (specialist ? 0 : SPECIALIZATION_PENALTY) + load;
+    }
+
+    // Hands out the courses of one faculty in rounds of minimum-cost matchings
+    private final class FacultyRounds {
+        private final List<Course> courses;
+        private final Teacher[] teachers;
+        private final int[] load;
+        private final List<List<Course>> planned;
+
+        FacultyRounds(Faculty faculty, List<Course> courses) {
+            this.courses = new ArrayList<>(courses);
+            this.courses.sort(BY_ID);
+            this.teachers = faculty.getTeachers().stream()
+                    .sorted(Comparator.comparingInt(Teacher::getId))
+                    .toArray(Teacher[]::new);
+            this.load = new int[teachers.length];
+            this.planned = new ArrayList<>(teachers.length);
+            for (int t = 0; t < teachers.length; t++) {
+                load[t] = teachers[t].getCreditLoad();
+                planned.add(new ArrayList<>());
+            }
+        }
+
+        Result solve() {
+            Map<Course, Teacher> assignments = new LinkedHashMap<>();
+            List<Course> left = courses;
+            long total = 0;
+            while (!left.isEmpty()) {
+                Matching matching = new Matching(left.size(), teachers.length);
+                for (int c = 0; c < left.size(); c++) {
+                    for (int t = 0; t < teachers.length; t++) {
+                        long cost = cost(teachers[t], left.get(c), load[t], planned.get(t));
+                        if (cost >= 0) {
+                            matching.addEdge(c, t, cost);
+                        }
+                    }
+                }
+                int[] teacherOf = matching.solve();
+                List<Course> next = new ArrayList<>();
+                for (int c = 0; c < left.size(); c++) {
+                    Course course = left.get(c);
+                    int t = teacherOf[c];
+                    if (t < 0) {
+                        next.add(course);
+                        continue;
+                    }
+                    assignments.put(course, teachers[t]);
+                    planned.get(t).add(course);
+                    load[t] += course.getCreditHours();
+                }
+                total += matching.getCost();
+                if (next.size() == left.size()) {
+                    break;
+                }
+                left = next;
+            }
+            return new Result(assignments, List.copyOf(left), total);
+        }
+    }
+
+    /**
+     * A minimum-cost maximum matching between courses and teachers, found by
+     * successive shortest augmenting paths with Dijkstra over reduced costs.
+     */
+    static final class Matching {
+        private final int courses;
+        private final int nodes;
+        private final int source;
+        private final int sink;
+        private int[] head;
+        private int[] next = new int[16];
+        private int[] to = new int[16];
+        private int[] capacity = new int[16];
+        private long[] cost = new long[16];
+        private int edges;
+        private long total;
+
+        /**
+         * Creates an empty matching problem.
+         *
+         * @param courses  The number of courses.
+         * @param teachers The number of teachers.
+         */
+        Matching(int courses, int teachers) {
+            this.courses = courses;
+            this.nodes = courses + teachers + 2;
+            this.source = nodes - 2;
+            this.sink = nodes - 1;
+            this.head = new int[nodes];
+            Arrays.fill(head, -1);
+            for (int c = 0; c < courses; c++) {
+                link(source, c, 0);
+            }
+            for (int t = 0; t < teachers; t++) {
+                link(courses + t, sink, 0);
+            }
+        }
+
+        /**
+         * Allows a course to be matched with a teacher.
+         *
+         * @param course  The course's index.
+         * @param teacher The teacher's index.
+         * @param weight  The non-negative cost of the pair.
+         */
+        void addEdge(int course, int teacher, long weight) {
+            link(course, courses + teacher, weight);
+        }
+
+        private void link(int from, int target, long weight) {
+            if (edges + 2 > to.length) {
+                int size = to.length * 2;
+                next = Arrays.copyOf(next, size);
+                to = Arrays.copyOf(to, size);
+                capacity = Arrays.copyOf(capacity, size);
+                cost = Arrays.copyOf(cost, size);
+            }
+            addArc(from, target, 1, weight);
+            addArc(target, from, 0, -weight);
+        }
+
+        private void addArc(int from, int target, int cap, long weight) {
+            to[edges] = target;
+            capacity[edges] = cap;
+            cost[edges] = weight;
+            next[edges] = head[from];
+            head[from] = edges++;
+        }
+
+        /**
+         * Matches as many courses as possible at the lowest total cost.
+         *
+         * @return The teacher index of each course, or -1 if it is unmatched.
+         */
+        int[] solve() {
+            long[] potential = new long[nodes];
+            long[] distance = new long[nodes];
+            int[] via = new int[nodes];
+            while (true) {
+                Arrays.fill(distance, Long.MAX_VALUE);
+                Arrays.fill(via, -1);
+                distance[source] = 0;
+                PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[0]));
+                queue.add(new long[] { 0, source });
+                while (!queue.isEmpty()) {
+                    long[] entry = queue.poll();
+                    int node = (int) entry[1];
+                    if (entry[0] > distance[node]) {
+                        continue;
+                    }
+                    for (int e = head[node]; e >= 0; e = next[e]) {
+                        if (capacity[e] == 0) {
+                            continue;
+                        }
+                        long reduced = distance[node] + cost[e] + potential[node] - potential[to[e]];
+                        if (reduced < distance[to[e]]) {
+                            distance[to[e]] = reduced;
+                            via[to[e]] = e;
+                            queue.add(new long[] { reduced, to[e] });
+                        }
+                    }
+                }
+                if (distance[sink] == Long.MAX_VALUE) {
+                    break;
+                }
+                for (int node = 0; node < nodes; node++) {
+                    if (distance[node] != Long.MAX_VALUE) {
+                        potential[node] += distance[node];
+                    }
+                }
+                // Every augmenting path carries one unit from the source to the sink
+                for (int node = sink; node != source; node = to[via[node] ^ 1]) {
+                    capacity[via[node]]--;
+                    capacity[via[node] ^ 1]++;
+                    total += cost[via[node]];
+                }
+            }
+
+            int[] teacherOf = new int[courses];
+            Arrays.fill(teacherOf, -1);
+            for (int c = 0; c < courses; c++) {
+                for (int e = head[c]; e >= 0; e = next[e]) {
+                    if (to[e] >= courses && to[e] < source && capacity[e] == 0 && (e & 1) == 0) {
+                        teacherOf[c] = to[e] - courses;
+                    }
+                }
+            }
+            return teacherOf;
+        }
+
+        /**
+         * Retrieves the total cost of the matching found by solve.
+         *
+         * @return The sum of the costs of the matched pairs.
+         */
+        long getCost() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package object_orienters;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The completed courses of a student with their grade points.
+ * Grades are kept in primitive arrays, with the credit hours of each course
+ * alongside, and found through an open-addressing table on the course's dense
+ * ID. The running sums of grade points and credit hours make the GPA O(1), and
+ * the indexed accessors walk the transcript without allocating.
+ * The transcript is also a Map from Course to grade points, for code that only
+ * needs a map.
+ * A student's transcript appends a GradeEntered or GradeRemoved event to the
+ * registrar's event log for every grade changed through it directly, so the
+ * stores following the log see those changes too; grades entered through
+ * Student.enterCourseGrade are logged once, by the student.
+ */
+public final class Transcript extends AbstractMap<Course, Double> {
+    private Course[] courses = new Course[4];
+    private int[] denseIds = new int[4];
+    private float[] points = new float[4];
+    private int[] credits = new int[4];
+    // Index + 1 of the course in the arrays, 0 for an empty slot
+    private int[] slots = new int[8];
+    private int size;
+    private double totalPoints;
+    private int totalCredits;
+    private int modifications;
+    private volatile int version;
+    // The ID of the student whose changes are logged, or -1 for none
+    private final int studentId;
+
+    /**
+     * Constructs a new, empty Transcript whose changes are not logged.
+     */
+    public Transcript() {
+        this(-1);
+    }
+
+    /**
+     * Constructs a new, empty Transcript of a student.
+     *
+     * @param studentId The student's ID.
+     */
+    Transcript(int studentId) {
+        this.studentId = studentId;
+    }
+
+    /**
+     * Records the grade points of a course, replacing any earlier grade of it.
+     *
+     * @param course The completed course.
+     * @param grade  The grade points.
+     * @return The grade points replaced, or NaN if the course was not completed
+     *         before.
+     */
+    public double putPoints(Course course, double grade) {
+        double previous = record(course, grade);
+        if (studentId >= 0) {
+            int creditHours = credits[indexOf(course.getDenseId())];
+            RegistrarEventLog.record(today -> new DomainEvent.GradeEntered(today, "", studentId, course.getCourseID(),
+                    -1, creditHours, grade, Double.isNaN(previous) ? -1 : previous));
+        }
+        return previous;
+    }
+
+    /**
+     * Records the grade points of a course like putPoints, without logging the
+     * change, for callers that log an event of their own.
+     *
+     * @param course The completed course.
+     * @param grade  The grade points.
+     * @return The grade points replaced, or NaN if the course was not completed
+     *         before.
+     */
+    double record(Course course, double grade) {
+        int index = indexOf(course.getDenseId());
+        if (index >= 0) {
+            double previous = points[index];
+            points[index] = (float) grade;
+            totalPoints += points[index] - previous;
+            version++;
+            return previous;
+        }
+        if (size == courses.length) {
+            int capacity = 2 * size;
+            courses = Arrays.copyOf(courses, capacity);
+            denseIds = Arrays.copyOf(denseIds, capacity);
+            points = Arrays.copyOf(points, capacity);
+            credits = Arrays.copyOf(credits, capacity);
+        }
+        courses[size] = course;
+        denseIds[size] = course.getDenseId();
+        points[size] = (float) grade;
+        credits[size] = course.getCreditHours();
+        totalPoints += points[size];
+        totalCredits += credits[size];
+        size++;
+        if (2 * size > slots.length) {
+            slots = new int[2 * slots.length];
+            reindex();
+        } else {
+            insert(size - 1);
+        }
+        modifications++;
+        version++;
+        return Double.NaN;
+    }
+
+    /**
+     * Retrieves the grade points of a course.
+     *
+     * @param course The course.
+     * @return The grade points, or NaN if the course was not completed.
+     */
+    public double getPoints(Course course) {
+        int index = indexOf(course.getDenseId());
+        return index < 0 ? Double.NaN : points[index];
+    }
+
+    /**
+     * Checks whether a course was completed.
+     *
+     * @param course The course.
+     * @return true if the course has a grade.
+     */
+    public boolean hasCompleted(Course course) {
+        return indexOf(course.getDenseId()) >= 0;
+    }
+
+    /**
+     * Retrieves the completed course at a position of the transcript.
+     *
+     * @param i The position, from 0 to size() - 1.
+     * @return The course.
+     */
+    public Course courseAt(int i) {
+        return courses[check(i)];
+    }
+
+    /**
+     * Retrieves the grade points at a position of the transcript.
+     *
+     * @param i The position, from 0 to size() - 1.
+     * @return The grade points.
+     */
+    public float pointsAt(int i) {
+        return points[check(i)];
+    }
+
+    /**
+     * Retrieves the credit hours of the course at a position of the transcript,
+     * as they were when the grade was first entered.
+     *
+     * @param i The position, from 0 to size() - 1.
+     * @return The credit hours.
+     */
+    public int creditsAt(int i) {
+        return credits[check(i)];
+    }
+
+    /**
+     * Retrieves the sum of the grade points of all completed courses.
+     *
+     * @return The total grade points.
+     */
+    public double getTotalPoints() {
+        return totalPoints;
+    }
+
+    /**
+     * Retrieves the sum of the credit hours of all completed courses.
+     *
+     * @return The total credit hours.
+     */
+    public int getTotalCredits() {
+        return totalCredits;
+    }
+
+    /**
+     * Retrieves the transcript's version, which goes up every time a grade is
+     * recorded, changed or removed.
+     *
+     * @return The version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    private int check(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        return i;
+    }
+
+    private static int hash(int denseId) {
+        return denseId * 0x9E3779B9;
+    }
+
+    private int indexOf(int denseId) {
+        int mask = slots.length - 1;
+        for (int slot = hash(denseId) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (denseIds[slots[slot] - 1] == denseId) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(int index) {
+        int mask = slots.length - 1;
+        int slot = hash(denseIds[index]) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = index + 1;
+    }
+
+    private void reindex() {
+        Arrays.fill(slots, 0);
+        for (int i = 0; i < size; i++) {
+            insert(i);
+        }
+    }
+
+    private void removeAt(int index) {
+        logRemoval(index);
+        totalPoints -= points[index];
+        totalCredits -= credits[index];
+        size--;
+        courses[index] = courses[size];
+        denseIds[index] = denseIds[size];
+        points[index] = points[size];
+        credits[index] = credits[size];
+        courses[size] = null;
+        reindex();
+        modifications++;
+        version++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Course course && hasCompleted(course);
+    }
+
+    @Override
+    public Double get(Object key) {
+        if (!(key instanceof Course course)) {
+            return null;
+        }
+        int index = indexOf(course.getDenseId());
+        return index < 0 ? null : (double) points[index];
+    }
+
+    @Override
+    public Double put(Course course, Double grade) {
+        double previous = putPoints(course, grade);
+        return Double.isNaN(previous) ? null : previous;
+    }
+
+    @Override
+    public Double remove(Object key) {
+        if (!(key instanceof Course course)) {
+            return null;
+        }
+        int index = indexOf(course.getDenseId());
+        if (index < 0) {
+            return null;
+        }
+        double previous = points[index];
+        removeAt(index);
+        return previous;
+    }
+
+    private void logRemoval(int index) {
+        if (studentId >= 0) {
+            String courseId = courses[index].getCourseID();
+            int creditHours = credits[index];
+            double grade = points[index];
+            RegistrarEventLog.record(today -> new DomainEvent.GradeRemoved(today, studentId, courseId, creditHours,
+                    grade));
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            logRemoval(i);
+        }
+        Arrays.fill(courses, 0, size, null);
+        Arrays.fill(slots, 0);
+        size = 0;
+        totalPoints = 0;
+        totalCredits = 0;
+        modifications++;
+        version++;
+    }
+
+    @Override
+    public Set<Map.Entry<Course, Double>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Iterator<Map.Entry<Course, Double>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+                    private int last = -1;
+                    private int expected = modifications;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size;
+                    }
+
+                    @Override
+                    public Map.Entry<Course, Double> next() {
+                        if (expected != modifications) {
+                            throw new ConcurrentModificationException();
+                        }
+                        if (next >= size) {
+                            throw new NoSuchElementException();
+                        }
+                        last = next++;
+                        int index = last;
+                        return new AbstractMap.SimpleEntry<>(courses[index], (double) points[index]) {
+                            @Override
+                            public Double setValue(Double value) {
+                                putPoints(getKey(), value);
+                                return super.setValue(value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last < 0) {
+                            throw new IllegalStateException();
+                        }
+                        removeAt(last);
+                        next = last;
+                        last = -1;
+                        expected = modifications;
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,236 @@
+package object_orienters;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * The minutes of a week that are booked, one bit per minute.
+ * Minutes are counted from Monday 00:00, and every range is half-open: a
+ * meeting from 10:00 to 10:50 books the minutes 10:00 up to 10:49, so it does
+ * not touch a meeting starting at 10:50. Ranges are clamped to their day, so a
+ * meeting running past midnight only books its own day.
+ * Setting, clearing and testing a range touch whole 64-minute words at a time.
+ */
+public final class WeekBitmap {
+    /**
+     * The number of minutes in a day.
+     */
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * The number of minutes in a week.
+     */
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private static final int WORDS = (MINUTES_PER_WEEK + 63) / 64;
+
+    private final long[] words;
+
+    /**
+     * Constructs a new WeekBitmap with every minute free.
+     */
+    public WeekBitmap() {
+        this.words = new long[WORDS];
+    }
+
+    private WeekBitmap(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Retrieves the minute of the day a time falls in.
+     *
+     * @param time The time of day.
+     * @return The minutes since midnight.
+     */
+    public static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Retrieves the minute of the week a day's minute falls in.
+     *
+     * @param day    The day.
+     * @param minute The minute of the day.
+     * @return The minutes since Monday 00:00.
+     */
+    public static int minuteOfWeek(DayOfWeek day, int minute) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + minute;
+    }
+
+    /**
+     * Books the minutes of a weekly meeting.
+     *
+     * @param meeting The weekly meeting.
+     * @return The number of those minutes that were already booked.
+     */
+    public int add(WeeklyMeeting meeting) {
+        int midnight = minuteOfWeek(meeting.getDay(), 0);
+        int start = meeting.getStartMinute() - midnight;
+        int end = meeting.getEndMinute() - midnight;
+        int overlap = count(meeting.getDay(), start, end);
+        set(meeting.getDay(), start, end);
+        return overlap;
+    }
+
+    /**
+     * Books a range of minutes.
+     *
+     * @param day  The day.
+     * @param from The first minute of the day booked.
+     * @param to   The minute of the day the booking ends at, excluded.
+     */
+    public void set(DayOfWeek day, int from, int to) {
+        int start = clampedStart(day, from);
+        int end = clampedEnd(day, to);
+        if (start >= end) {
+            return;
+        }
+        int first = start >>> 6;
+        int last = (end - 1) >>> 6;
+        long firstMask = -1L << start;
+        long lastMask = -1L >>> -end;
+        if (first == last) {
+            words[first] |= firstMask & lastMask;
+            return;
+        }
+        words[first] |= firstMask;
+        Arrays.fill(words, first + 1, last, -1L);
+        words[last] |= lastMask;
+    }
+
+    /**
+     * Frees a range of minutes.
+     *
+     * @param day  The day.
+     * @param from The first minute of the day freed.
+     * @param to   The minute of the day the range ends at, excluded.
+     */
+    public void clear(DayOfWeek day, int from, int to) {
+        int start = clampedStart(day, from);
+        int end = clampedEnd(day, to);
+        if (start >= end) {
+            return;
+        }
+        int first = start >>> 6;
+        int last = (end - 1) >>> 6;
+        long firstMask = -1L << start;
+        long lastMask = -1L >>> -end;
+        if (first == last) {
+            words[first] &= ~(firstMask & lastMask);
+            return;
+        }
+        words[first] &= ~firstMask;
+        Arrays.fill(words, first + 1, last, 0L);
+        words[last] &= ~lastMask;
+    }
+
+    /**
+     * Counts the booked minutes of a range.
+     *
+     * @param day  The day.
+     * @param from The first minute of the day counted.
+     * @param to   The minute of the day the range ends at, excluded.
+     * @return The number of booked minutes in the range.
+     */
+    public int count(DayOfWeek day, int from, int to) {
+        int start = clampedStart(day, from);
+        int end = clampedEnd(day, to);
+        if (start >= end) {
+            return 0;
+        }
+        int first = start >>> 6;
+        int last = (end - 1) >>> 6;
+        long firstMask = -1L << start;
+        long lastMask = -1L >>> -end;
+        if (first == last) {
+            return Long.bitCount(words[first] & firstMask & lastMask);
+        }
+        int count = Long.bitCount(words[first] & firstMask);
+        for (int i = first + 1; i < last; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count + Long.bitCount(words[last] & lastMask);
+    }
+
+    /**
+     * Counts the booked minutes of a day.
+     *
+     * @param day The day.
+     * @return The number of booked minutes in the day.
+     */
+    public int count(DayOfWeek day) {
+        return count(day, 0, MINUTES_PER_DAY);
+    }
+
+    /**
+     * Checks whether no minute of a range is booked.
+     *
+     * @param day  The day.
+     * @param from The first minute of the day checked.
+     * @param to   The minute of the day the range ends at, excluded.
+     * @return true if the whole range is free, false otherwise.
+     */
+    public boolean isFree(DayOfWeek day, int from, int to) {
+        int start = clampedStart(day, from);
+        int end = clampedEnd(day, to);
+        if (start >= end) {
+            return true;
+        }
+        int first = start >>> 6;
+        int last = (end - 1) >>> 6;
+        long firstMask = -1L << start;
+        long lastMask = -1L >>> -end;
+        if (first == last) {
+            return (words[first] & firstMask & lastMask) == 0;
+        }
+        if ((words[first] & firstMask) != 0 || (words[last] & lastMask) != 0) {
+            return false;
+        }
+        for (int i = first + 1; i < last; i++) {
+            if (words[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Books every minute booked in another bitmap.
+     *
+     * @param other The other bitmap.
+     */
+    public void or(WeekBitmap other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    /**
+     * Retrieves a copy of this bitmap.
+     *
+     * @return A bitmap with the same minutes booked.
+     */
+    public WeekBitmap copy() {
+        return new WeekBitmap(words.clone());
+    }
+
+    private static int clampedStart(DayOfWeek day, int from) {
+        return minuteOfWeek(day, Math.max(0, Math.min(MINUTES_PER_DAY, from)));
+    }
+
+    private static int clampedEnd(DayOfWeek day, int to) {
+        return minuteOfWeek(day, Math.max(0, Math.min(MINUTES_PER_DAY, to)));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof WeekBitmap && Arrays.equals(words, ((WeekBitmap) obj).words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
@@ -3,10 +3,20 @@ package object_orienters;
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a weekly meeting of a course.
  * A weekly meeting has a day, duration, room, and hour.
+ * For conflict checks a meeting is the half-open interval of minutes of the
+ * week [start, end): it ends right before the minute it is over, so a meeting
+ * from 9:00 to 10:00 does not conflict with one starting at 10:00. Meetings
+ * end at midnight at the latest.
+ * Courses, schedules and conflict matrices precompute data from a meeting, so
+ * to move a meeting, give its course a copy made with one of the with methods
+ * through Course.setWeeklyMeetings. The deprecated setters still change a
+ * meeting in place and refresh every course using it.
  */
 public class WeeklyMeeting {
     private DayOfWeek day;
@@ -15,6 +25,10 @@ public class WeeklyMeeting {
     private LocalTime hour;
     private String id;
     private String timeId;
+    private int startMinute;
+    private int endMinute;
+    // The courses meeting at this meeting, refreshed when a setter changes it
+    private final List<Course> courses = new ArrayList<>();
 
     /**
      * Constructs a new WeeklyMeeting with the given day, duration, room, and hour.
@@ -29,20 +43,99 @@ public class WeeklyMeeting {
         this.duration = duration;
         this.room = room;
         this.hour = hour;
+        index();
+    }
+
+    // Derives the ids and the interval of minutes from the day, duration, room and hour
+    private void index() {
         this.timeId = day.name() +
                 " " + duration.toMinutes() +
                 " " + hour.toString();
 
         this.id = timeId + " " + room;
-       
+        int start = WeekBitmap.minuteOf(hour);
+        int end = (int) Math.min(WeekBitmap.MINUTES_PER_DAY, start + duration.toMinutes());
+        this.startMinute = WeekBitmap.minuteOfWeek(day, start);
+        this.endMinute = WeekBitmap.minuteOfWeek(day, Math.max(start, end));
+    }
+
+    // Called by Course when it starts or stops meeting at this meeting
+    synchronized void addCourse(Course course) {
+        if (courses.stream().noneMatch(c -> c == course)) {
+            courses.add(course);
+        }
+    }
+
+    synchronized void removeCourse(Course course) {
+        courses.removeIf(c -> c == course);
+    }
+
+    // Re-derives the meeting after a setter and refreshes the courses using it
+    private void changed() {
+        List<Course> using;
+        synchronized (this) {
+            index();
+            using = List.copyOf(courses);
+        }
+        using.forEach(Course::meetingsChanged);
+    }
+
+    /**
+     * Checks whether two half-open intervals of minutes overlap.
+     *
+     * @param aStart The first minute of the first interval.
+     * @param aEnd   The end of the first interval, excluded.
+     * @param bStart The first minute of the second interval.
+     * @param bEnd   The end of the second interval, excluded.
+     * @return true if some minute is in both intervals, false otherwise.
+     */
+    public static boolean overlaps(int aStart, int aEnd, int bStart, int bEnd) {
+        return aStart < bEnd && bStart < aEnd && aStart < aEnd && bStart < bEnd;
+    }
+
+    /**
+     * Retrieves the minute of the week the meeting starts at.
+     *
+     * @return The minutes from Monday 00:00 to the start of the meeting.
+     */
+    public int getStartMinute() {
+        return startMinute;
+    }
+
+    /**
+     * Retrieves the minute of the week the meeting is over at.
+     *
+     * @return The minutes from Monday 00:00 to the end of the meeting.
+     */
+    public int getEndMinute() {
+        return endMinute;
     }
 
     public DayOfWeek getDay() {
         return day;
     }
 
+    /**
+     * Moves the meeting to another day, refreshing the courses that use it.
+     *
+     * @param day The new day.
+     * @deprecated Give the course a copy made with {@link #withDay} through
+     *             Course.setWeeklyMeetings instead.
+     */
+    @Deprecated
     public void setDay(DayOfWeek day) {
         this.day = day;
+        changed();
+    }
+
+    /**
+     * Creates a copy of the meeting on another day.
+     *
+     * @param day The day of the copy.
+     * @return The new meeting.
+     */
+    public WeeklyMeeting withDay(DayOfWeek day) {
+        return new WeeklyMeeting(day, duration, room, hour);
     }
 
     public Duration getDuration() {
@@ -53,20 +146,78 @@ public class WeeklyMeeting {
         return hour;
     }
 
+    /**
+     * Moves the meeting to another start time, refreshing the courses that use
+     * it.
+     *
+     * @param hour The new start time.
+     * @deprecated Give the course a copy made with {@link #withHour} through
+     *             Course.setWeeklyMeetings instead.
+     */
+    @Deprecated
     public void setHour(LocalTime hour) {
         this.hour = hour;
+        changed();
     }
 
+    /**
+     * Changes how long the meeting lasts, refreshing the courses that use it.
+     *
+     * @param duration The new duration.
+     * @deprecated Give the course a copy made with {@link #withDuration}
+     *             through Course.setWeeklyMeetings instead.
+     */
+    @Deprecated
     public void setDuration(Duration duration) {
         this.duration = duration;
+        changed();
+    }
+
+    /**
+     * Creates a copy of the meeting starting at another time.
+     *
+     * @param hour The start time of the copy.
+     * @return The new meeting.
+     */
+    public WeeklyMeeting withHour(LocalTime hour) {
+        return new WeeklyMeeting(day, duration, room, hour);
+    }
+
+    /**
+     * Creates a copy of the meeting lasting another time.
+     *
+     * @param duration The duration of the copy.
+     * @return The new meeting.
+     */
+    public WeeklyMeeting withDuration(Duration duration) {
+        return new WeeklyMeeting(day, duration, room, hour);
     }
 
     public String getRoom() {
         return room;
     }
 
+    /**
+     * Moves the meeting to another room, refreshing the courses that use it.
+     *
+     * @param room The new room.
+     * @deprecated Give the course a copy made with {@link #withRoom} through
+     *             Course.setWeeklyMeetings instead.
+     */
+    @Deprecated
     public void setRoom(String room) {
         this.room = room;
+        changed();
+    }
+
+    /**
+     * Creates a copy of the meeting in another room.
+     *
+     * @param room The room of the copy.
+     * @return The new meeting.
+     */
+    public WeeklyMeeting withRoom(String room) {
+        return new WeeklyMeeting(day, duration, room, hour);
     }
 
     /**
@@ -76,13 +227,9 @@ public class WeeklyMeeting {
      * @return True if the weekly meetings have a time conflict, false otherwise.
      */    
     public boolean hasTimeConflict(WeeklyMeeting weeklyMeeting) {
-        return this.getDay().equals(weeklyMeeting.getDay())
-                   && !(weeklyMeeting.getHour().plus(weeklyMeeting.getDuration()).isBefore(weeklyMeeting.getHour())
-                 || weeklyMeeting.getHour().isAfter(weeklyMeeting.getHour().plus(weeklyMeeting.getDuration())));
+        return overlaps(startMinute, endMinute, weeklyMeeting.startMinute, weeklyMeeting.endMinute);
     }
 
- 
-
     @Override
     public String toString() {
 
@@ -111,9 +258,6 @@ public class WeeklyMeeting {
      * @return True if the weekly meetings have a room conflict, false otherwise.
      */
     public boolean hasRoomConflict(WeeklyMeeting weeklyMeetings) {
-        return this.getDay().equals(weeklyMeetings.getDay())
-                && !this.getHour().plus(this.getDuration()).isBefore(weeklyMeetings.getHour())
-                && !weeklyMeetings.getHour().plus(weeklyMeetings.getDuration()).isBefore(this.getHour())
-                && this.getRoom().equals(weeklyMeetings.getRoom());
+        return hasTimeConflict(weeklyMeetings) && this.getRoom().equals(weeklyMeetings.getRoom());
     }
 }
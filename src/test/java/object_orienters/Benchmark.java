@@ -0,0 +1,86 @@
+package object_orienters;
+
+import java.util.Arrays;
+
+/**
+ * The harness of the throughput benchmarks, which are plain main classes named
+ * *Benchmark next to the tests. Surefire leaves them out, so they never slow
+ * down or flake the build; build them with {@code mvn -B test-compile} and run
+ * one with
+ * {@code java -cp target/classes:target/test-classes object_orienters.ReplayBenchmark}.
+ * Each task is run a few times untimed so the measured rounds run compiled
+ * code, and the fastest and median of the measured rounds are printed.
+ */
+final class Benchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    /**
+     * A task to time.
+     *
+     * @param <T> The type of the task's result.
+     */
+    @FunctionalInterface
+    interface Round<T> {
+        /**
+         * Runs the task once.
+         *
+         * @return The result, kept so the work is not optimized away.
+         * @throws Exception If the task fails.
+         */
+        T run() throws Exception;
+    }
+
+    private Benchmark() {
+    }
+
+    /**
+     * Times a task and prints how long a round takes and how many items it
+     * goes through per second.
+     *
+     * @param name  What the task does.
+     * @param items The number of items one round goes through.
+     * @param unit  What an item is, such as "events" or "MB".
+     * @param round The task.
+     * @param <T>   The type of the task's result.
+     * @return The result of the last round, for the benchmark to check.
+     * @throws Exception If the task fails.
+     */
+    static <T> T measure(String name, double items, String unit, Round<T> round) throws Exception {
+        T result = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            result = round.run();
+        }
+        long[] nanos = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            result = round.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        double median = nanos[MEASURED_ROUNDS / 2];
+        System.out.printf("%-48s best %10.3f ms  median %10.3f ms  %,14.1f %s/s  %8.1f ns per %s%n", name,
+                nanos[0] / 1e6, median / 1e6, items / (median / 1e9), unit, median / items, singular(unit));
+        return result;
+    }
+
+    /**
+     * Stops a benchmark whose result is wrong, since its timing would mean
+     * nothing.
+     *
+     * @param condition What the result must satisfy.
+     * @param message   What went wrong otherwise.
+     */
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    private static String singular(String unit) {
+        if (unit.endsWith("ies")) {
+            return unit.substring(0, unit.length() - 3) + "y";
+        }
+        return unit.endsWith("s") ? unit.substring(0, unit.length() - 1) : unit;
+    }
+}
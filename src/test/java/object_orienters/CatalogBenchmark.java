@@ -0,0 +1,62 @@
+package object_orienters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the heap kept by the specializations of a hundred thousand student
+ * rows when each row builds its own faculty and specialization, as loading
+ * did before the catalog, and when the rows share the catalog's. See
+ * Benchmark for how to run it.
+ */
+class CatalogBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int MAJORS = 20;
+    private static final int FACULTIES = 5;
+
+    // The heap in use after collecting garbage, as far as System.gc allows
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void report(String name, long bytes, List<Specialization> kept) {
+        System.out.printf("%-48s %,12d bytes  %6.1f bytes per row  (%d rows)%n", name, bytes,
+                (double) bytes / ROWS, kept.size());
+    }
+
+    public static void main(String[] args) {
+        String[] majors = new String[MAJORS];
+        String[] faculties = new String[FACULTIES];
+        for (int i = 0; i < MAJORS; i++) {
+            majors[i] = "Bench Major " + i;
+        }
+        for (int i = 0; i < FACULTIES; i++) {
+            faculties[i] = "Bench Faculty " + i;
+        }
+
+        long before = usedHeap();
+        List<Specialization> perRow = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            perRow.add(new Specialization(majors[i % MAJORS], new Faculty(faculties[i % MAJORS % FACULTIES]),
+                    Specialization.Type.MAJOR));
+        }
+        long perRowBytes = usedHeap() - before;
+        report("A specialization and faculty per row", perRowBytes, perRow);
+        perRow = null;
+
+        before = usedHeap();
+        List<Specialization> shared = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            shared.add(Catalog.specialization(majors[i % MAJORS], Catalog.faculty(faculties[i % MAJORS % FACULTIES]),
+                    Specialization.Type.MAJOR));
+        }
+        long sharedBytes = usedHeap() - before;
+        report("The catalog's specializations", sharedBytes, shared);
+        Benchmark.check(RegistrarDriver.specializations.size() == MAJORS,
+                "The catalog holds " + RegistrarDriver.specializations.size() + " specializations");
+    }
+}
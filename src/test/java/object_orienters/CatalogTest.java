@@ -0,0 +1,52 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogTest {
+
+    @Test
+    void testSameNameGivesSameInstance() {
+        Faculty faculty = Catalog.faculty("Catalog Faculty");
+        assertSame(faculty, Catalog.faculty("Catalog Faculty"));
+
+        Specialization major = Catalog.specialization("Catalog Major", faculty, Specialization.Type.MAJOR);
+        assertSame(major, Catalog.specialization("Catalog Major", faculty, Specialization.Type.MAJOR));
+        assertEquals(1, faculty.getSpecializations().size());
+    }
+
+    @Test
+    void testSameNameWithOtherFacultyOrTypeIsRejected() {
+        Faculty faculty = Catalog.faculty("Catalog Faculty");
+        Specialization major = Catalog.specialization("Catalog Major", faculty, Specialization.Type.MAJOR);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Catalog.specialization("Catalog Major", Catalog.faculty("Other"), Specialization.Type.MAJOR));
+        assertThrows(IllegalArgumentException.class,
+                () -> Catalog.specialization("Catalog Major", faculty, Specialization.Type.MINOR));
+        assertSame(major, RegistrarDriver.specializations.get("Catalog Major"));
+        assertEquals(List.of(major), faculty.getSpecializations());
+    }
+
+    @Test
+    void testLoadingCreatesOneSpecializationPerName() {
+        RegistrarDriver.readFiles();
+
+        for (Faculty faculty : RegistrarDriver.faculties.values()) {
+            List<Specialization> specializations = faculty.getSpecializations();
+            assertEquals(specializations.size(), new HashSet<>(specializations).size(), faculty.getName());
+            for (Specialization specialization : specializations) {
+                assertSame(specialization, RegistrarDriver.specializations.get(specialization.getName()));
+            }
+        }
+        Set<Specialization> majors = new HashSet<>();
+        RegistrarDriver.students.values().forEach(s -> majors.add(s.getMajor()));
+        assertTrue(majors.size() <= RegistrarDriver.specializations.size());
+        assertTrue(RegistrarDriver.specializations.values().containsAll(majors));
+    }
+}
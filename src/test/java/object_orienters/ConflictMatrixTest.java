@@ -0,0 +1,116 @@
+package object_orienters;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictMatrixTest {
+    private Faculty faculty;
+    private ConflictMatrix matrix;
+
+    @BeforeEach
+    void setUp() {
+        faculty = new Faculty("Science");
+        matrix = new ConflictMatrix();
+    }
+
+    private Course course(String id, DayOfWeek day, int hour, int minutes) {
+        return new Course(id, id, faculty, 3,
+                List.of(new WeeklyMeeting(day, Duration.ofMinutes(minutes), "R-" + id, LocalTime.of(hour, 0))), 30);
+    }
+
+    @Test
+    void testConflictsMatchMeetingOverlap() {
+        Course math = course("MATH101", DayOfWeek.MONDAY, 9, 90);
+        Course phys = course("PHYS101", DayOfWeek.MONDAY, 10, 60);
+        Course chem = course("CHEM101", DayOfWeek.TUESDAY, 10, 60);
+        matrix.add(math);
+        matrix.add(phys);
+        matrix.add(chem);
+
+        assertTrue(matrix.conflicts(math, phys));
+        assertTrue(matrix.conflicts(phys, math));
+        assertFalse(matrix.conflicts(math, chem));
+        assertTrue(matrix.isFree(chem, List.of(math, phys)));
+        assertFalse(matrix.isFree(phys, List.of(chem, math)));
+    }
+
+    @Test
+    void testCoursesEqualByIdShareASlot() {
+        Course math = course("MATH101", DayOfWeek.MONDAY, 9, 60);
+        Course phys = course("PHYS101", DayOfWeek.MONDAY, 9, 60);
+        Course copy = course("MATH101", DayOfWeek.MONDAY, 9, 60);
+        matrix.add(math);
+        matrix.add(phys);
+        matrix.add(copy);
+
+        assertEquals(2, matrix.size());
+        assertTrue(matrix.conflicts(copy, phys));
+        assertFalse(matrix.isFree(phys, List.of(copy)));
+        matrix.remove(copy);
+        assertEquals(1, matrix.size());
+        assertTrue(matrix.isFree(phys, List.of(math)));
+    }
+
+    @Test
+    void testRowsFollowSetWeeklyMeetings() {
+        Course math = course("MATH101", DayOfWeek.MONDAY, 9, 60);
+        Course chem = course("CHEM101", DayOfWeek.TUESDAY, 9, 60);
+        matrix.add(math);
+        matrix.add(chem);
+        assertTrue(matrix.isFree(chem, List.of(math)));
+
+        chem.setWeeklyMeetings(
+                List.of(new WeeklyMeeting(DayOfWeek.MONDAY, Duration.ofMinutes(60), "L-1", LocalTime.of(9, 30))));
+        assertFalse(matrix.isFree(chem, List.of(math)));
+        assertFalse(matrix.isFree(math, List.of(chem)));
+    }
+
+    @Test
+    void testRemovedSlotsAreReused() {
+        Course math = course("MATH101", DayOfWeek.MONDAY, 9, 60);
+        Course phys = course("PHYS101", DayOfWeek.MONDAY, 9, 60);
+        Course chem = course("CHEM101", DayOfWeek.MONDAY, 9, 60);
+        matrix.add(math);
+        matrix.add(phys);
+        matrix.remove(math);
+        matrix.add(chem);
+
+        assertEquals(2, matrix.size());
+        assertTrue(matrix.conflicts(phys, chem));
+        assertTrue(matrix.isFree(phys, List.of()));
+    }
+
+    @Test
+    void testIncrementalMatchesRebuild() {
+        Random random = new Random(42);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Course c = course("C" + i, DayOfWeek.of(1 + random.nextInt(5)), 8 + random.nextInt(10),
+                    30 + random.nextInt(120));
+            courses.add(c);
+            matrix.add(c);
+        }
+        for (int i = 0; i < courses.size(); i++) {
+            for (int j = 0; j < courses.size(); j++) {
+                assertEquals(ConflictMatrix.meetingsOverlap(courses.get(i), courses.get(j)),
+                        matrix.conflicts(courses.get(i), courses.get(j)));
+            }
+        }
+        matrix.rebuild();
+        for (int i = 0; i < courses.size(); i += 7) {
+            Course candidate = courses.get(i);
+            List<Course> enrolled = courses.subList(i + 1, Math.min(courses.size(), i + 5));
+            assertEquals(enrolled.stream().noneMatch(e -> ConflictMatrix.meetingsOverlap(candidate, e)),
+                    matrix.isFree(candidate, enrolled));
+        }
+    }
+}
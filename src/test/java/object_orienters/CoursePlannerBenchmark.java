@@ -0,0 +1,32 @@
+package object_orienters;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static object_orienters.Fixtures.course;
+import static object_orienters.Fixtures.major;
+
+/**
+ * Plans the ten best schedules out of a twenty-course wish-list whose courses
+ * share twelve time slots. See Benchmark for how to run it.
+ */
+class CoursePlannerBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Specialization spec = major("Planner Bench");
+        Semester semester = new Semester(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 12, 31));
+        Student student = new Student("Quinn", spec);
+        List<Course> wishList = new ArrayList<>();
+        DayOfWeek[] days = { DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY };
+        for (int i = 0; i < 20; i++) {
+            wishList.add(course("PLF" + i, spec, days[i % 4], 9 + i % 3));
+        }
+
+        CoursePlanner planner = new CoursePlanner(semester);
+        List<CoursePlanner.Plan> plans = Benchmark.measure("Plan a twenty-course wish-list", 1, "plans",
+                () -> planner.plan(student, wishList, 60, 10));
+        Benchmark.check(plans.size() == 10, "Planned " + plans.size() + " schedules");
+    }
+}
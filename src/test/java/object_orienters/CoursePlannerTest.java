@@ -0,0 +1,64 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static object_orienters.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoursePlannerTest {
+    private final Specialization spec = major("Planning");
+
+    @Test
+    void testPicksTheHeaviestConflictFreeCombination() {
+        Semester semester = new Semester(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 12, 31));
+        Student student = new Student("Pat", spec);
+        Course monday9 = course("PLN1", spec, DayOfWeek.MONDAY, 9);
+        Course monday9b = course("PLN2", spec, DayOfWeek.MONDAY, 9);
+        Course tuesday9 = course("PLN3", spec, DayOfWeek.TUESDAY, 9);
+        Course advanced = course("PLN4", spec, DayOfWeek.WEDNESDAY, 9);
+        Course taken = course("PLN5", spec, DayOfWeek.THURSDAY, 9);
+        advanced.addPrerequisites(taken);
+
+        Map<Course, Double> wishes = new LinkedHashMap<>();
+        wishes.put(monday9, 1.0);
+        wishes.put(monday9b, 2.0);
+        wishes.put(tuesday9, 1.0);
+        wishes.put(advanced, 5.0);
+        List<CoursePlanner.Plan> plans = new CoursePlanner(semester).plan(student, wishes, 18, 5);
+
+        assertEquals(2, plans.size());
+        assertEquals(List.of(monday9b, tuesday9), plans.get(0).courses());
+        assertEquals(3.0, plans.get(0).score());
+        assertEquals(6, plans.get(0).creditHours());
+        assertEquals(List.of(monday9, tuesday9), plans.get(1).courses());
+
+        List<CoursePlanner.Plan> capped = new CoursePlanner(semester).plan(student, wishes, 3, 1);
+        assertEquals(List.of(monday9b), capped.get(0).courses());
+    }
+
+    @Test
+    void testTwentyCourseWishList() {
+        Semester semester = new Semester(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 12, 31));
+        Student student = new Student("Quinn", spec);
+        List<Course> wishList = new ArrayList<>();
+        DayOfWeek[] days = { DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY };
+        for (int i = 0; i < 20; i++) {
+            wishList.add(course("PLF" + i, spec, days[i % 4], 9 + i % 3));
+        }
+
+        List<CoursePlanner.Plan> plans = new CoursePlanner(semester).plan(student, wishList, 60, 10);
+        assertEquals(10, plans.size());
+        for (CoursePlanner.Plan plan : plans) {
+            assertEquals(12, plan.courses().size());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new CoursePlanner(semester).plan(student, Map.of(wishList.get(0), 0.0), 18, 1));
+    }
+}
@@ -0,0 +1,48 @@
+package object_orienters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static object_orienters.Fixtures.course;
+
+/**
+ * Audits a faculty of twenty thousand students in ten majors of forty chained
+ * courses each. See Benchmark for how to run it.
+ */
+class DegreeAuditBenchmark {
+    private static final int STUDENTS = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        Faculty faculty = new Faculty("Audit Bulk");
+        List<Specialization> majors = new ArrayList<>();
+        List<Course> catalog = new ArrayList<>();
+        for (int m = 0; m < 10; m++) {
+            Specialization major = new Specialization("Audit Bulk " + m, faculty, Specialization.Type.MAJOR);
+            majors.add(major);
+            Course previous = null;
+            for (int c = 0; c < 40; c++) {
+                Course course = course("AUDB" + m + "-" + c, major, 3, 1_000_000);
+                if (previous != null) {
+                    course.addPrerequisites(previous);
+                }
+                if (c >= 2 && c % 2 == 0) {
+                    course.addPrerequisites(catalog.get(catalog.size() - 2));
+                }
+                catalog.add(course);
+                previous = course;
+            }
+        }
+        DegreeAudit audit = new DegreeAudit(catalog);
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student("Bulk " + i, majors.get(i % 10));
+            for (int c = 0; c < i % 40; c++) {
+                student.getTranscript().putPoints(catalog.get((i % 10) * 40 + c), 3.0);
+            }
+        }
+
+        Map<Integer, DegreeAudit.Report> reports = Benchmark.measure("Audit a faculty", STUDENTS, "students",
+                () -> audit.auditFaculty(faculty));
+        Benchmark.check(reports.size() == STUDENTS, "Audited " + reports.size() + " students");
+    }
+}
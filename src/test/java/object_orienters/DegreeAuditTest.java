@@ -0,0 +1,102 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static object_orienters.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DegreeAuditTest {
+
+    @Test
+    void testRemainingCoursesAreSequencedByPrerequisites() {
+        Faculty faculty = new Faculty("Audit Engineering");
+        Specialization major = new Specialization("Audit Civil", faculty, Specialization.Type.MAJOR);
+        Specialization minor = new Specialization("Audit Design", new Faculty("Audit Arts"),
+                Specialization.Type.MINOR);
+        Course statics = course("AUD101", major, 3, 1_000_000);
+        Course dynamics = course("AUD201", major, 3, 1_000_000);
+        Course structures = course("AUD301", major, 4, 1_000_000);
+        Course bridges = course("AUD401", major, 4, 1_000_000);
+        Course drawing = course("AUD150", minor, 2, 1_000_000);
+        Course writing = new Course("AUDU100", "Writing", faculty, 2, List.of(), 100);
+        Course maths = new Course("AUDM100", "Maths", faculty, 3, List.of(), 100);
+        dynamics.addPrerequisites(statics);
+        structures.addPrerequisites(dynamics);
+        bridges.addPrerequisites(structures);
+        bridges.addPrerequisites(drawing);
+        structures.addPrerequisites(maths);
+        DegreeAudit audit = new DegreeAudit(List.of(statics, dynamics, structures, bridges, drawing, writing, maths));
+
+        Student student = new Student("Ada", major, minor);
+        student.getTranscript().putPoints(statics, 4.0);
+        student.getRegisteredCourses().add(maths);
+
+        DegreeAudit.Report report = audit.audit(student);
+        assertEquals(List.of(statics), report.completed());
+        assertEquals(List.of(maths), report.inProgress());
+        assertEquals(List.of(dynamics, structures, bridges, drawing, writing), report.remaining());
+        assertEquals(3, report.creditsCompleted());
+        assertEquals(3 + 4 + 4 + 2 + 2 + 3, report.creditsRemaining());
+        assertEquals(List.of(List.of(dynamics, drawing, writing), List.of(structures), List.of(bridges)),
+                report.plan());
+        assertEquals(3, report.getSemestersNeeded());
+        assertFalse(report.isComplete());
+        assertTrue(report.blocked().isEmpty());
+    }
+
+    @Test
+    void testPrerequisiteCyclesAreReportedAsBlocked() {
+        Specialization major = major("Audit Loops");
+        Course a = course("AUDC1", major, 3, 1_000_000);
+        Course b = course("AUDC2", major, 3, 1_000_000);
+        Course c = course("AUDC3", major, 3, 1_000_000);
+        a.addPrerequisites(b);
+        b.addPrerequisites(a);
+        c.addPrerequisites(a);
+        DegreeAudit.Report report = new DegreeAudit(List.of(a, b, c)).audit(new Student("Loop", major));
+
+        assertTrue(report.plan().isEmpty());
+        assertEquals(3, report.blocked().size());
+    }
+
+    @Test
+    void testWholeFacultyInParallel() {
+        Faculty faculty = new Faculty("Audit Bulk");
+        List<Specialization> majors = new ArrayList<>();
+        List<Course> catalog = new ArrayList<>();
+        for (int m = 0; m < 10; m++) {
+            Specialization major = new Specialization("Audit Bulk " + m, faculty, Specialization.Type.MAJOR);
+            majors.add(major);
+            Course previous = null;
+            for (int c = 0; c < 40; c++) {
+                Course course = course("AUDB" + m + "-" + c, major, 3, 1_000_000);
+                if (previous != null) {
+                    course.addPrerequisites(previous);
+                }
+                if (c >= 2 && c % 2 == 0) {
+                    course.addPrerequisites(catalog.get(catalog.size() - 2));
+                }
+                catalog.add(course);
+                previous = course;
+            }
+        }
+        DegreeAudit audit = new DegreeAudit(catalog);
+        for (int i = 0; i < 200; i++) {
+            Student student = new Student("Bulk " + i, majors.get(i % 10));
+            for (int c = 0; c < i % 40; c++) {
+                student.getTranscript().putPoints(catalog.get((i % 10) * 40 + c), 3.0);
+            }
+        }
+
+        Map<Integer, DegreeAudit.Report> reports = audit.auditFaculty(faculty);
+        assertEquals(200, reports.size());
+        for (DegreeAudit.Report report : reports.values()) {
+            assertEquals(120, report.creditsCompleted() + report.creditsRemaining());
+            assertEquals(report.remaining().size(), report.getSemestersNeeded());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaImporterTest {
+
+    private static Map<String, DeltaImporter.Report> byFile(List<DeltaImporter.Report> reports) {
+        return reports.stream().collect(Collectors.toMap(DeltaImporter.Report::file, Function.identity()));
+    }
+
+    private static List<String> copy(String file) throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(RegistrarDriver.RESOURCES.resolve(file)));
+        lines.removeIf(String::isBlank);
+        return lines;
+    }
+
+    @Test
+    void testUnchangedFilesAreSkipped() throws IOException {
+        DeltaImporter.importDirectory(RegistrarDriver.RESOURCES);
+
+        List<DeltaImporter.Report> reports = DeltaImporter.importDirectory(RegistrarDriver.RESOURCES);
+        assertEquals(DeltaImporter.FILES.size(), reports.size());
+        for (DeltaImporter.Report report : reports) {
+            assertEquals(0, report.inserted(), report.toString());
+            assertEquals(0, report.updated(), report.toString());
+            assertEquals(0, report.rejected(), report.toString());
+            assertTrue(report.skipped() > 0, report.toString());
+        }
+    }
+
+    @Test
+    void testOnlyNewAndChangedRowsAreApplied(@TempDir Path directory) throws IOException {
+        DeltaImporter.importDirectory(RegistrarDriver.RESOURCES);
+        for (String file : DeltaImporter.FILES) {
+            Files.write(directory.resolve(file), copy(file));
+        }
+
+        List<String> meetings = copy("WeeklyMeetings.csv");
+        meetings.add("Monday,75,DLT-1,08:00");
+        meetings.add("Wednesday,75,DLT-1,08:00");
+        meetings.add("Friday,75,DLT-1,08:00");
+        Files.write(directory.resolve("WeeklyMeetings.csv"), meetings);
+
+        List<String> courses = copy("Courses.csv");
+        String[] first = courses.get(0).split(",");
+        courses.set(0, first[0] + ",Renamed By Delta," + first[2] + "," + first[3] + "," + first[4]);
+        String[] second = courses.get(1).split(",");
+        courses.set(1, second[0] + "," + second[1] + "," + second[2] + "," + (Integer.parseInt(second[3]) + 1) + ","
+                + second[4]);
+        while (courses.size() * 3 < meetings.size() - 3) {
+            courses.add("DLTPAD" + courses.size() + ",Padding," + first[2] + ",1,1");
+        }
+        courses.add("DLT100,Delta Course," + first[2] + ",3,20");
+        Files.write(directory.resolve("Courses.csv"), courses);
+
+        List<String> students = copy("students.csv");
+        students.add("Delta Student,Delta Studies,Delta Faculty,MAJOR");
+        students.add("Delta Student,Delta Studies,Delta Faculty,MAJOR");
+        students.add("Broken Row,Delta Studies,Delta Faculty,NEITHER");
+        // Known by name and major, with another minor
+        students.add("Delta Student,Delta Studies,Delta Faculty,MAJOR,Delta Minor");
+        // A specialization of an earlier row with another type
+        students.add("Other Delta Student,Delta Studies,Delta Faculty,MINOR");
+        Files.write(directory.resolve("students.csv"), students);
+
+        List<String> teachers = copy("Teachers.csv");
+        String[] teacher = teachers.get(0).split(",");
+        teachers.add(teacher[0] + "," + teacher[1] + ",Another Delta Faculty," + teacher[3]);
+        Files.write(directory.resolve("Teachers.csv"), teachers);
+
+        List<String> semesters = copy("SemesterDates.csv");
+        semesters.add("2187-09-01,2187-12-20");
+        Files.write(directory.resolve("SemesterDates.csv"), semesters);
+
+        int studentsBefore = RegistrarDriver.students.size();
+        Map<String, DeltaImporter.Report> reports = byFile(DeltaImporter.importDirectory(directory));
+
+        DeltaImporter.Report meetingReport = reports.get("WeeklyMeetings.csv");
+        assertEquals(3, meetingReport.inserted() + meetingReport.updated());
+        assertEquals(1, reports.get("students.csv").inserted());
+        assertEquals(3, reports.get("students.csv").rejected());
+        assertEquals(studentsBefore + 1, RegistrarDriver.students.size());
+        assertEquals(Specialization.Type.MAJOR, RegistrarDriver.specializations.get("Delta Studies").getType());
+        assertEquals(1, reports.get("SemesterDates.csv").inserted());
+        assertTrue(RegistrarDriver.semesters.containsKey("Fall - 2187"));
+        assertEquals(0, reports.get("Teachers.csv").inserted() + reports.get("Teachers.csv").updated());
+        assertEquals(1, reports.get("Teachers.csv").rejected());
+        assertFalse(RegistrarDriver.faculties.containsKey("Another Delta Faculty"));
+
+        DeltaImporter.Report courseReport = reports.get("Courses.csv");
+        assertEquals(1, courseReport.updated());
+        assertEquals(1, courseReport.rejected());
+        assertEquals("Renamed By Delta", RegistrarDriver.courses.get(first[0]).getCourseName());
+        assertEquals(Integer.parseInt(second[3]), RegistrarDriver.courses.get(second[0]).getCreditHours());
+        Course added = RegistrarDriver.courses.get("DLT100");
+        assertEquals(20, added.getCapacity());
+        assertEquals("DLT-1", added.getWeeklyMeetings().get(0).getRoom());
+
+        DeltaImporter.Report again = DeltaImporter.importFile(directory.resolve("students.csv"));
+        assertEquals(0, again.inserted());
+        assertThrows(IllegalArgumentException.class, () -> DeltaImporter.importFile(directory.resolve("x.csv")));
+
+        // Put the first course back for the other tests
+        courses.set(0, String.join(",", first));
+        Files.write(directory.resolve("Courses.csv"), courses);
+        DeltaImporter.importFile(directory.resolve("Courses.csv"));
+    }
+}
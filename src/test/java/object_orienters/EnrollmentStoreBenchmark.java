@@ -0,0 +1,56 @@
+package object_orienters;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes two million enrollments of a hundred thousand students to a mapped
+ * store, then looks up a student's and a course's enrollments in a reopened
+ * copy. See Benchmark for how to run it.
+ */
+class EnrollmentStoreBenchmark {
+    private static final int RECORDS = 2_000_000;
+    private static final int STUDENTS = 100_000;
+    private static final int COURSES = 2_000;
+    private static final int LOOKUPS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("enrollments", ".bin");
+        try {
+            Benchmark.measure("Write enrollments to a mapped store", RECORDS, "records", () -> {
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".names"));
+                try (EnrollmentStore store = EnrollmentStore.map(file, 1_000)) {
+                    for (int i = 0; i < RECORDS; i++) {
+                        store.add(i % STUDENTS, "C" + (i % COURSES), "Fall - " + (2000 + i % 20),
+                                i % 3 == 0 ? EnrollmentStore.IN_PROGRESS : i % 5);
+                    }
+                    return store.size();
+                }
+            });
+
+            try (EnrollmentStore store = EnrollmentStore.map(file, 1)) {
+                Benchmark.check(store.size() == RECORDS, "Reopened " + store.size() + " records");
+                int found = Benchmark.measure("Find a student's enrollments", LOOKUPS, "lookups", () -> {
+                    int total = 0;
+                    for (int i = 0; i < LOOKUPS; i++) {
+                        total += store.forStudent(i * 7 % STUDENTS).size();
+                    }
+                    return total;
+                });
+                Benchmark.check(found == LOOKUPS * (RECORDS / STUDENTS), "Found " + found + " enrollments");
+                int inCourse = Benchmark.measure("Find a course's enrollments", 100, "lookups", () -> {
+                    int total = 0;
+                    for (int i = 0; i < 100; i++) {
+                        total += store.forCourse("C" + i).size();
+                    }
+                    return total;
+                });
+                Benchmark.check(inCourse == 100 * (RECORDS / COURSES), "Found " + inCourse + " enrollments");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".names"));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentStoreTest {
+
+    @Test
+    void testFollowsEnrollmentsAndGrades() {
+        RegistrarEventLog log = new RegistrarEventLog(Clock.systemDefaultZone(), 1_000);
+        EnrollmentStore store = EnrollmentStore.attach(log, 1);
+        LocalDate day = LocalDate.of(2023, 9, 1);
+        log.append(new DomainEvent.StudentEnrolled(day, "Fall - 2023", "CS101", 1));
+        log.append(new DomainEvent.StudentEnrolled(day, "Fall - 2023", "CS102", 1));
+        log.append(new DomainEvent.StudentEnrolled(day, "Fall - 2023", "CS101", 2));
+        log.append(new DomainEvent.GradeEntered(day.plusDays(90), "Fall - 2023", 1, "CS101", 7, 3, 3.5, -1));
+        log.append(new DomainEvent.StudentUnenrolled(day.plusDays(90), "Fall - 2023", "CS102", 1));
+
+        assertEquals(3, store.size());
+        List<EnrollmentStore.Enrollment> first = store.forStudent(1);
+        assertEquals(List.of(new EnrollmentStore.Enrollment(1, "CS101", "Fall - 2023", 3.5f),
+                new EnrollmentStore.Enrollment(1, "CS102", "Fall - 2023", EnrollmentStore.WITHDRAWN)), first);
+        assertFalse(store.forStudent(2).get(0).isGraded());
+        assertEquals(List.of(1, 2), store.forCourse("CS101").stream().map(EnrollmentStore.Enrollment::studentId).toList());
+        assertTrue(store.forCourse("NONE").isEmpty());
+        assertTrue(store.forStudent(3).isEmpty());
+    }
+
+    @Test
+    void testGradesCloseTheEnrollmentOfTheirSemester() throws Exception {
+        Path file = Files.createTempFile("enrollments", ".bin");
+        LocalDate day = LocalDate.of(2024, 2, 1);
+        try {
+            EnrollmentStore store = EnrollmentStore.map(file, 4);
+            // A failed course retaken the next semester
+            store.apply(new DomainEvent.StudentEnrolled(day, "Fall - 2023", "CS101", 1));
+            store.apply(new DomainEvent.StudentEnrolled(day, "Spring - 2024", "CS101", 1));
+            store.apply(new DomainEvent.GradeEntered(day, "Fall - 2023", 1, "CS101", 7, 3, 1.0, -1));
+            store.apply(new DomainEvent.GradeEntered(day, "Summer - 2024", 1, "CS101", 7, 3, 4.0, -1));
+            assertEquals(List.of(new EnrollmentStore.Enrollment(1, "CS101", "Fall - 2023", 1f),
+                    new EnrollmentStore.Enrollment(1, "CS101", "Spring - 2024", EnrollmentStore.IN_PROGRESS)),
+                    store.forStudent(1));
+
+            // The names are on disk even though the store was never closed
+            try (EnrollmentStore reopened = EnrollmentStore.map(file, 1)) {
+                assertEquals("Spring - 2024", reopened.get(1).semester());
+                reopened.apply(new DomainEvent.GradeEntered(day, "Spring - 2024", 1, "CS101", 7, 3, 3.0, -1));
+                assertEquals(3f, reopened.get(1).grade());
+            }
+            store.close();
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".names"));
+        }
+    }
+
+    @Test
+    void testMappedStoreSurvivesReopening() throws Exception {
+        Path file = Files.createTempFile("enrollments", ".bin");
+        int records = 20_000;
+        try (EnrollmentStore store = EnrollmentStore.map(file, 1_000)) {
+            for (int i = 0; i < records; i++) {
+                store.add(i % 1_000, "C" + (i % 200), "Fall - " + (2000 + i % 20),
+                        i % 3 == 0 ? EnrollmentStore.IN_PROGRESS : i % 5);
+            }
+            assertEquals(20, store.forStudent(42).size());
+        }
+
+        try (EnrollmentStore store = EnrollmentStore.map(file, 1)) {
+            assertEquals(records, store.size());
+            List<EnrollmentStore.Enrollment> course = store.forCourse("C7");
+            assertEquals(records / 200, course.size());
+            assertTrue(course.stream().allMatch(e -> e.courseId().equals("C7") && e.studentId() % 200 == 7));
+            EnrollmentStore.Enrollment last = store.get(records - 1);
+            assertEquals(new EnrollmentStore.Enrollment(999, "C199", "Fall - 2019", 4f), last);
+
+            long inProgress = store.forStudent(0).stream().filter(e -> !e.isGraded()).count();
+            store.apply(new DomainEvent.GradeEntered(LocalDate.now(), "Fall - 2000", 0, "C0", 1, 3, 4.0, -1));
+            assertEquals(inProgress - 1, store.forStudent(0).stream().filter(e -> !e.isGraded()).count());
+            assertTrue(store.forStudent(0).stream().anyMatch(e -> e.grade() == 4f));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".names"));
+        }
+    }
+}
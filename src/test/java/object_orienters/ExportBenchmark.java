@@ -0,0 +1,50 @@
+package object_orienters;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exports the registrar's sample data plus fifty thousand students with
+ * five grades each, as CSV and as gzipped JSON Lines. See Benchmark for how
+ * to run it.
+ */
+class ExportBenchmark {
+    private static final int STUDENTS = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        DeltaImporter.importDirectory(RegistrarDriver.RESOURCES);
+        Specialization major = Catalog.specialization("Export Bench", Catalog.faculty("Export Bench Faculty"),
+                Specialization.Type.MAJOR);
+        List<Course> courses = new ArrayList<>(RegistrarDriver.courses.values());
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student("Bench Student " + i, major);
+            for (int c = 0; c < 5; c++) {
+                student.getTranscript().putPoints(courses.get((i + c) % courses.size()), i % 5);
+            }
+            RegistrarDriver.students.put(student.getId(), student);
+        }
+        long rows = RegistrarDriver.students.size();
+
+        Path directory = Files.createTempDirectory("export");
+        try {
+            for (RegistrarExporter exporter : List.of(new RegistrarExporter(RegistrarExporter.Format.CSV, false),
+                    new RegistrarExporter(RegistrarExporter.Format.JSONL, true))) {
+                String students = exporter.fileName("students");
+                RegistrarExporter.Summary summary = Benchmark.measure("Export to " + students, rows, "students",
+                        () -> exporter.export(directory));
+                Benchmark.check(summary.rows().get(students) == rows, "Exported " + summary.rows().get(students)
+                        + " students");
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+}
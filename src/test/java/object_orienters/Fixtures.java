@@ -0,0 +1,85 @@
+package object_orienters;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The specializations, meetings, courses and students the tests build their
+ * scenarios from.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Creates a major in a faculty of its own, so no other test sees the people
+     * added to them.
+     *
+     * @param name The name of the specialization.
+     * @return The new specialization, in the faculty "name Faculty".
+     */
+    static Specialization major(String name) {
+        return new Specialization(name, new Faculty(name + " Faculty"), Specialization.Type.MAJOR);
+    }
+
+    /**
+     * Creates a weekly meeting.
+     *
+     * @param day     The day of the meeting.
+     * @param time    The start of the meeting, as HH:mm.
+     * @param minutes The length of the meeting in minutes.
+     * @param room    The room of the meeting.
+     * @return The meeting.
+     */
+    static WeeklyMeeting meeting(DayOfWeek day, String time, int minutes, String room) {
+        return new WeeklyMeeting(day, Duration.ofMinutes(minutes), room, LocalTime.parse(time));
+    }
+
+    /**
+     * Creates a course named "Course id".
+     *
+     * @param id       The course ID.
+     * @param spec     The specialization of the course.
+     * @param credits  The credit hours of the course.
+     * @param capacity The number of students the course takes.
+     * @param meetings The weekly meetings of the course.
+     * @return The course.
+     */
+    static Course course(String id, Specialization spec, int credits, int capacity, WeeklyMeeting... meetings) {
+        return new Course(id, "Course " + id, spec, credits, new ArrayList<>(List.of(meetings)), capacity);
+    }
+
+    /**
+     * Creates a three-credit course for 30 students meeting once a week for 50
+     * minutes, in a room of its own named "id-room".
+     *
+     * @param id   The course ID.
+     * @param spec The specialization of the course.
+     * @param day  The day of the meeting.
+     * @param hour The hour the meeting starts at.
+     * @return The course.
+     */
+    static Course course(String id, Specialization spec, DayOfWeek day, int hour) {
+        return course(id, spec, 3, 30, meeting(day, String.format("%02d:00", hour), 50, id + "-room"));
+    }
+
+    /**
+     * Creates students named by a prefix and a number.
+     *
+     * @param prefix The start of the students' names.
+     * @param count  The number of students.
+     * @param spec   The major of the students.
+     * @return The students, numbered from 0.
+     */
+    static List<Student> students(String prefix, int count, Specialization spec) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(new Student(prefix + i, spec));
+        }
+        return students;
+    }
+}
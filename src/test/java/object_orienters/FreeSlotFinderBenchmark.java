@@ -0,0 +1,45 @@
+package object_orienters;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static object_orienters.Fixtures.course;
+import static object_orienters.Fixtures.major;
+import static object_orienters.Fixtures.meeting;
+
+/**
+ * Ranks the ten best meeting slots for five thousand students taking five of
+ * two hundred courses each. See Benchmark for how to run it.
+ */
+class FreeSlotFinderBenchmark {
+    private static final int STUDENTS = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        Specialization spec = major("Slots Bench");
+        Random random = new Random(46);
+        List<Course> pool = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            pool.add(course("FS" + i, spec, 1, 10_000, meeting(DayOfWeek.of(1 + random.nextInt(5)),
+                    String.format("%02d:%02d", 8 + random.nextInt(9), random.nextInt(6) * 10), 50, "FS-1")));
+        }
+        // A course drawn twice for a student is refused with a message
+        RegistrarOutput.getInstance().setMode(RegistrarOutput.Mode.SILENT);
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student("Slot Group " + i, spec);
+            for (int j = 0; j < 5; j++) {
+                student.addRegisteredCourse(pool.get(random.nextInt(pool.size())));
+            }
+            students.add(student);
+        }
+
+        FreeSlotFinder finder = new FreeSlotFinder();
+        List<FreeSlotFinder.Slot> slots = Benchmark.measure("Rank meeting slots for a group", STUDENTS,
+                "students", () -> finder.find(students, Duration.ofMinutes(50), 10));
+        Benchmark.check(slots.size() == 10, "Found " + slots.size() + " slots");
+        System.out.println("Best slot " + slots.get(0));
+    }
+}
@@ -0,0 +1,106 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static object_orienters.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FreeSlotFinderTest {
+    private final Specialization spec = major("Slots");
+    private int courses;
+
+    // A course keeping its students busy for one meeting a week
+    private Course busy(DayOfWeek day, String time, int minutes) {
+        return course("FS" + courses++, spec, 1, 10_000, meeting(day, time, minutes, "FS-1"));
+    }
+
+    @Test
+    void testCommonWindowsAndRanking() {
+        FreeSlotFinder finder = new FreeSlotFinder(LocalTime.of(9, 0), LocalTime.of(12, 0), 30);
+        Student a = new Student("Slot A", spec);
+        Student b = new Student("Slot B", spec);
+        for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)) {
+            a.addRegisteredCourse(busy(day, "09:00", 60));
+            b.addRegisteredCourse(busy(day, "11:00", 60));
+        }
+        // Wednesday is fully booked, Friday only has half an hour free
+        a.addRegisteredCourse(busy(DayOfWeek.WEDNESDAY, "10:00", 60));
+        b.addRegisteredCourse(busy(DayOfWeek.FRIDAY, "10:00", 30));
+
+        List<FreeSlotFinder.Window> windows = finder.getFreeWindows(List.of(a, b));
+        assertEquals(4, windows.size());
+        assertEquals(new FreeSlotFinder.Window(DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(11, 0)),
+                windows.get(0));
+        assertEquals(30, windows.get(3).minutes());
+
+        List<FreeSlotFinder.Slot> slots = finder.find(List.of(a, b), Duration.ofMinutes(60), 5);
+        assertEquals(5, slots.size());
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.THURSDAY),
+                slots.subList(0, 3).stream().map(FreeSlotFinder.Slot::day).toList());
+        slots.subList(0, 3).forEach(slot -> {
+            assertEquals(LocalTime.of(10, 0), slot.start());
+            assertEquals(0, slot.conflicts());
+            assertEquals(60, slot.windowMinutes());
+        });
+        // Then the slots only one of them is busy in
+        assertEquals(1, slots.get(3).conflicts());
+        assertEquals(1, slots.get(4).conflicts());
+
+        // A meeting may start right when another ends
+        Student c = new Student("Slot C", spec);
+        c.addRegisteredCourse(busy(DayOfWeek.MONDAY, "09:00", 60));
+        assertTrue(finder.getFreeWindows(List.of(a, c)).stream()
+                .anyMatch(w -> w.day() == DayOfWeek.MONDAY && w.start().equals(LocalTime.of(10, 0))));
+        assertThrows(IllegalArgumentException.class, () -> finder.find(List.of(a), Duration.ofHours(4), 1));
+    }
+
+    @Test
+    void testBusyMinutesFollowRegistration() {
+        Student student = new Student("Slot D", spec);
+        Course course = busy(DayOfWeek.TUESDAY, "13:00", 90);
+        student.addRegisteredCourse(course);
+        assertEquals(90, student.getBusyMinutes().count(DayOfWeek.TUESDAY));
+        student.getRegisteredCourses().remove(course);
+        assertEquals(new WeekBitmap(), student.getBusyMinutes());
+    }
+
+    @Test
+    void testLargeGroups() {
+        Random random = new Random(46);
+        List<Course> pool = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            pool.add(busy(DayOfWeek.of(1 + random.nextInt(5)),
+                    String.format("%02d:%02d", 8 + random.nextInt(9), random.nextInt(6) * 10), 50));
+        }
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Student student = new Student("Slot Group " + i, spec);
+            for (int j = 0; j < 5; j++) {
+                student.addRegisteredCourse(pool.get(random.nextInt(pool.size())));
+            }
+            students.add(student);
+        }
+        FreeSlotFinder finder = new FreeSlotFinder();
+        List<FreeSlotFinder.Slot> slots = finder.find(students, Duration.ofMinutes(50), 10);
+
+        assertEquals(10, slots.size());
+        for (int i = 1; i < slots.size(); i++) {
+            assertTrue(slots.get(i - 1).conflicts() <= slots.get(i).conflicts());
+        }
+        FreeSlotFinder.Slot best = slots.get(0);
+        // Checked one minute inside the slot, so touching meetings count the same either way
+        long busy = students.stream()
+                .filter(s -> !s.isFreeOn(new WeeklyMeeting(best.day(), Duration.ofMinutes(48), "FS-1",
+                        best.start().plusMinutes(1))))
+                .count();
+        assertEquals(best.conflicts(), busy);
+    }
+}
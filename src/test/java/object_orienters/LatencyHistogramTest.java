@@ -0,0 +1,62 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverEveryValue() {
+        long[] values = { 0, 1, 31, 32, 63, 64, 65, 1_000, 123_456_789, Long.MAX_VALUE };
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.upperBoundOf(bucket) >= value);
+            if (bucket > 0) {
+                assertTrue(LatencyHistogram.upperBoundOf(bucket - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    void testPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000, histogram.getMax());
+        assertEquals(50_000_500, histogram.getMean(), 1);
+        assertEquals(50_000_000, histogram.getValueAtPercentile(50), 50_000_000 * 0.04);
+        assertEquals(99_000_000, histogram.getValueAtPercentile(99), 99_000_000 * 0.04);
+        assertEquals(100_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testConcurrentRecording() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.range(0, 200_000).parallel().forEach(i -> histogram.record(i % 1000));
+        assertEquals(200_000, histogram.getCount());
+        assertEquals(999, histogram.getMax());
+    }
+
+    @Test
+    void testMetricsCountErrors() {
+        RegistrarMetrics.reset();
+        Runnable ok = RegistrarMetrics.timed("test.ok", () -> {
+        });
+        Runnable failing = RegistrarMetrics.timed("test.failing", () -> {
+            throw new IllegalStateException("boom");
+        });
+        ok.run();
+        ok.run();
+        assertThrows(IllegalStateException.class, failing::run);
+
+        assertEquals(2, RegistrarMetrics.getHistogram("test.ok").getCount());
+        assertEquals(0, RegistrarMetrics.getErrors("test.ok"));
+        assertEquals(1, RegistrarMetrics.getErrors("test.failing"));
+        assertTrue(RegistrarMetrics.report().contains("test.failing"));
+    }
+}
@@ -0,0 +1,58 @@
+package object_orienters;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Parses a weekly-meetings file of two million rows with MappedCsvReader and
+ * with readLine and String.split. See Benchmark for how to run it.
+ */
+class MappedCsvReaderBenchmark {
+    private static final int ROWS = 2_000_000;
+
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("WeeklyMeetings", ".csv");
+        try {
+            String[] days = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+            try (BufferedWriter out = Files.newBufferedWriter(file)) {
+                for (int i = 0; i < ROWS; i++) {
+                    out.write(days[i % 5] + "," + (50 + i % 3 * 25) + ",R-" + (i % 900) + ","
+                            + String.format("%02d:%02d", 8 + i % 10, i % 6 * 10) + "\n");
+                }
+            }
+            double megabytes = Files.size(file) / 1e6;
+
+            long mapped = Benchmark.measure("Parse with MappedCsvReader", megabytes, "MB", () -> {
+                long minutes = 0;
+                try (MappedCsvReader csv = MappedCsvReader.open(file)) {
+                    while (csv.next()) {
+                        csv.getDayOfWeek(0);
+                        minutes += csv.getLong(1);
+                        csv.getTime(3);
+                    }
+                }
+                return minutes;
+            });
+            long split = Benchmark.measure("Parse with readLine and split", megabytes, "MB", () -> {
+                long minutes = 0;
+                try (BufferedReader in = Files.newBufferedReader(file)) {
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        String[] values = line.split(",");
+                        DayOfWeek.valueOf(values[0].toUpperCase());
+                        minutes += Long.parseLong(values[1]);
+                        LocalTime.parse(values[3]);
+                    }
+                }
+                return minutes;
+            });
+            Benchmark.check(mapped == split, "The readers summed " + mapped + " and " + split + " minutes");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
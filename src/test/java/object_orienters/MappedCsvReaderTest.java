@@ -0,0 +1,124 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCsvReaderTest {
+
+    private static final String SAMPLE = "Monday,50,S-115,15:00\r\n"
+            + "\n"
+            + "  tuesday , 75 ,\"Hall \"\"A\"\", East\", 9:05:30\n"
+            + "\"multi\nline\",-12,Café,2023-09-01\n"
+            + "last,row,without,newline";
+
+    private static List<List<String>> readAll(MappedCsvReader csv) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        while (csv.next()) {
+            List<String> row = new ArrayList<>();
+            for (int i = 0; i < csv.getFieldCount(); i++) {
+                row.add(csv.getString(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Test
+    void testFieldsAndTypes(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("sample.csv");
+        Files.writeString(file, SAMPLE, StandardCharsets.UTF_8);
+
+        try (MappedCsvReader csv = MappedCsvReader.open(file)) {
+            assertTrue(csv.next());
+            assertEquals(DayOfWeek.MONDAY, csv.getDayOfWeek(0));
+            assertEquals(50, csv.getInt(1));
+            assertEquals("S-115", csv.getString(2));
+            assertEquals(LocalTime.of(15, 0), csv.getTime(3));
+
+            assertTrue(csv.next());
+            assertEquals(1, csv.getRow());
+            assertEquals(DayOfWeek.TUESDAY, csv.getDayOfWeek(0));
+            assertEquals(75L, csv.getLong(1));
+            assertEquals("Hall \"A\", East", csv.getString(2));
+            assertEquals(LocalTime.of(9, 5, 30), csv.getTime(3));
+
+            assertTrue(csv.next());
+            assertEquals("multi\nline", csv.getString(0));
+            assertEquals(-12, csv.getInt(1));
+            assertEquals("Café", csv.getString(2));
+            assertEquals(LocalDate.of(2023, 9, 1), csv.getDate(3));
+            assertThrows(IllegalArgumentException.class, () -> csv.getDayOfWeek(2));
+            assertThrows(NumberFormatException.class, () -> csv.getInt(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> csv.getString(4));
+
+            assertTrue(csv.next());
+            assertEquals("newline", csv.getString(3));
+            assertFalse(csv.next());
+        }
+    }
+
+    @Test
+    void testRowsCrossingWindowsAreRemapped(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("sample.csv");
+        Files.writeString(file, SAMPLE.repeat(50), StandardCharsets.UTF_8);
+        List<List<String>> expected;
+        try (MappedCsvReader csv = MappedCsvReader.open(file)) {
+            expected = readAll(csv);
+        }
+        assertEquals(200 - 49, expected.size());
+
+        for (int window : new int[] { 64, 97, 256 }) {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try (MappedCsvReader csv = new MappedCsvReader(channel, 0, channel.size(), window)) {
+                assertEquals(expected, readAll(csv), "window " + window);
+            }
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try (MappedCsvReader csv = new MappedCsvReader(channel, 0, channel.size(), 16)) {
+            assertThrows(IllegalStateException.class, () -> readAll(csv));
+        }
+    }
+
+    @Test
+    void testAgreesWithSplit(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("WeeklyMeetings.csv");
+        String[] days = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < 2_000; i++) {
+                out.write(days[i % 5] + "," + (50 + i % 3 * 25) + ",R-" + (i % 900) + ","
+                        + String.format("%02d:%02d", 8 + i % 10, i % 6 * 10) + "\n");
+            }
+        }
+
+        List<String> mapped = new ArrayList<>();
+        try (MappedCsvReader csv = MappedCsvReader.open(file)) {
+            while (csv.next()) {
+                mapped.add(csv.getDayOfWeek(0) + " " + csv.getLong(1) + " " + csv.getString(2) + " " + csv.getTime(3));
+            }
+        }
+        List<String> split = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            String[] values = line.split(",");
+            split.add(DayOfWeek.valueOf(values[0].toUpperCase()) + " " + Long.parseLong(values[1]) + " " + values[2]
+                    + " " + LocalTime.parse(values[3]));
+        }
+
+        assertEquals(2_000, mapped.size());
+        assertEquals(split, mapped);
+    }
+}
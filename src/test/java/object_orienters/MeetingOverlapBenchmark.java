@@ -0,0 +1,55 @@
+package object_orienters;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Random;
+
+/**
+ * Checks every pair of two thousand weekly meetings for overlap with
+ * WeeklyMeeting.hasTimeConflict, which compares minutes of the week, and
+ * with the LocalTime check Person.isFreeOn and ConflictMatrix used before.
+ * See Benchmark for how to run it.
+ */
+class MeetingOverlapBenchmark {
+    private static final int MEETINGS = 2_000;
+
+    // The LocalTime check Person.isFreeOn and ConflictMatrix used before
+    private static boolean legacyOverlap(WeeklyMeeting wm, WeeklyMeeting other) {
+        return wm.getDay().equals(other.getDay())
+                && !(wm.getHour().plus(wm.getDuration()).isBefore(other.getHour())
+                        || wm.getHour().isAfter(other.getHour().plus(other.getDuration())));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Random random = new Random(7);
+        WeeklyMeeting[] meetings = new WeeklyMeeting[MEETINGS];
+        for (int i = 0; i < meetings.length; i++) {
+            int minute = 8 * 60 + random.nextInt(10 * 60);
+            meetings[i] = new WeeklyMeeting(DayOfWeek.of(1 + random.nextInt(5)), Duration.ofMinutes(50), "R",
+                    LocalTime.of(minute / 60, minute % 60));
+        }
+        double pairs = (double) MEETINGS * MEETINGS;
+
+        int legacy = Benchmark.measure("Overlap with the LocalTime check", pairs, "pairs", () -> {
+            int count = 0;
+            for (WeeklyMeeting a : meetings) {
+                for (WeeklyMeeting b : meetings) {
+                    count += legacyOverlap(a, b) ? 1 : 0;
+                }
+            }
+            return count;
+        });
+        int minutes = Benchmark.measure("Overlap with hasTimeConflict", pairs, "pairs", () -> {
+            int count = 0;
+            for (WeeklyMeeting a : meetings) {
+                for (WeeklyMeeting b : meetings) {
+                    count += a.hasTimeConflict(b) ? 1 : 0;
+                }
+            }
+            return count;
+        });
+        // The old check also counts meetings that only touch
+        Benchmark.check(minutes <= legacy, minutes + " conflicts against " + legacy + " with the LocalTime check");
+    }
+}
@@ -0,0 +1,41 @@
+package object_orienters;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Parses a weekly-meetings file of three million rows as one chunk and in
+ * 4 MB chunks on all cores. See Benchmark for how to run it.
+ */
+class ParallelCsvParserBenchmark {
+    private static final int ROWS = 3_000_000;
+    private static final int CHUNK_SIZE = 1 << 22;
+
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("WeeklyMeetings", ".csv");
+        try {
+            String[] days = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+            try (BufferedWriter out = Files.newBufferedWriter(file)) {
+                for (int i = 0; i < ROWS; i++) {
+                    out.write(days[i % 5] + "," + (50 + i % 3 * 25) + ",R-" + (i % 900) + ","
+                            + String.format("%02d:%02d", 8 + i % 10, i % 6 * 10) + "\n");
+                }
+            }
+            double megabytes = Files.size(file) / 1e6;
+            // Day, length and start of each meeting packed into one number, to keep the heap small
+            Function<MappedCsvReader, Long> meeting = csv -> csv.getDayOfWeek(0).getValue() * 1_000_000L
+                    + csv.getLong(1) * 10_000 + csv.getTime(3).toSecondOfDay() / 60;
+
+            List<Long> one = Benchmark.measure("Parse as one chunk", megabytes, "MB",
+                    () -> ParallelCsvParser.parse(file, meeting, Integer.MAX_VALUE));
+            List<Long> all = Benchmark.measure("Parse in chunks on " + Runtime.getRuntime().availableProcessors()
+                    + " cores", megabytes, "MB", () -> ParallelCsvParser.parse(file, meeting, CHUNK_SIZE));
+            Benchmark.check(all.size() == ROWS && all.equals(one), "The chunks parsed different rows");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelCsvParserTest {
+
+    private static final Function<MappedCsvReader, String> ROW = csv -> {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < csv.getFieldCount(); i++) {
+            row.append(i == 0 ? "" : "|").append(csv.getString(i));
+        }
+        return row.toString();
+    };
+
+    private static List<String> sequential(Path file) throws IOException {
+        List<String> rows = new ArrayList<>();
+        try (MappedCsvReader csv = MappedCsvReader.open(file)) {
+            while (csv.next()) {
+                rows.add(ROW.apply(csv));
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void testChunksNeverSplitQuotedLineBreaks(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("students.csv");
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < 5_000; i++) {
+                if (i % 7 == 0) {
+                    out.write("\"Student " + i + "\nsecond line, \"\"quoted\"\"\",Philosophy,Humanities,MAJOR\n");
+                } else if (i % 11 == 0) {
+                    out.write("\n");
+                } else {
+                    out.write("Student " + i + ",Philosophy,Humanities,MAJOR\n");
+                }
+            }
+        }
+        List<String> expected = sequential(file);
+        for (int chunkSize : new int[] { 64, 1_000, 4_096 }) {
+            assertEquals(expected, ParallelCsvParser.parse(file, ROW, chunkSize), "chunk size " + chunkSize);
+        }
+        assertEquals(5_000 - 5_000 / 11 + 5_000 / 77, expected.size());
+    }
+
+    @Test
+    void testManyChunksInParallel(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("WeeklyMeetings.csv");
+        String[] days = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < 20_000; i++) {
+                out.write(days[i % 5] + "," + (50 + i % 3 * 25) + ",R-" + (i % 900) + ","
+                        + String.format("%02d:%02d", 8 + i % 10, i % 6 * 10) + "\n");
+            }
+        }
+        // Day, length and start of each meeting packed into one number
+        Function<MappedCsvReader, Long> meeting = csv -> csv.getDayOfWeek(0).getValue() * 1_000_000L
+                + csv.getLong(1) * 10_000 + csv.getTime(3).toSecondOfDay() / 60;
+
+        List<Long> all = ParallelCsvParser.parse(file, meeting, 4_096);
+        assertEquals(20_000, all.size());
+        assertEquals(ParallelCsvParser.parse(file, meeting, Integer.MAX_VALUE), all);
+    }
+}
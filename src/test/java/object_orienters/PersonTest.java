@@ -27,7 +27,7 @@ public class PersonTest {
     @BeforeEach
     public void setUp() throws IOException {
         weeklyMeetings = new ArrayList<>(180);
-        BufferedReader br = new BufferedReader(new FileReader("src/test/resources/weeklyMeetings.csv"));
+        BufferedReader br = new BufferedReader(new FileReader("src/test/resources/WeeklyMeetings.csv"));
 
         String line = br.readLine();
         while (line != null) {
@@ -51,7 +51,8 @@ public class PersonTest {
 
     @Test
     public void isFreeOnTest() {
-        int dayOffset = 37;
+        // 36 meetings of 59 minutes a day, starting every 15 minutes from 8:00
+        int dayOffset = 36;
         int hourOffset = 4;
         int minsOffset = 0;
 
@@ -59,9 +60,11 @@ public class PersonTest {
         index += c1.getWeeklyMeetings().get(0).getHour().getHour() % 8 * hourOffset;
         index += c1.getWeeklyMeetings().get(0).getHour().getMinute() % 15 * minsOffset;
 
+        // 9:00 to 10:00 overlaps the meetings starting from 8:15 to 9:45; the one
+        // starting at 10:00 begins right when it ends
         for (int i = 0; i < weeklyMeetings.size(); i++) {
 
-            if (index -4 <= i && i < index + 4) {
+            if (index - 3 <= i && i <= index + 3) {
                 assertTrue(!stu1.isFreeOn(weeklyMeetings.get(i)));
             } else
                 assertTrue(stu1.isFreeOn(weeklyMeetings.get(i)));
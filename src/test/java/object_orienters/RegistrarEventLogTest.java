@@ -0,0 +1,146 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistrarEventLogTest {
+
+    @Test
+    void testGradeKeepsWhoTaughtTheCourse() {
+        Specialization spec = new Specialization("Geology", new Faculty("Science"), Specialization.Type.MAJOR);
+        Teacher teacher = new Teacher("Dr. Rock", spec);
+        Student student = new Student("Jo", spec);
+        Course course = new Course("GEO101", "Rocks", spec, 3,
+                List.of(new WeeklyMeeting(DayOfWeek.MONDAY, Duration.ofMinutes(60), "G-1", LocalTime.of(8, 0))), 5);
+        Semester semester = new Semester(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 12, 31));
+        RegistrarEventLog log = new RegistrarEventLog();
+        RegistrarEventLog.setInstance(log);
+        try {
+            recordGrades(log, spec, teacher, student, course, semester);
+        } finally {
+            RegistrarEventLog.setInstance(null);
+        }
+    }
+
+    private static void recordGrades(RegistrarEventLog log, Specialization spec, Teacher teacher, Student student,
+            Course course, Semester semester) {
+        semester.registerInACourse(course, List.of(student), teacher);
+        assertEquals(List.of(student.getId()), log.query(v -> List.copyOf(v.getEnrolledStudents(semester.getSemesterName(), "GEO101"))));
+
+        Student classmate = new Student("Lee", spec);
+        semester.registerInACourse(course, List.of(classmate), teacher);
+        student.enterCourseGrade(course, "A");
+        classmate.enterCourseGrade(course, "B");
+        // The offering keeps its teacher; only the teacher's schedule drops the course
+        assertEquals(teacher, course.getTeacher().orElseThrow());
+        assertFalse(teacher.getRegisteredCourses().contains(course));
+        assertEquals(teacher.getId(),
+                log.query(v -> v.getTranscript(classmate.getId()).get("GEO101")).teacherId());
+        assertEquals(teacher.getId(), log.query(v -> v.getTeacher(semester.getSemesterName(), "GEO101")).orElseThrow());
+        RegistrarView.Grade grade = log.query(v -> v.getTranscript(student.getId()).get("GEO101"));
+        assertEquals(teacher.getId(), grade.teacherId());
+        assertEquals(4.0, grade.points());
+        assertTrue(log.query(v -> v.getEnrolledStudents(semester.getSemesterName(), "GEO101")).isEmpty());
+    }
+
+    @Test
+    void testAsOfReplaysFromNearestCheckpoint() {
+        RegistrarEventLog log = new RegistrarEventLog(Clock.systemDefaultZone(), 3);
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        log.append(new DomainEvent.StudentAdmitted(day, 1, "Ann", "Science", "Maths", null));
+        log.append(new DomainEvent.CourseRegistered(day, "Spring - 2024", "M1", 7));
+        log.append(new DomainEvent.StudentEnrolled(day.plusDays(1), "Spring - 2024", "M1", 1));
+        log.append(new DomainEvent.StudentAdmitted(day.plusDays(2), 2, "Ben", "Science", "Maths", null));
+        log.append(new DomainEvent.GradeEntered(day.plusDays(5), "Spring - 2024", 1, "M1", 7, 3, 3.0, -1));
+        log.append(new DomainEvent.StudentEnrolled(day.plusDays(5), "Spring - 2024", "M1", 2));
+        log.append(new DomainEvent.StudentUnenrolled(day.plusDays(9), "Spring - 2024", "M1", 2));
+
+        assertEquals(0, log.asOf(day.minusDays(1)).getStudentCount());
+        RegistrarView secondDay = log.asOf(day.plusDays(1));
+        assertEquals(1, secondDay.getStudentCount());
+        assertEquals(List.of(1), List.copyOf(secondDay.getEnrolledStudents("Spring - 2024", "M1")));
+        assertEquals(7, secondDay.getTeacher("Spring - 2024", "M1").orElseThrow());
+
+        RegistrarView sixthDay = log.asOf(day.plusDays(5));
+        assertEquals(6, sixthDay.getAppliedEvents());
+        assertEquals(7, sixthDay.getTranscript(1).get("M1").teacherId());
+        assertEquals(List.of(2), List.copyOf(sixthDay.getEnrolledStudents("Spring - 2024", "M1")));
+        assertTrue(log.asOf(day.plusDays(30)).getEnrolledStudents("Spring - 2024", "M1").isEmpty());
+        assertEquals(1, sixthDay.getEnrolledStudents("Spring - 2024", "M1").size());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> log.append(new DomainEvent.StudentAdmitted(day, 3, "Cal", "Science", "Maths", null)));
+    }
+
+    @Test
+    void testOldEventsAreDroppedWithTheirCheckpoint() {
+        RegistrarEventLog log = new RegistrarEventLog(Clock.systemDefaultZone(), 10, 2);
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 45; i++) {
+            log.append(new DomainEvent.StudentAdmitted(day.plusDays(i), i, "Student " + i, "Science", "Maths", null));
+        }
+        // The checkpoints after 30 and 40 events are kept; the first 30 events went with the older ones
+        assertEquals(30, log.getDropped());
+        assertEquals(15, log.size());
+        assertEquals(day.plusDays(30), log.getEvents().get(0).date());
+        assertEquals(45, log.query(RegistrarView::getStudentCount));
+        assertEquals(30, log.asOf(day.plusDays(29)).getStudentCount());
+        assertEquals(41, log.asOf(day.plusDays(40)).getStudentCount());
+        assertThrows(IllegalArgumentException.class, () -> log.asOf(day.plusDays(28)));
+        assertThrows(IllegalStateException.class, () -> StudentColumnStore.attach(log));
+        assertThrows(IllegalArgumentException.class,
+                () -> log.append(new DomainEvent.StudentAdmitted(day, 99, "Late", "Science", "Maths", null)));
+    }
+
+    @Test
+    void testNothingIsRecordedWithoutALog() {
+        Specialization spec = new Specialization("Logless", new Faculty("Science"), Specialization.Type.MAJOR);
+        RegistrarEventLog log = new RegistrarEventLog();
+        new Student("Unlogged", spec);
+        RegistrarEventLog.setInstance(log);
+        try {
+            Student logged = new Student("Logged", spec);
+            assertEquals(List.of(logged.getId()),
+                    log.getEvents().stream().map(e -> ((DomainEvent.StudentAdmitted) e).studentId()).toList());
+        } finally {
+            RegistrarEventLog.setInstance(null);
+        }
+        assertTrue(RegistrarEventLog.getInstance().isEmpty());
+    }
+
+    @Test
+    void testReplayMatchesTheLog() {
+        int students = 2_000;
+        List<DomainEvent> events = new ArrayList<>(5 * students);
+        LocalDate day = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < students; i++) {
+            LocalDate date = day.plusDays(i / 10);
+            String course = "C" + (i % 50);
+            events.add(new DomainEvent.StudentAdmitted(date, i, "Student " + i, "Science", "Maths", null));
+            events.add(new DomainEvent.CourseRegistered(date, "Fall - 2020", course, i % 20));
+            events.add(new DomainEvent.StudentEnrolled(date, "Fall - 2020", course, i));
+            events.add(new DomainEvent.StudentEnrolled(date, "Fall - 2020", "C" + ((i + 1) % 50), i));
+            events.add(new DomainEvent.GradeEntered(date, "Fall - 2020", i, course, i % 20, 3, i % 5, -1));
+        }
+        RegistrarEventLog log = new RegistrarEventLog(Clock.systemDefaultZone(), 1_000);
+        events.forEach(log::append);
+
+        RegistrarView view = RegistrarEventLog.replay(events);
+        assertEquals(events.size(), view.getAppliedEvents());
+        assertEquals(students, view.getStudentCount());
+        // Ten checkpoints were taken and the default eight kept
+        assertEquals(3_000, log.getDropped());
+        RegistrarView halfway = log.asOf(day.plusDays(99));
+        assertEquals(1_000, halfway.getStudentCount());
+        assertEquals(log.query(v -> v.getTranscript(42)), view.getTranscript(42));
+    }
+}
@@ -0,0 +1,64 @@
+package object_orienters;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistrarEventsTest {
+
+    @Test
+    void testRegistrationAndGpaEventsAreRecorded() throws Exception {
+        Specialization spec = new Specialization("Maths", new Faculty("Science"), Specialization.Type.MAJOR);
+        Teacher teacher = new Teacher("Dr. Smith", spec);
+        Course prerequisite = new Course("MATH100", "Precalculus", spec, 3, List.of(), 10);
+        Course course = new Course("MATH101", "Calculus I", spec, 3,
+                List.of(new WeeklyMeeting(DayOfWeek.TUESDAY, Duration.ofMinutes(60), "M-301", LocalTime.of(9, 0))), 1);
+        course.addPrerequisites(prerequisite);
+        Student ready = new Student("Alex", spec);
+        Student late = new Student("Sam", spec);
+        Student missing = new Student("Kim", spec);
+        ready.getCompletedCoursesGrades().put(prerequisite, 4.0);
+        late.getCompletedCoursesGrades().put(prerequisite, 3.0);
+        Semester semester = new Semester(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 12, 31));
+
+        Path file = Files.createTempFile("registrar", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("object_orienters.Registration").withThreshold(Duration.ZERO);
+            recording.enable("object_orienters.GpaCalculation").withThreshold(Duration.ZERO);
+            recording.start();
+            semester.registerInACourse(course, List.of(ready, late, missing), teacher);
+            ready.calculateGPA();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        RecordedEvent registration = events.stream()
+                .filter(e -> e.getEventType().getName().equals("object_orienters.Registration"))
+                .findFirst().orElseThrow();
+        assertEquals("MATH101", registration.getString("course"));
+        assertEquals("registered", registration.getString("outcome"));
+        assertEquals(3, registration.getInt("requested"));
+        assertEquals(1, registration.getInt("accepted"));
+        assertEquals(1, registration.getInt("rejectedPrerequisites"));
+        assertEquals(1, registration.getInt("rejectedFull"));
+
+        RecordedEvent gpa = events.stream()
+                .filter(e -> e.getEventType().getName().equals("object_orienters.GpaCalculation"))
+                .findFirst().orElseThrow();
+        assertEquals(ready.getId(), gpa.getInt("studentId"));
+        assertEquals(1, gpa.getInt("completedCourses"));
+    }
+}
@@ -0,0 +1,131 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistrarExporterTest {
+
+    private static List<String> describeStudents() {
+        return RegistrarDriver.students.values().stream()
+                .map(s -> s.getName() + "|" + s.getMajor().getName() + "|" + s.getFaculty().getName() + "|"
+                        + (s.getMinor() == null ? "" : s.getMinor().map(Specialization::getName).orElse("")))
+                .toList();
+    }
+
+    // The specializations and faculties of the students and teachers, as registered in the catalog
+    private static List<String> describeSpecializations() {
+        List<Specialization> used = new ArrayList<>();
+        for (Student student : RegistrarDriver.students.values()) {
+            used.add(student.getMajor());
+            if (student.getMinor() != null) {
+                student.getMinor().ifPresent(used::add);
+            }
+        }
+        RegistrarDriver.teachers.values().forEach(t -> used.add(t.getSpecialization()));
+        for (Specialization specialization : used) {
+            assertSame(RegistrarDriver.specializations.get(specialization.getName()), specialization);
+            assertSame(RegistrarDriver.faculties.get(specialization.getFaculty().getName()),
+                    specialization.getFaculty());
+        }
+        return used.stream().map(s -> s.getName() + "|" + s.getFaculty().getName() + "|" + s.getType())
+                .distinct().sorted().toList();
+    }
+
+    private static List<String> describeCourses() {
+        return RegistrarDriver.courses.values().stream()
+                .filter(c -> c.getWeeklyMeetings().size() == 3)
+                .map(c -> c.getCourseID() + "|" + c.getCourseName() + "|" + c.getCourseType() + "|"
+                        + c.getCreditHours() + "|" + c.getCapacity() + "|"
+                        + c.getWeeklyMeetings().stream().map(WeeklyMeeting::toString).toList())
+                .toList();
+    }
+
+    @Test
+    void testCsvLoadsBackIntoTheSameState(@TempDir Path directory) throws IOException {
+        DeltaImporter.importDirectory(RegistrarDriver.RESOURCES);
+        Specialization minor = Catalog.specialization("Export Minor", Catalog.faculty("Export Faculty"),
+                Specialization.Type.MINOR);
+        Specialization major = RegistrarDriver.students.values().iterator().next().getMajor();
+        Student tricky = new Student("O\"Brien, Pat ", major, minor);
+        RegistrarDriver.students.put(tricky.getId(), tricky);
+        Map<Integer, Student> students = new LinkedHashMap<>(RegistrarDriver.students);
+        Map<Integer, Teacher> teachers = new LinkedHashMap<>(RegistrarDriver.teachers);
+        Map<String, Course> courses = new LinkedHashMap<>(RegistrarDriver.courses);
+
+        RegistrarExporter.Summary summary = new RegistrarExporter(RegistrarExporter.Format.CSV, false)
+                .export(directory);
+        assertEquals(students.size(), summary.rows().get("students.csv"));
+        assertEquals(courses.values().stream().filter(c -> c.getWeeklyMeetings().size() != 3)
+                .map(Course::getCourseID).sorted().toList(), summary.skippedCourses());
+        assertTrue(Files.readString(directory.resolve("students.csv"))
+                .contains("\"O\"\"Brien, Pat \"," + major.getName()));
+
+        List<String> studentsBefore = describeStudents();
+        List<String> specializationsBefore = describeSpecializations();
+        List<String> coursesBefore = describeCourses();
+        List<String> semestersBefore = List.copyOf(RegistrarDriver.semesters.keySet());
+        RegistrarDriver.semesters.clear();
+        RegistrarDriver.students.clear();
+        RegistrarDriver.teachers.clear();
+        RegistrarDriver.courses.clear();
+        RegistrarDriver.weeklyMeetings.clear();
+        RegistrarDriver.specializations.clear();
+        RegistrarDriver.faculties.clear();
+        RegistrarDriver.readFiles(directory);
+
+        assertEquals(studentsBefore, describeStudents());
+        assertEquals(specializationsBefore, describeSpecializations());
+        assertTrue(specializationsBefore.contains("Export Minor|Export Faculty|MINOR"));
+        assertEquals(coursesBefore, describeCourses());
+        assertEquals(semestersBefore, List.copyOf(RegistrarDriver.semesters.keySet()));
+        assertEquals(teachers.size(), RegistrarDriver.teachers.size());
+    }
+
+    @Test
+    void testGzippedJsonLines(@TempDir Path directory) throws IOException {
+        DeltaImporter.importDirectory(RegistrarDriver.RESOURCES);
+        Student graded = RegistrarDriver.students.values().iterator().next();
+        Course course = RegistrarDriver.courses.values().iterator().next();
+        graded.getTranscript().putPoints(course, 3.5);
+        RegistrarExporter exporter = new RegistrarExporter(RegistrarExporter.Format.JSONL, true);
+        RegistrarExporter.Summary summary = exporter.export(directory);
+        assertEquals("transcripts.jsonl.gz", exporter.fileName("transcripts"));
+
+        for (Map.Entry<String, Long> file : summary.rows().entrySet()) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(directory.resolve(file.getKey()))),
+                    StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> row = (Map<String, Object>) Json.parse(line);
+                    rows.add(row);
+                }
+            }
+            assertEquals(file.getValue().longValue(), rows.size(), file.getKey());
+            if (file.getKey().startsWith("transcripts")) {
+                assertTrue(rows.stream().anyMatch(row -> course.getCourseID().equals(row.get("course"))
+                        && ((Number) row.get("student")).intValue() == graded.getId()
+                        && ((Number) row.get("points")).doubleValue() == 3.5));
+            }
+            if (file.getKey().startsWith("Courses")) {
+                assertEquals(RegistrarDriver.courses.size(), rows.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package object_orienters;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistrarHttpServerTest {
+    private RegistrarHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new RegistrarHttpServer(0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path));
+        request.method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body));
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> json(HttpResponse<String> response) {
+        return (Map<String, Object>) Json.parse(response.body());
+    }
+
+    @Test
+    void testRegisterAndGradeOverHttp() throws Exception {
+        assertEquals(201, send("POST", "/semesters", "{\"start\":\"2031-09-01\",\"end\":\"2031-12-31\"}").statusCode());
+        Map<String, Object> teacher = json(send("POST", "/teachers",
+                "{\"name\":\"Dr. Http\",\"specialization\":\"HTTP Studies\",\"faculty\":\"Web\"}"));
+        HttpResponse<String> students = send("POST", "/students/batch",
+                "[{\"name\":\"Ann\",\"major\":\"HTTP Studies\"},{\"name\":\"Ben\",\"major\":\"HTTP Studies\"}]");
+        assertEquals(201, students.statusCode());
+        List<?> created = (List<?>) Json.parse(students.body());
+        assertEquals(2, created.size());
+        send("POST", "/courses", "{\"id\":\"HTTP101\",\"name\":\"Requests\",\"specialization\":\"HTTP Studies\","
+                + "\"creditHours\":1,\"capacity\":10,"
+                + "\"meetings\":[{\"day\":\"monday\",\"start\":\"09:00\",\"duration\":90,\"room\":\"W-1\"}]}");
+
+        Object annId = ((Map<?, ?>) created.get(0)).get("id");
+        Object benId = ((Map<?, ?>) created.get(1)).get("id");
+        Map<String, Object> registration = json(send("POST", "/registrations",
+                "{\"semester\":\"Fall - 2031\",\"course\":\"HTTP101\",\"teacher\":" + teacher.get("id")
+                        + ",\"students\":[" + annId + "," + benId + "]}"));
+        assertEquals(List.of(annId, benId), registration.get("registered"));
+
+        Map<String, Object> semester = json(send("GET", "/semesters/Fall%20-%202031", null));
+        assertEquals(1, ((List<?>) semester.get("courses")).size());
+
+        assertEquals(201, send("POST", "/grades",
+                "{\"student\":" + annId + ",\"course\":\"HTTP101\",\"grade\":\"B+\"}").statusCode());
+        Map<String, Object> gpa = json(send("GET", "/students/" + annId + "/gpa", null));
+        assertEquals(3.5, ((Number) gpa.get("gpa")).doubleValue());
+        // Ben has no grades yet, and asking does not change his status
+        Map<String, Object> none = json(send("GET", "/students/" + benId + "/gpa", null));
+        assertTrue(none.containsKey("gpa"));
+        assertNull(none.get("gpa"));
+        assertNull(none.get("status"));
+    }
+
+    @Test
+    void testPaginationAndErrors() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            send("POST", "/courses", "{\"id\":\"PAGE" + i + "\",\"name\":\"Page " + i
+                    + "\",\"specialization\":\"Paging\",\"faculty\":\"Web\",\"creditHours\":1,\"capacity\":5}");
+        }
+        Map<String, Object> page = json(send("GET", "/courses?offset=1&limit=1", null));
+        assertEquals(1L, page.get("limit"));
+        assertEquals(1, ((List<?>) page.get("items")).size());
+        assertTrue((Long) page.get("total") >= 3);
+
+        assertEquals(404, send("GET", "/courses/NOPE", null).statusCode());
+        assertEquals(404, send("GET", "/unknown", null).statusCode());
+        assertEquals(400, send("POST", "/students", "{\"name\":\"Nobody\"}").statusCode());
+        assertEquals(400, send("POST", "/students", "{not json").statusCode());
+
+        HttpResponse<String> batch = send("POST", "/courses/batch", "[{\"id\":\"PAGE9\",\"name\":\"Page 9\","
+                + "\"specialization\":\"Paging\",\"creditHours\":1,\"capacity\":5},{\"id\":\"PAGE10\"}]");
+        assertEquals(207, batch.statusCode());
+        List<?> results = (List<?>) Json.parse(batch.body());
+        assertEquals("PAGE9", ((Map<?, ?>) results.get(0)).get("id"));
+        assertEquals(400L, ((Map<?, ?>) results.get(1)).get("status"));
+        assertNotNull(((Map<?, ?>) results.get(1)).get("error"));
+        assertEquals(200, send("GET", "/courses/PAGE9", null).statusCode());
+        assertEquals(404, send("GET", "/courses/PAGE10", null).statusCode());
+    }
+}
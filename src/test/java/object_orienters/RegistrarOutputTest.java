@@ -0,0 +1,140 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistrarOutputTest {
+
+    @Test
+    void testModesAndFile(@TempDir Path directory) throws IOException {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true));
+        try {
+            RegistrarOutput output = new RegistrarOutput(100);
+            Path file = directory.resolve("output.log");
+            output.setMode(RegistrarOutput.Mode.QUIET);
+            output.setFile(file);
+            output.info("Output Student registered in Output Course");
+            output.error("Error registering Output Course");
+            output.flush();
+            assertTrue(captured.toString().contains("Error registering Output Course"));
+            assertFalse(captured.toString().contains("Output Student registered"));
+
+            output.setMode(RegistrarOutput.Mode.SILENT);
+            output.error("Output silent error");
+            output.setFile(null);
+            output.error("Output unseen error");
+            output.flush();
+            assertFalse(captured.toString().contains("Output silent error"));
+            assertEquals(List.of("INFO Output Student registered in Output Course",
+                    "ERROR Error registering Output Course", "ERROR Output silent error"), Files.readAllLines(file));
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    // A console that hangs until released, keeping what it was given
+    private static PrintStream gatedConsole(CountDownLatch release, ByteArrayOutputStream captured) {
+        return new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                synchronized (captured) {
+                    captured.write(b, off, len);
+                }
+            }
+        }, true);
+    }
+
+    private static String text(ByteArrayOutputStream captured) {
+        synchronized (captured) {
+            return captured.toString();
+        }
+    }
+
+    @Test
+    void testReportingNeverWaitsForTheConsole() {
+        PrintStream originalOut = System.out;
+        CountDownLatch release = new CountDownLatch(1);
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(gatedConsole(release, captured));
+        try {
+            RegistrarOutput output = new RegistrarOutput(4);
+            // The console stays closed, so this only returns if reporting never waits for it
+            assertTimeoutPreemptively(Duration.ofMinutes(1), () -> {
+                for (int i = 0; i < 100; i++) {
+                    output.info("Output message " + i);
+                }
+            });
+            assertEquals(1, release.getCount());
+            // At most one batch is being written and the queue holds four
+            assertTrue(output.getDropped() >= 100 - 5 - 4, "dropped " + output.getDropped());
+
+            release.countDown();
+            output.flush();
+            output.info("Output last message");
+            output.flush();
+            assertTrue(text(captured).contains("messages were dropped"));
+            assertTrue(text(captured).contains("Output last message"));
+        } finally {
+            release.countDown();
+            System.setOut(originalOut);
+        }
+    }
+
+    @Test
+    void testErrorsAreNeverDropped() throws InterruptedException {
+        PrintStream originalOut = System.out;
+        CountDownLatch release = new CountDownLatch(1);
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(gatedConsole(release, captured));
+        try {
+            RegistrarOutput output = new RegistrarOutput(4);
+            for (int i = 0; i < 20; i++) {
+                output.info("Output message " + i);
+            }
+            long dropped = output.getDropped();
+            assertTrue(dropped > 0);
+            // The queue is full, so the errors wait for the console
+            Thread reporter = new Thread(() -> {
+                for (int i = 0; i < 10; i++) {
+                    output.error("Output error " + i);
+                }
+            });
+            reporter.start();
+
+            release.countDown();
+            reporter.join();
+            output.flush();
+            assertEquals(dropped, output.getDropped());
+            for (int i = 0; i < 10; i++) {
+                assertTrue(text(captured).contains("Output error " + i + System.lineSeparator()), "error " + i);
+            }
+        } finally {
+            release.countDown();
+            System.setOut(originalOut);
+        }
+    }
+}
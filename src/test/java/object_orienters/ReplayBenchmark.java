@@ -0,0 +1,45 @@
+package object_orienters;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays a million registrar events into a view, appends them to a log with
+ * the default checkpoints, and rebuilds the state as of a date the log still
+ * holds. See Benchmark for how to run it.
+ */
+class ReplayBenchmark {
+    private static final int STUDENTS = 200_000;
+    private static final LocalDate DAY = LocalDate.of(2020, 1, 1);
+
+    public static void main(String[] args) throws Exception {
+        List<DomainEvent> events = new ArrayList<>(5 * STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            LocalDate date = DAY.plusDays(i / 1_000);
+            String course = "C" + (i % 500);
+            events.add(new DomainEvent.StudentAdmitted(date, i, "Student " + i, "Science", "Maths", null));
+            events.add(new DomainEvent.CourseRegistered(date, "Fall - 2020", course, i % 50));
+            events.add(new DomainEvent.StudentEnrolled(date, "Fall - 2020", course, i));
+            events.add(new DomainEvent.StudentEnrolled(date, "Fall - 2020", "C" + ((i + 1) % 500), i));
+            events.add(new DomainEvent.GradeEntered(date, "Fall - 2020", i, course, i % 50, 3, i % 5, -1));
+        }
+
+        RegistrarView view = Benchmark.measure("Replay into a view", events.size(), "events",
+                () -> RegistrarEventLog.replay(events));
+        Benchmark.check(view.getStudentCount() == STUDENTS, "Replayed " + view.getStudentCount() + " students");
+
+        RegistrarEventLog log = Benchmark.measure("Append to a log", events.size(), "events", () -> {
+            RegistrarEventLog appended = new RegistrarEventLog();
+            events.forEach(appended::append);
+            return appended;
+        });
+        Benchmark.check(log.query(RegistrarView::getStudentCount) == STUDENTS, "The log lost students");
+        System.out.printf("The log holds %,d events after dropping %,d%n", log.size(), log.getDropped());
+
+        LocalDate date = DAY.plusDays(195);
+        RegistrarView asOf = Benchmark.measure("Rebuild the state as of " + date, 1, "rebuilds",
+                () -> log.asOf(date));
+        Benchmark.check(asOf.getStudentCount() == 196_000, "Rebuilt " + asOf.getStudentCount() + " students");
+    }
+}
@@ -0,0 +1,117 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static object_orienters.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportCacheTest {
+    private final Specialization spec = major("Reports");
+
+    @Test
+    void testServesUntilTheStudentChanges() {
+        ReportCache cache = new ReportCache(8);
+        Student student = new Student("Cached Student", spec);
+        Course course = course("RC1", spec, 3, 30);
+
+        String first = cache.getReport(student);
+        assertSame(first, cache.getReport(student));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        student.addRegisteredCourse(course);
+        String registered = cache.getReport(student);
+        assertNotEquals(first, registered);
+        assertEquals(student.getReport(), registered);
+
+        student.enterCourseGrade(course, "B");
+        String graded = cache.getReport(student);
+        assertEquals(student.getReport(), graded);
+        assertTrue(graded.contains("GPA 1.0"), graded);
+
+        student.getTranscript().putPoints(course, 4.0);
+        assertEquals(student.getReport(), cache.getReport(student));
+
+        student.addRegisteredCourse(course("RC2", spec, 3, 30));
+        cache.getReport(student);
+        student.getRegisteredCourses().clear();
+        assertEquals(student.getReport(), cache.getReport(student));
+        assertEquals(1, cache.getHits());
+        assertEquals(6, cache.getMisses());
+    }
+
+    @Test
+    void testCourseChangesRenderTheMembersAgain() {
+        ReportCache cache = new ReportCache(8);
+        Student member = new Student("Listed Student", spec);
+        Student other = new Student("Other Student", spec);
+        Course course = course("RC3", spec, DayOfWeek.MONDAY, 9);
+        Semester semester = new Semester(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 12, 31));
+        semester.registerInACourse(course, List.of(member), new Teacher("Dr. Report", spec));
+
+        cache.getReport(member);
+        cache.getReport(other);
+        course.setCourseName("Renamed Course");
+        assertTrue(cache.getReport(member).contains("Renamed Course"));
+        course.addPrerequisites(course("RC4", spec, 3, 30));
+        assertTrue(cache.getReport(member).contains("RC4"));
+
+        long misses = cache.getMisses();
+        cache.getReport(other);
+        assertEquals(misses, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testReportRenderedDuringAChangeIsNotKept() {
+        ReportCache cache = new ReportCache(8);
+        Course course = course("RC5", spec, 3, 30);
+        Student student = new Student("Busy Student", spec) {
+            private boolean changed;
+
+            @Override
+            public String getReport() {
+                String report = super.getReport();
+                if (!changed) {
+                    changed = true;
+                    addRegisteredCourse(course);
+                }
+                return report;
+            }
+        };
+
+        String stale = cache.getReport(student);
+        assertEquals(0, cache.size());
+        assertNotEquals(stale, cache.getReport(student));
+        assertEquals(student.getReport(), cache.getReport(student));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        ReportCache cache = new ReportCache(2);
+        Student a = new Student("Student A", spec);
+        Student b = new Student("Student B", spec);
+        Student c = new Student("Student C", spec);
+
+        cache.getReport(a);
+        cache.getReport(b);
+        cache.getReport(a);
+        cache.getReport(c);
+        assertEquals(2, cache.size());
+
+        long misses = cache.getMisses();
+        cache.getReport(a);
+        assertEquals(misses, cache.getMisses());
+        cache.getReport(b);
+        assertEquals(misses + 1, cache.getMisses());
+
+        cache.invalidate(a);
+        assertEquals(1, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new ReportCache(0));
+    }
+}
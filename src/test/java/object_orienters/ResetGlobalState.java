@@ -0,0 +1,32 @@
+package object_orienters;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Gives every test the registrar's shared state as a fresh process would have
+ * it, so no test depends on the ones that ran before it.
+ * Registered for every test through junit-platform.properties and the
+ * Extension service file.
+ */
+public class ResetGlobalState implements BeforeEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws Exception {
+        RegistrarEventLog.setInstance(null);
+        ReportCache.getInstance().clear();
+        RegistrarMetrics.reset();
+        RegistrarOutput output = RegistrarOutput.getInstance();
+        output.setFile(null);
+        output.setMode(RegistrarOutput.Mode.NORMAL);
+
+        RegistrarDriver.semesters.clear();
+        RegistrarDriver.students.clear();
+        RegistrarDriver.teachers.clear();
+        RegistrarDriver.courses.clear();
+        RegistrarDriver.weeklyMeetings.clear();
+        RegistrarDriver.specializations.clear();
+        RegistrarDriver.faculties.clear();
+        Course.resetDenseIds();
+    }
+}
@@ -0,0 +1,44 @@
+package object_orienters;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static object_orienters.Fixtures.course;
+import static object_orienters.Fixtures.major;
+import static object_orienters.Fixtures.meeting;
+
+/**
+ * Indexes twenty thousand courses meeting in five thousand rooms and asks for
+ * the free rooms of a time range. See Benchmark for how to run it.
+ */
+class RoomUtilizationBenchmark {
+    private static final int QUERIES = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        Specialization spec = major("Rooms Bench");
+        Random random = new Random(7);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            String room = "R-" + random.nextInt(5000);
+            courses.add(course("RQ" + i, spec, 3, 20 + random.nextInt(200),
+                    meeting(DayOfWeek.of(1 + random.nextInt(5)), String.format("%02d:%02d", 8 + random.nextInt(9),
+                            random.nextInt(6) * 10), 50 + random.nextInt(3) * 25, room)));
+        }
+
+        RoomUtilization utilization = Benchmark.measure("Index the rooms of the courses", courses.size(),
+                "courses", () -> new RoomUtilization(courses));
+        int found = Benchmark.measure("Find free rooms among " + utilization.getRooms().size(), QUERIES,
+                "queries", () -> {
+                    int total = 0;
+                    for (int i = 0; i < QUERIES; i++) {
+                        total += utilization.findFreeRooms(DayOfWeek.TUESDAY, LocalTime.of(10, 0),
+                                LocalTime.of(11, 30), 80 + i % 100).size();
+                    }
+                    return total;
+                });
+        Benchmark.check(found > 0, "No room was free");
+    }
+}
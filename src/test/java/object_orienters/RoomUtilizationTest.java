@@ -0,0 +1,115 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static object_orienters.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomUtilizationTest {
+    private final Specialization spec = major("Rooms");
+
+    @Test
+    void testBitmapMatchesMinuteArray() {
+        Random random = new Random(45);
+        WeekBitmap bitmap = new WeekBitmap();
+        boolean[] expected = new boolean[WeekBitmap.MINUTES_PER_WEEK];
+        for (int i = 0; i < 2000; i++) {
+            DayOfWeek day = DayOfWeek.of(1 + random.nextInt(7));
+            int from = random.nextInt(WeekBitmap.MINUTES_PER_DAY + 20) - 10;
+            int to = from + random.nextInt(300);
+            int start = WeekBitmap.minuteOfWeek(day, Math.max(0, Math.min(WeekBitmap.MINUTES_PER_DAY, from)));
+            int end = WeekBitmap.minuteOfWeek(day, Math.max(0, Math.min(WeekBitmap.MINUTES_PER_DAY, to)));
+
+            int booked = 0;
+            for (int m = start; m < end; m++) {
+                booked += expected[m] ? 1 : 0;
+            }
+            assertEquals(booked, bitmap.count(day, from, to));
+            assertEquals(booked == 0, bitmap.isFree(day, from, to));
+
+            boolean set = random.nextInt(3) > 0;
+            for (int m = start; m < end; m++) {
+                expected[m] = set;
+            }
+            if (set) {
+                bitmap.set(day, from, to);
+            } else {
+                bitmap.clear(day, from, to);
+            }
+        }
+        WeekBitmap copy = bitmap.copy();
+        assertEquals(bitmap, copy);
+        copy.or(new WeekBitmap());
+        assertEquals(bitmap, copy);
+    }
+
+    @Test
+    void testOccupancyAndFreeRooms() {
+        List<Course> courses = List.of(
+                course("RU1", spec, 3, 40, meeting(DayOfWeek.MONDAY, "09:00", 50, "A-1"),
+                        meeting(DayOfWeek.WEDNESDAY, "09:00", 50, "A-1")),
+                course("RU2", spec, 3, 90, meeting(DayOfWeek.MONDAY, "09:50", 75, "B-1"),
+                        meeting(DayOfWeek.TUESDAY, "10:00", 90, "B-1")),
+                course("RU3", spec, 3, 30, meeting(DayOfWeek.MONDAY, "09:30", 50, "A-1")),
+                course("RU4", spec, 3, 120, meeting(DayOfWeek.FRIDAY, "17:30", 60, "C-1")));
+        RoomUtilization utilization = new RoomUtilization(courses);
+
+        assertEquals(List.of("A-1", "B-1", "C-1"), utilization.getRooms());
+        assertEquals(40, utilization.getSeats("A-1"));
+        assertEquals(20, utilization.getDoubleBookedMinutes("A-1"));
+        assertEquals(0, utilization.getDoubleBookedMinutes("B-1"));
+
+        RoomUtilization.Occupancy monday = utilization.getOccupancy("A-1").get(0);
+        assertEquals(DayOfWeek.MONDAY, monday.day());
+        assertEquals(80, monday.bookedMinutes());
+        assertEquals(600, monday.availableMinutes());
+        // Only the half hour before closing counts
+        assertEquals(30, utilization.getOccupancy("C-1").get(4).bookedMinutes());
+        assertEquals("C-1", utilization.getRoomsByUtilization().get(0));
+
+        RoomUtilization.Peak peak = utilization.getPeakHours(1).get(0);
+        assertEquals(DayOfWeek.MONDAY, peak.day());
+        assertEquals(LocalTime.of(10, 0), peak.hour());
+
+        // B-1 is booked from 10:00 to 11:30 on Tuesday, A-1 is too small
+        assertEquals(List.of("C-1"),
+                utilization.findFreeRooms(DayOfWeek.TUESDAY, LocalTime.of(10, 0), LocalTime.of(11, 30), 80));
+        assertEquals(List.of("B-1", "C-1"),
+                utilization.findFreeRooms(DayOfWeek.TUESDAY, LocalTime.of(11, 30), LocalTime.of(12, 0), 80));
+        assertEquals(List.of("A-1", "B-1", "C-1"),
+                utilization.findFreeRooms(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(9, 0), 0));
+        assertThrows(IllegalArgumentException.class, () -> utilization.getSeats("Z-9"));
+    }
+
+    @Test
+    void testFreeRoomsMatchAScanOfTheMeetings() {
+        Random random = new Random(7);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String room = "R-" + random.nextInt(60);
+            courses.add(course("RQ" + i, spec, 3, 20 + random.nextInt(200),
+                    meeting(DayOfWeek.of(1 + random.nextInt(5)), String.format("%02d:%02d", 8 + random.nextInt(9),
+                            random.nextInt(6) * 10), 50 + random.nextInt(3) * 25, room)));
+        }
+        RoomUtilization utilization = new RoomUtilization(courses);
+
+        WeeklyMeeting wanted = meeting(DayOfWeek.TUESDAY, "10:00", 90, "");
+        List<String> expected = utilization.getRooms().stream()
+                .filter(room -> utilization.getSeats(room) >= 80)
+                .filter(room -> courses.stream().flatMap(c -> c.getWeeklyMeetings().stream())
+                        .noneMatch(m -> m.getRoom().equals(room) && m.hasTimeConflict(wanted)))
+                .sorted().toList();
+        List<String> free = utilization.findFreeRooms(DayOfWeek.TUESDAY, LocalTime.of(10, 0), LocalTime.of(11, 30), 80);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, free.stream().sorted().toList());
+        for (int i = 1; i < free.size(); i++) {
+            assertTrue(utilization.getSeats(free.get(i - 1)) <= utilization.getSeats(free.get(i)));
+        }
+    }
+}
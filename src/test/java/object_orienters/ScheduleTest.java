@@ -1,47 +1,120 @@
-//package object_orienters;
-//
-//import org.junit.jupiter.api.Test;
-//
-//import java.time.DayOfWeek;
-//import java.time.Duration;
-//import java.time.LocalTime;
-//import java.util.Arrays;
-//
-//import static org.junit.jupiter.api.Assertions.*;
-//
-//class ScheduleTest {
-//
-//    @Test
-//    void getCreditLoad() {
-//    }
-//
-//    @Test
-//    public void testDisplaySchedule() {
-//        // Set up sample teachers
-//
-//        Teacher teacher1 = new Teacher(1, "Dr. Smith", new Department("Computer Science"), "dr.smith@email.com");
-//        Teacher teacher2 = new Teacher(2, "Prof. Johnson", new Department("Mathematics"), "prof.johnson@email.com");
-//
-//        // Set up sample courses with weekly meetings
-//        Course course1 = new Course("Intro to Programming", teacher1, 3,
-//                Arrays.asList(new WeeklyMeeting(DayOfWeek.MONDAY, Duration.ofHours(1), "101", LocalTime.of(9, 0)),
-//                        new WeeklyMeeting(DayOfWeek.WEDNESDAY, Duration.ofHours(1), "101", LocalTime.of(9, 0))));
-//
-//        Course course2 = new Course("Calculus I", teacher2, 3,
-//                Arrays.asList(new WeeklyMeeting(DayOfWeek.MONDAY, Duration.ofHours(1), "201", LocalTime.of(10, 30)),
-//                        new WeeklyMeeting(DayOfWeek.WEDNESDAY, Duration.ofHours(1), "201", LocalTime.of(10, 30))));
-//
-//        Schedule schedule = new Schedule(Arrays.asList(course1, course2));
-//
-//        // Expected output
-//        String expected = "MONDAY:\n" +
-//                "  09:00 - 10:00 | Intro to Programming | Room: 101\n" +
-//                "  10:30 - 11:30 | Calculus I | Room: 201\n" +
-//                "WEDNESDAY:\n" +
-//                "  09:00 - 10:00 | Intro to Programming | Room: 101\n" +
-//                "  10:30 - 11:30 | Calculus I | Room: 201\n";
-//
-//        // Assert that the actual output matches the expected output
-//        assertEquals(expected, schedule.displaySchedule());
-//    }
-//}
\ No newline at end of file
+package object_orienters;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleTest {
+    private Specialization spec;
+    private Teacher teacher;
+    private Course course1;
+    private Course course2;
+    private Semester semester;
+    private final PrintStream originalOut = System.out;
+    private ByteArrayOutputStream captured;
+
+    @BeforeEach
+    void setUp() {
+        spec = new Specialization("Computer Science", new Faculty("Engineering"), Specialization.Type.MAJOR);
+        teacher = new Teacher("Dr. Smith", spec);
+
+        // Set up sample courses with weekly meetings
+        course1 = new Course("CS101", "Intro to Programming", spec, 3,
+                Arrays.asList(new WeeklyMeeting(DayOfWeek.WEDNESDAY, Duration.ofHours(1), "101", LocalTime.of(9, 0)),
+                        new WeeklyMeeting(DayOfWeek.MONDAY, Duration.ofHours(1), "101", LocalTime.of(9, 0))),
+                50);
+        course2 = new Course("MATH101", "Calculus I", spec, 4,
+                Arrays.asList(new WeeklyMeeting(DayOfWeek.MONDAY, Duration.ofHours(1), "201", LocalTime.of(10, 30)),
+                        new WeeklyMeeting(DayOfWeek.WEDNESDAY, Duration.ofHours(1), "201", LocalTime.of(10, 30))),
+                50);
+        semester = new Semester(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 12, 31));
+    }
+
+    @AfterEach
+    void restoreOut() {
+        System.setOut(originalOut);
+    }
+
+    private String scheduleOf(Person person) {
+        // Registration messages still queued would be written into the capture
+        RegistrarOutput.getInstance().flush();
+        captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured));
+        person.showSchedule();
+        System.setOut(originalOut);
+        String out = captured.toString();
+        // drop the line separator added by println
+        return out.substring(0, out.length() - System.lineSeparator().length());
+    }
+
+    @Test
+    void getCreditLoad() {
+        Student student = new Student("Alice", spec);
+        assertEquals(0, student.getCreditLoad());
+        semester.registerInACourse(course2, List.of(student), teacher);
+        semester.registerInACourse(course1, List.of(student), teacher);
+        assertEquals(7, student.getCreditLoad());
+        assertEquals(7, teacher.getCreditLoad());
+
+        semester.unregisterInACourse(course2, List.of(student), false);
+        assertEquals(3, student.getCreditLoad());
+    }
+
+    @Test
+    public void testDisplaySchedule() {
+        Student student = new Student("Alice", spec);
+        semester.registerInACourse(course2, List.of(student), teacher);
+        semester.registerInACourse(course1, List.of(student), teacher);
+
+        // Expected output
+        String expected = "MONDAY:\n" +
+                "  09:00 - 10:00 | Intro to Programming | Room: 101\n" +
+                "  10:30 - 11:30 | Calculus I | Room: 201\n" +
+                "WEDNESDAY:\n" +
+                "  09:00 - 10:00 | Intro to Programming | Room: 101\n" +
+                "  10:30 - 11:30 | Calculus I | Room: 201\n";
+
+        // Assert that the actual output matches the expected output
+        assertEquals(expected, scheduleOf(student));
+        assertEquals(expected, scheduleOf(teacher));
+    }
+
+    @Test
+    public void testScheduleFollowsChanges() {
+        Student student = new Student("Alice", spec);
+        assertEquals("", scheduleOf(student));
+
+        semester.registerInACourse(course1, List.of(student), teacher);
+        semester.registerInACourse(course2, List.of(student), teacher);
+        semester.unregisterInACourse(course1, List.of(student), false);
+        assertEquals("MONDAY:\n" +
+                "  10:30 - 11:30 | Calculus I | Room: 201\n" +
+                "WEDNESDAY:\n" +
+                "  10:30 - 11:30 | Calculus I | Room: 201\n", scheduleOf(student));
+
+        course2.setWeeklyMeetings(
+                List.of(new WeeklyMeeting(DayOfWeek.FRIDAY, Duration.ofMinutes(90), "301", LocalTime.of(8, 0))));
+        assertEquals("FRIDAY:\n" +
+                "  08:00 - 09:30 | Calculus I | Room: 301\n", scheduleOf(student));
+
+        course2.setCourseName("Calculus");
+        assertEquals("FRIDAY:\n" +
+                "  08:00 - 09:30 | Calculus | Room: 301\n", scheduleOf(student));
+        assertTrue(scheduleOf(teacher).contains("| Calculus |"));
+
+        student.enterCourseGrade(course2, "A");
+        assertEquals("", scheduleOf(student));
+        assertEquals(0, student.getCreditLoad());
+    }
+}
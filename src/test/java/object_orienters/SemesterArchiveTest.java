@@ -0,0 +1,142 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static object_orienters.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SemesterArchiveTest {
+    private final Specialization spec = major("Archive");
+
+    @TempDir
+    Path directory;
+
+    // A course meeting on Sundays, so it never conflicts with the others
+    private Course sundayCourse(String id, int capacity) {
+        return course(id, spec, 3, capacity, meeting(DayOfWeek.SUNDAY, "08:00", 50, "AR-" + id));
+    }
+
+    @Test
+    void testSameCourseInTwoSemesters() {
+        Course course = sundayCourse("AR100", 2);
+        Semester fall = new Semester(LocalDate.of(2020, 9, 1), LocalDate.of(2020, 12, 31));
+        Semester spring = new Semester(LocalDate.of(2021, 2, 1), LocalDate.of(2021, 6, 1));
+        Teacher first = new Teacher("Archive Teacher A", spec);
+        Teacher second = new Teacher("Archive Teacher B", spec);
+        List<Student> fallStudents = students("Archive Fall ", 3, spec);
+        List<Student> springStudents = students("Archive Spring ", 1, spec);
+
+        fall.registerInACourse(course, fallStudents, first);
+        spring.registerInACourse(course, springStudents, second);
+
+        CourseOffering fallOffering = fall.getOffering(course).orElseThrow();
+        CourseOffering springOffering = spring.getOffering(course).orElseThrow();
+        assertEquals(first, fallOffering.getTeacher().orElseThrow());
+        assertEquals(second, springOffering.getTeacher().orElseThrow());
+        // The capacity applies to each offering on its own
+        assertEquals(fallStudents.subList(0, 2), fallOffering.getEnrolledStudents());
+        assertEquals(springStudents, springOffering.getEnrolledStudents());
+        assertEquals(List.of(fallOffering, springOffering), course.getOfferings());
+        // The course answers for its latest offering
+        assertEquals(second, course.getTeacher().orElseThrow());
+        assertEquals(springStudents, course.getEnrolledStudents());
+    }
+
+    @Test
+    void testOtherSemestersDoNotConflict() {
+        Course fallCourse = course("AR200", spec, DayOfWeek.MONDAY, 9);
+        Course springCourse = course("AR201", spec, DayOfWeek.MONDAY, 9);
+        Course retaken = sundayCourse("AR202", 10);
+        Semester fall = new Semester(LocalDate.of(2020, 9, 1), LocalDate.of(2020, 12, 31));
+        Semester spring = new Semester(LocalDate.of(2021, 2, 1), LocalDate.of(2021, 6, 1));
+        Teacher teacher = new Teacher("Archive Teacher C", spec);
+        List<Student> group = students("Archive Both ", 2, spec);
+
+        // Same Monday slot, one semester apart, for the teacher and the students
+        fall.registerInACourse(fallCourse, group, teacher);
+        spring.registerInACourse(springCourse, group, teacher);
+        assertEquals(teacher, spring.getOffering(springCourse).flatMap(CourseOffering::getTeacher).orElseThrow());
+        assertEquals(group, spring.getOffering(springCourse).orElseThrow().getEnrolledStudents());
+
+        // An ungraded course taken again the next semester
+        fall.registerInACourse(retaken, group, teacher);
+        spring.registerInACourse(retaken, group, teacher);
+        assertEquals(group, fall.getOffering(retaken).orElseThrow().getEnrolledStudents());
+        assertEquals(group, spring.getOffering(retaken).orElseThrow().getEnrolledStudents());
+        // The semester's own courses still conflict
+        assertFalse(spring.isFreeFor(group.get(0), fallCourse));
+
+        // Leaving one offering keeps the course of the other
+        spring.unregisterInACourse(retaken, List.of(group.get(0)), true);
+        assertTrue(group.get(0).getRegisteredCourses().contains(retaken));
+        assertTrue(teacher.getRegisteredCourses().contains(retaken));
+    }
+
+    @Test
+    void testArchiveRoundTripAndEviction() throws IOException {
+        Course course = sundayCourse("AR200", 500);
+        Course other = sundayCourse("AR201", 500);
+        Semester closed = new Semester(LocalDate.of(2019, 9, 1), LocalDate.of(2019, 12, 31));
+        Semester current = new Semester(LocalDate.of(2099, 9, 1), LocalDate.of(2099, 12, 31));
+        Teacher teacher = new Teacher("Archive Teacher C", spec);
+        Teacher otherTeacher = new Teacher("Archive Teacher D", spec);
+        List<Student> students = students("Archive Closed ", 300, spec);
+        closed.registerInACourse(course, students, teacher);
+        closed.registerInACourse(other, List.of(), otherTeacher);
+        current.registerInACourse(other, List.of(), new Teacher("Archive Teacher E", spec));
+
+        assertThrows(IllegalStateException.class, () -> current.archive(directory));
+        assertFalse(current.isArchived());
+
+        Path file = closed.archive(directory);
+        assertEquals(SemesterArchive.fileName(closed.getSemesterName()), file.getFileName().toString());
+        assertTrue(closed.isArchived());
+        assertThrows(IllegalStateException.class, () -> closed.archive(directory));
+        // A few bytes per student instead of the objects
+        assertTrue(Files.size(file) < 600, "archive is " + Files.size(file) + " bytes");
+
+        // The closed semester holds nothing in memory anymore
+        assertTrue(closed.getRegisteredCourses().isEmpty());
+        assertTrue(closed.getStudents().isEmpty());
+        assertTrue(closed.getSnapshot().getCourses().isEmpty());
+        assertTrue(course.getOfferings().isEmpty());
+        assertFalse(students.get(0).getRegisteredCourses().contains(course));
+        assertFalse(teacher.getRegisteredCourses().contains(course));
+        // The other semester's offering is untouched
+        assertEquals(1, other.getOfferings().size());
+        assertEquals(current, other.getOfferings().get(0).getSemester());
+
+        SemesterArchive archive = closed.getArchive().orElseThrow();
+        assertEquals(closed.getSemesterName(), archive.getSemesterName());
+        assertEquals(closed.getSemesterEndDate(), archive.getSemesterEndDate());
+        assertEquals(List.of("AR200", "AR201"), archive.getCourseIDs());
+        assertEquals(teacher.getId(), archive.getTeacherId("AR200").getAsInt());
+        assertEquals(otherTeacher.getId(), archive.getTeacherId("AR201").getAsInt());
+        assertTrue(archive.getTeacherId("AR999").isEmpty());
+        int[] expected = students.stream().mapToInt(Person::getId).sorted().toArray();
+        assertArrayEquals(expected, archive.getStudentIds("AR200"));
+        assertEquals(0, archive.getStudentIds("AR201").length);
+        assertEquals(300, archive.getEnrollmentCount());
+        assertTrue(Arrays.equals(expected, SemesterArchive.read(file).getStudentIds("AR200")));
+
+        // No registrations once archived
+        closed.registerInACourse(course, students, teacher);
+        assertTrue(closed.getRegisteredCourses().isEmpty());
+    }
+
+    @Test
+    void testReadRejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("not-an-archive.sem");
+        Files.writeString(file, "Fall - 2023");
+        assertThrows(IOException.class, () -> SemesterArchive.read(file));
+    }
+}
@@ -0,0 +1,132 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static object_orienters.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SemesterCacheTest {
+    private final Specialization spec = major("Cache");
+
+    // Fall and spring terms from 1990 on, oldest first
+    private static SemesterCache terms(int capacity, int years) {
+        SemesterCache cache = new SemesterCache(capacity);
+        for (int year = 1990; year < 1990 + years; year++) {
+            cache.declare(LocalDate.of(year, 2, 1), LocalDate.of(year, 6, 1));
+            cache.declare(LocalDate.of(year, 9, 1), LocalDate.of(year, 12, 31));
+        }
+        return cache;
+    }
+
+    @Test
+    void testSemestersAreBuiltOnFirstUse() {
+        SemesterCache cache = terms(4, 20);
+        assertEquals(40, cache.size());
+        assertEquals(0, cache.getBuildCount());
+        assertEquals("Spring - 1990", cache.keySet().iterator().next());
+        assertTrue(cache.containsKey("Fall - 2000"));
+        assertEquals(LocalDate.of(2000, 9, 1), cache.getTerms().get(21).start());
+        assertEquals(0, cache.getBuildCount());
+
+        Semester fall = cache.find(" fall - 2000").orElseThrow();
+        assertEquals("Fall - 2000", fall.getSemesterName());
+        assertSame(fall, cache.get("Fall - 2000"));
+        assertTrue(cache.find("Winter - 2000").isEmpty());
+        assertNull(cache.get("Winter - 2000"));
+
+        // The terms on both sides are built in the background
+        cache.awaitPrefetch();
+        assertTrue(cache.isLoaded("Spring - 2000"));
+        assertTrue(cache.isLoaded("Spring - 2001"));
+        assertFalse(cache.isLoaded("Fall - 2001"));
+        assertEquals(3, cache.getBuildCount());
+    }
+
+    @Test
+    void testColdSemestersAreDroppedAndRegisteredOnesKept() {
+        SemesterCache cache = terms(4, 20);
+        Semester busy = cache.get("Spring - 1995");
+        busy.registerInACourse(course("SC100", spec, DayOfWeek.MONDAY, 8),
+                List.of(new Student("Cache Student", spec)), new Teacher("Cache Teacher", spec));
+        Semester idle = cache.get("Fall - 1995");
+        // Let the neighbours of both lookups be built before the cold ones are pushed out
+        cache.awaitPrefetch();
+
+        int visited = 0;
+        for (Semester semester : cache.values()) {
+            assertNotNull(semester);
+            visited++;
+        }
+        cache.awaitPrefetch();
+        assertEquals(40, visited);
+        // Only the last few semesters visited stay cached
+        assertFalse(cache.isLoaded("Spring - 1990"));
+        assertFalse(cache.isLoaded("Fall - 1995"));
+        assertTrue(cache.isLoaded("Fall - 2009"));
+        // The registered semester is never dropped
+        assertTrue(cache.isLoaded("Spring - 1995"));
+        assertSame(busy, cache.get("Spring - 1995"));
+        // A dropped semester still in use is handed out again rather than rebuilt
+        assertSame(idle, cache.get("Fall - 1995"));
+    }
+
+    @Test
+    void testArchivedSemestersKeepTheirArchive(@TempDir Path directory) throws IOException {
+        SemesterCache cache = terms(2, 5);
+        Semester semester = cache.get("Fall - 1991");
+        semester.registerInACourse(course("SC200", spec, DayOfWeek.MONDAY, 8),
+                List.of(new Student("Cache Archived", spec)), new Teacher("Cache Archiver", spec));
+        semester.archive(directory);
+        semester = null;
+
+        cache.keySet().forEach(cache::get);
+        cache.awaitPrefetch();
+        assertFalse(cache.isLoaded("Fall - 1991"));
+        Semester again = cache.get("Fall - 1991");
+        assertTrue(again.isArchived());
+        assertEquals(List.of("SC200"), again.getArchive().orElseThrow().getCourseIDs());
+    }
+
+    @Test
+    void testPopulatedSemestersAreFoundWithoutBuildingTheOthers(@TempDir Path directory) throws IOException {
+        SemesterCache cache = terms(2, 20);
+        Semester archived = cache.get("Spring - 1991");
+        archived.registerInACourse(course("SC300", spec, DayOfWeek.MONDAY, 8),
+                List.of(new Student("Cache Populated", spec)), new Teacher("Cache Populator", spec));
+        archived.archive(directory);
+        Semester busy = cache.get("Fall - 2005");
+        busy.registerInACourse(course("SC301", spec, DayOfWeek.MONDAY, 8),
+                List.of(new Student("Cache Busy", spec)), new Teacher("Cache Busier", spec));
+        cache.awaitPrefetch();
+        long builds = cache.getBuildCount();
+
+        assertEquals(List.of(archived, busy), cache.getPopulated());
+        assertEquals(builds, cache.getBuildCount());
+    }
+
+    @Test
+    void testMapOperations() {
+        SemesterCache cache = terms(4, 2);
+        Semester summer = new Semester(LocalDate.of(1990, 7, 1), LocalDate.of(1990, 8, 15));
+        assertNull(cache.putIfAbsent(summer.getSemesterName(), summer));
+        assertSame(summer, cache.putIfAbsent(summer.getSemesterName(),
+                new Semester(LocalDate.of(1990, 7, 1), LocalDate.of(1990, 8, 15))));
+        assertEquals(5, cache.size());
+        assertSame(summer, cache.remove("Summer - 1990"));
+        assertFalse(cache.containsKey("Summer - 1990"));
+
+        // Declaring other dates under a known name replaces the semester
+        cache.declare(LocalDate.of(1991, 9, 5), LocalDate.of(1991, 12, 20));
+        assertEquals(LocalDate.of(1991, 12, 20), cache.get("Fall - 1991").getSemesterEndDate());
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new SemesterCache(0));
+    }
+}
@@ -0,0 +1,115 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static object_orienters.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SemesterSnapshotTest {
+
+    @Test
+    void testSnapshotsAreVersionedAndShareUnchangedCourses() {
+        Specialization spec = major("History");
+        Teacher teacher = new Teacher("Dr. Stone", spec);
+        Student student = new Student("Lee", spec);
+        Course first = course("HIS101", spec, DayOfWeek.MONDAY, 9);
+        Course second = course("HIS102", spec, DayOfWeek.TUESDAY, 9);
+        Semester semester = new Semester(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 12, 31));
+
+        SemesterSnapshot empty = semester.getSnapshot();
+        assertEquals(0, empty.getVersion());
+        assertTrue(empty.getCourses().isEmpty());
+
+        semester.registerInACourse(first, List.of(student), teacher);
+        SemesterSnapshot afterFirst = semester.getSnapshot();
+        semester.registerInACourse(second, List.of(), teacher);
+        SemesterSnapshot afterSecond = semester.getSnapshot();
+
+        assertEquals(1, afterFirst.getVersion());
+        assertEquals(2, afterSecond.getVersion());
+        assertEquals(1, afterFirst.getCourses().size());
+        assertEquals(2, afterSecond.getCourses().size());
+        assertSame(afterFirst.getCourse("HIS101").orElseThrow(), afterSecond.getCourse("HIS101").orElseThrow());
+        assertEquals(List.of(student.getId()),
+                afterSecond.getCourse("HIS101").orElseThrow().students().stream()
+                        .map(SemesterSnapshot.PersonView::id).toList());
+        assertEquals(teacher.getId(), afterSecond.getCourse("HIS102").orElseThrow().teacher().orElseThrow().id());
+
+        semester.unregisterInACourse(first, List.of(student), true);
+        assertTrue(semester.getSnapshot().getCourse("HIS101").isEmpty());
+        assertTrue(afterSecond.getCourse("HIS101").isPresent());
+        assertThrows(UnsupportedOperationException.class, () -> afterSecond.getCourses().clear());
+    }
+
+    @Test
+    void testCourseChangesAndGradesArePublished() {
+        Specialization spec = major("Geology");
+        Teacher teacher = new Teacher("Dr. Rock", spec);
+        Student student = new Student("Sam", spec);
+        Course course = course("GEO101", spec, DayOfWeek.MONDAY, 9);
+        Semester semester = new Semester(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 12, 31));
+        semester.registerInACourse(course, List.of(student), teacher);
+        SemesterSnapshot registered = semester.getSnapshot();
+        assertEquals(Set.of(student.getId()), registered.getStudentIds());
+        assertEquals(Set.of(teacher.getId()), registered.getTeacherIds());
+
+        course.setCourseName("Rocks");
+        SemesterSnapshot renamed = semester.getSnapshot();
+        assertEquals(registered.getVersion() + 1, renamed.getVersion());
+        assertEquals("Rocks", renamed.getCourse("GEO101").orElseThrow().courseName());
+        // Nobody joined or left
+        assertSame(registered.getStudentIds(), renamed.getStudentIds());
+
+        course.addPrerequisites(course("GEO100", spec, DayOfWeek.FRIDAY, 9));
+        course.setWeeklyMeetings(new ArrayList<>(List.of(meeting(DayOfWeek.THURSDAY, "09:00", 50, "GEO101-room"))));
+        student.enterCourseGrade(course, "A");
+        assertEquals(renamed.getVersion() + 3, semester.getSnapshot().getVersion());
+
+        semester.unregisterInACourse(course, List.of(student), true);
+        assertTrue(semester.getSnapshot().getStudentIds().isEmpty());
+        assertTrue(semester.getSnapshot().getTeacherIds().isEmpty());
+    }
+
+    @Test
+    void testReadersSeeConsistentSnapshotsDuringRegistration() throws Exception {
+        Specialization spec = major("Music");
+        Teacher teacher = new Teacher("Dr. Bach", spec);
+        Semester semester = new Semester(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 12, 31));
+        Course course = course("MUS101", spec, 3, 1_000, meeting(DayOfWeek.FRIDAY, "10:00", 50, "MUS101-room"));
+        List<Student> students = students("Student ", 200, spec);
+
+        AtomicBoolean done = new AtomicBoolean();
+        List<Throwable> failures = new ArrayList<>();
+        Thread reader = new Thread(() -> {
+            long lastVersion = -1;
+            while (!done.get()) {
+                SemesterSnapshot snapshot = semester.getSnapshot();
+                try {
+                    assertTrue(snapshot.getVersion() >= lastVersion);
+                    snapshot.getCourse("MUS101").ifPresent(c -> assertEquals(c.students().size(),
+                            c.students().stream().distinct().count()));
+                } catch (Throwable t) {
+                    failures.add(t);
+                    return;
+                }
+                lastVersion = snapshot.getVersion();
+            }
+        });
+        reader.start();
+        for (Student student : students) {
+            semester.registerInACourse(course, List.of(student), teacher);
+        }
+        done.set(true);
+        reader.join();
+
+        assertTrue(failures.isEmpty(), () -> failures.get(0).toString());
+        assertEquals(200, semester.getSnapshot().getCourse("MUS101").orElseThrow().students().size());
+    }
+}
@@ -0,0 +1,107 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentColumnStoreTest {
+
+    @Test
+    void testStaysInSyncWithStudents() {
+        RegistrarEventLog log = new RegistrarEventLog();
+        RegistrarEventLog.setInstance(log);
+        StudentColumnStore store = StudentColumnStore.attach(log);
+        try {
+            followStudent(store);
+        } finally {
+            store.detach(log);
+            RegistrarEventLog.setInstance(null);
+        }
+    }
+
+    private static void followStudent(StudentColumnStore store) {
+        Specialization major = new Specialization("Columns", new Faculty("Data"), Specialization.Type.MAJOR);
+        Specialization minor = new Specialization("Rows", new Faculty("Data"), Specialization.Type.MINOR);
+        Teacher teacher = new Teacher("Dr. Codd", major);
+        Student student = new Student("Edgar", major, minor);
+        Semester semester = new Semester(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 12, 31));
+        Course first = new Course("COL101", "Arrays", major, 3,
+                List.of(new WeeklyMeeting(DayOfWeek.MONDAY, Duration.ofMinutes(60), "C-1", LocalTime.of(8, 0))), 5);
+        Course second = new Course("COL102", "Vectors", major, 4,
+                List.of(new WeeklyMeeting(DayOfWeek.TUESDAY, Duration.ofMinutes(60), "C-2", LocalTime.of(8, 0))), 5);
+
+        semester.registerInACourse(first, List.of(student), teacher);
+        semester.registerInACourse(second, List.of(student), teacher);
+        student.enterCourseGrade(first, "A");
+        student.enterCourseGrade(second, "C+");
+
+        assertEquals(student.calculateGPA(), store.getGPA(student.getId()));
+
+        // Grades written to the transcript directly reach the store as well
+        Course transfer = new Course("COL103", "Tables", major, 2, List.of(), 5);
+        student.getTranscript().putPoints(transfer, 3.0);
+        student.getCompletedCoursesGrades().put(second, 3.5);
+        assertEquals(student.calculateGPA(), store.getGPA(student.getId()));
+        student.getTranscript().remove(first);
+        assertEquals(student.calculateGPA(), store.getGPA(student.getId()));
+        student.getTranscript().clear();
+        assertEquals(student.calculateGPA(), store.getGPA(student.getId()));
+        assertTrue(Double.isNaN(store.getGPA(student.getId())));
+        assertTrue(Double.isNaN(store.getGPA(-1)));
+        assertEquals(1, store.countMajor("Columns"));
+        assertEquals(1, store.countByMinor().get("Rows"));
+    }
+
+    @Test
+    void testAggregatesMatchAScanOfTheEvents() {
+        RegistrarEventLog log = new RegistrarEventLog(Clock.systemDefaultZone(), 100_000);
+        StudentColumnStore store = StudentColumnStore.attach(log);
+        int students = 3 * StudentColumnStore.PARALLEL_THRESHOLD;
+        String[] faculties = { "Arts", "Science", "Law" };
+        LocalDate day = LocalDate.of(2019, 1, 1);
+        for (int i = 0; i < students; i++) {
+            log.append(new DomainEvent.StudentAdmitted(day.plusDays(i / 100), i, "Student " + i, faculties[i % 3],
+                    "Major " + (i % 7), i % 2 == 0 ? "Minor" : null));
+        }
+        LocalDate gradeDay = day.plusDays(students / 100);
+        for (int i = 0; i < students; i += 2) {
+            log.append(new DomainEvent.GradeEntered(gradeDay, "Spring - 2019", i, "C1", 1, 3, i % 5, -1));
+            log.append(new DomainEvent.GradeEntered(gradeDay, "Spring - 2019", i, "C2", 1, 3, 4.0, -1));
+        }
+        log.append(new DomainEvent.GradeEntered(gradeDay, "Spring - 2019", 0, "C1", 1, 3, 4.0, 0));
+
+        assertEquals(students, store.size());
+        assertEquals(1.33, store.getGPA(0));
+        assertTrue(Double.isNaN(store.getGPA(1)));
+
+        long[] histogram = store.creditHistogram(3);
+        assertArrayEquals(new long[] { students / 2, 0, students / 2 }, histogram);
+
+        Map<String, Long> majors = store.countByMajor();
+        assertEquals(7, majors.size());
+        assertEquals(students, majors.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(students / 2, store.countByMinor().get("Minor"));
+
+        Map<Integer, Long> years = store.countByEnrollmentYear();
+        assertEquals(students, years.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(36_500, years.get(2019));
+
+        double expectedArts = 0;
+        int arts = 0;
+        for (int i = 0; i < students; i += 2) {
+            if (i % 3 == 0) {
+                expectedArts += ((i == 0 ? 4.0 : i % 5) + 4.0) / 6;
+                arts++;
+            }
+        }
+        assertEquals(expectedArts / arts, store.averageGpaByFaculty().get("Arts"), 1e-9);
+    }
+}
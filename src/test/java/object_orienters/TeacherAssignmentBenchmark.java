@@ -0,0 +1,43 @@
+package object_orienters;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static object_orienters.Fixtures.course;
+
+/**
+ * Assigns teachers to two thousand sections in ten faculties of five hundred
+ * teachers each. See Benchmark for how to run it.
+ */
+class TeacherAssignmentBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Semester semester = new Semester(LocalDate.of(2024, 9, 1), LocalDate.of(2024, 12, 20));
+        DayOfWeek[] days = { DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY,
+                DayOfWeek.FRIDAY };
+        List<Course> sections = new ArrayList<>();
+        for (int f = 0; f < 10; f++) {
+            Faculty faculty = new Faculty("Staffing Bulk " + f);
+            List<Specialization> specializations = new ArrayList<>();
+            for (int s = 0; s < 5; s++) {
+                Specialization specialization = new Specialization("Staffing Bulk " + f + "-" + s, faculty,
+                        Specialization.Type.MAJOR);
+                specializations.add(specialization);
+                for (int t = 0; t < 10; t++) {
+                    new Teacher("Bulk Teacher " + f + "-" + s + "-" + t, specialization);
+                }
+            }
+            for (int c = 0; c < 200; c++) {
+                sections.add(course("STB" + f + "-" + c, specializations.get(c % 5), days[c % 5], 8 + (c / 5) % 10));
+            }
+        }
+
+        TeacherAssignment assignment = new TeacherAssignment(semester);
+        TeacherAssignment.Result result = Benchmark.measure("Assign teachers to sections", sections.size(),
+                "sections", () -> assignment.assign(sections));
+        Benchmark.check(result.assignments().size() == sections.size(),
+                "Assigned " + result.assignments().size() + " sections");
+    }
+}
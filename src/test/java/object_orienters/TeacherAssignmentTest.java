@@ -0,0 +1,74 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static object_orienters.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeacherAssignmentTest {
+
+    @Test
+    void testSpecialistsFirstWithinLoadAndSchedule() {
+        Faculty faculty = new Faculty("Staffing");
+        Specialization algebra = new Specialization("Staffing Algebra", faculty, Specialization.Type.MAJOR);
+        Specialization geometry = new Specialization("Staffing Geometry", faculty, Specialization.Type.MAJOR);
+        Teacher algebraist = new Teacher("Alg", algebra);
+        Teacher geometer = new Teacher("Geo", geometry);
+        Course groups = course("STF1", algebra, DayOfWeek.MONDAY, 9);
+        Course rings = course("STF2", algebra, DayOfWeek.MONDAY, 9);
+        Course shapes = course("STF3", geometry, DayOfWeek.TUESDAY, 9);
+        Semester semester = new Semester(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 5, 10));
+
+        TeacherAssignment.Result result = new TeacherAssignment(semester).assign(List.of(groups, rings, shapes));
+        assertTrue(result.unassigned().isEmpty());
+        assertEquals(geometer, result.assignments().get(shapes));
+        assertEquals(Set.of(algebraist, geometer),
+                Set.of(result.assignments().get(groups), result.assignments().get(rings)));
+        assertEquals(1_000 + 3, result.cost());
+
+        TeacherAssignment.Result capped = new TeacherAssignment(semester, 3).assign(List.of(groups, rings, shapes));
+        assertEquals(2, capped.assignments().size());
+        assertEquals(1, capped.unassigned().size());
+        assertEquals(0, capped.cost());
+
+        assertEquals(2, new TeacherAssignment(semester, 3).apply(capped));
+        assertEquals(2, semester.getRegisteredCourses().size());
+        assertEquals(geometer, shapes.getTeacher().orElseThrow());
+        assertTrue(new TeacherAssignment(semester, 3).assignUnstaffed().assignments().isEmpty());
+    }
+
+    @Test
+    void testSectionsOfSeveralFaculties() {
+        Semester semester = new Semester(LocalDate.of(2024, 9, 1), LocalDate.of(2024, 12, 20));
+        DayOfWeek[] days = { DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY,
+                DayOfWeek.FRIDAY };
+        List<Course> sections = new ArrayList<>();
+        for (int f = 0; f < 3; f++) {
+            Faculty faculty = new Faculty("Staffing Bulk " + f);
+            List<Specialization> specializations = new ArrayList<>();
+            for (int s = 0; s < 5; s++) {
+                Specialization specialization = new Specialization("Staffing Bulk " + f + "-" + s, faculty,
+                        Specialization.Type.MAJOR);
+                specializations.add(specialization);
+                for (int t = 0; t < 10; t++) {
+                    new Teacher("Bulk Teacher " + f + "-" + s + "-" + t, specialization);
+                }
+            }
+            for (int c = 0; c < 50; c++) {
+                sections.add(course("STB" + f + "-" + c, specializations.get(c % 5), days[c % 5], 8 + (c / 5) % 10));
+            }
+        }
+
+        TeacherAssignment.Result result = new TeacherAssignment(semester).assign(sections);
+        assertEquals(150, result.assignments().size());
+        assertTrue(result.unassigned().isEmpty());
+        result.assignments().forEach((course, teacher) ->
+                assertEquals(course.getSpecialization().orElseThrow(), teacher.getSpecialization()));
+    }
+}
@@ -0,0 +1,70 @@
+package object_orienters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static object_orienters.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranscriptTest {
+    private final Specialization spec = major("Transcripts");
+
+    @Test
+    void testBehavesLikeAMap() {
+        Transcript transcript = new Transcript();
+        Map<Course, Double> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            Course course = course("TR" + i, spec, 1 + i % 4, 30);
+            assertNull(transcript.put(course, (i % 9) * 0.5));
+            expected.put(course, (i % 9) * 0.5);
+        }
+        assertEquals(expected, transcript);
+        assertEquals(2.0, transcript.put(course("TR4", spec, 1, 30), 3.5));
+        expected.put(course("TR4", spec, 1, 30), 3.5);
+        assertEquals(3.5, transcript.get(course("TR4", spec, 2, 30)));
+        assertEquals(expected, transcript);
+
+        Iterator<Map.Entry<Course, Double>> it = transcript.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getKey().getCourseID().endsWith("7")) {
+                it.remove();
+            }
+        }
+        expected.keySet().removeIf(c -> c.getCourseID().endsWith("7"));
+        assertEquals(expected, transcript);
+        assertEquals(expected.values().stream().mapToDouble(Double::doubleValue).sum(), transcript.getTotalPoints(),
+                1e-9);
+        assertEquals(expected.keySet().stream().mapToInt(Course::getCreditHours).sum(), transcript.getTotalCredits());
+
+        assertTrue(Double.isNaN(transcript.getPoints(course("TR7", spec, 1, 30))));
+        assertFalse(transcript.containsKey(course("TR17", spec, 1, 30)));
+        transcript.clear();
+        assertTrue(transcript.isEmpty());
+        assertEquals(0, transcript.getTotalCredits());
+    }
+
+    @Test
+    void testIndexedAccessAndGpa() {
+        Student student = new Student("Robin", spec);
+        Transcript transcript = student.getTranscript();
+        transcript.putPoints(course("IX1", spec, 3, 30), 4.0);
+        transcript.putPoints(course("IX2", spec, 2, 30), 3.0);
+
+        double points = 0;
+        int credits = 0;
+        for (int i = 0; i < transcript.size(); i++) {
+            points += transcript.pointsAt(i);
+            credits += transcript.creditsAt(i);
+        }
+        assertEquals(7.0, points);
+        assertEquals(5, credits);
+        assertEquals(1.4, student.calculateGPA());
+        assertSame(transcript, student.getCompletedCoursesGrades());
+        assertEquals(course("IX1", spec, 3, 30), course("IX1", spec, 1, 30));
+        assertEquals(course("IX1", spec, 3, 30).hashCode(), course("IX1", spec, 1, 30).hashCode());
+        assertEquals(course("IX1", spec, 3, 30).getDenseId(), course("IX1", spec, 1, 30).getDenseId());
+    }
+}
@@ -8,8 +8,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.DayOfWeek;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -50,6 +53,7 @@ class WeeklyMeetingTest {
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     void testSetters() {
         meeting4.setDay(DayOfWeek.WEDNESDAY);
         meeting4.setDuration(Duration.ofMinutes(120));
@@ -60,6 +64,47 @@ class WeeklyMeetingTest {
         assertEquals(Duration.ofMinutes(120), meeting4.getDuration());
         assertEquals("201A", meeting4.getRoom());
         assertEquals(LocalTime.of(12, 0), meeting4.getHour());
+        assertEquals(new WeeklyMeeting(DayOfWeek.WEDNESDAY, Duration.ofMinutes(120), "201A", LocalTime.of(12, 0)),
+                meeting4);
+        assertEquals(WeekBitmap.minuteOfWeek(DayOfWeek.WEDNESDAY, 12 * 60), meeting4.getStartMinute());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testSettersRefreshTheCourses() {
+        Specialization spec = Fixtures.major("Meetings");
+        WeeklyMeeting monday = at(DayOfWeek.MONDAY, 9 * 60, 50, "WM-1");
+        WeeklyMeeting tuesday = at(DayOfWeek.TUESDAY, 9 * 60, 50, "WM-2");
+        Course taken = Fixtures.course("WM100", spec, 3, 10, monday);
+        Course wanted = Fixtures.course("WM101", spec, 3, 10, tuesday);
+        Semester semester = new Semester(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 12, 31));
+        Student student = new Student("Meeting Student", spec);
+        semester.registerInACourse(taken, List.of(student), new Teacher("Meeting Teacher", spec));
+        semester.registerInACourse(wanted, List.of(), new Teacher("Meeting Teacher 2", spec));
+        assertTrue(semester.isFreeFor(student, wanted));
+
+        tuesday.setDay(DayOfWeek.MONDAY);
+        assertFalse(semester.isFreeFor(student, wanted));
+        assertTrue(semester.hasTimeConflict(taken, wanted));
+
+        monday.setHour(LocalTime.of(14, 0));
+        assertTrue(semester.isFreeFor(student, wanted));
+        assertFalse(student.getBusyMinutes().isFree(DayOfWeek.MONDAY, 14 * 60, 14 * 60 + 50));
+        assertTrue(student.getBusyMinutes().isFree(DayOfWeek.MONDAY, 9 * 60, 9 * 60 + 50));
+    }
+
+    @Test
+    void testCopies() {
+        WeeklyMeeting moved = meeting4.withDay(DayOfWeek.WEDNESDAY).withDuration(Duration.ofMinutes(120))
+                .withRoom("201A").withHour(LocalTime.of(12, 0));
+
+        assertEquals(DayOfWeek.WEDNESDAY, moved.getDay());
+        assertEquals(Duration.ofMinutes(120), moved.getDuration());
+        assertEquals("201A", moved.getRoom());
+        assertEquals(LocalTime.of(12, 0), moved.getHour());
+        assertEquals(new WeeklyMeeting(DayOfWeek.WEDNESDAY, Duration.ofMinutes(120), "201A", LocalTime.of(12, 0)),
+                moved);
+        assertNotEquals(meeting4, moved);
     }
 
     @Test
@@ -95,4 +140,130 @@ class WeeklyMeetingTest {
         assertTrue(meeting1.hasRoomConflict(meeting2));
         assertFalse(meeting1.hasRoomConflict(meeting3));
     }
-}
\ No newline at end of file
+
+    private static WeeklyMeeting at(DayOfWeek day, int minute, int minutes, String room) {
+        return new WeeklyMeeting(day, Duration.ofMinutes(minutes), room, LocalTime.of(minute / 60, minute % 60));
+    }
+
+    // Reference model: the meetings share a minute of the same day
+    private static boolean shareAMinute(WeeklyMeeting a, WeeklyMeeting b) {
+        if (a.getDay() != b.getDay()) {
+            return false;
+        }
+        int aStart = a.getHour().toSecondOfDay() / 60;
+        int bStart = b.getHour().toSecondOfDay() / 60;
+        int aEnd = (int) Math.min(24 * 60, aStart + a.getDuration().toMinutes());
+        int bEnd = (int) Math.min(24 * 60, bStart + b.getDuration().toMinutes());
+        for (int m = aStart; m < aEnd; m++) {
+            if (bStart <= m && m < bEnd) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The LocalTime check Person.isFreeOn and ConflictMatrix used before
+    private static boolean legacyOverlap(WeeklyMeeting wm, WeeklyMeeting other) {
+        return wm.getDay().equals(other.getDay())
+                && !(wm.getHour().plus(wm.getDuration()).isBefore(other.getHour())
+                        || wm.getHour().isAfter(other.getHour().plus(other.getDuration())));
+    }
+
+    @Test
+    void testHasTimeConflictComparesBothMeetings() {
+        WeeklyMeeting morning = at(DayOfWeek.MONDAY, 9 * 60, 60, "101A");
+        assertFalse(morning.hasTimeConflict(at(DayOfWeek.MONDAY, 14 * 60, 60, "101A")));
+        assertTrue(morning.hasTimeConflict(at(DayOfWeek.MONDAY, 9 * 60 + 59, 60, "102B")));
+        assertFalse(morning.hasTimeConflict(at(DayOfWeek.TUESDAY, 9 * 60, 60, "101A")));
+    }
+
+    @Test
+    void testBoundaries() {
+        WeeklyMeeting nine = at(DayOfWeek.MONDAY, 9 * 60, 60, "101A");
+        // Touching meetings do not conflict, in either order
+        assertFalse(nine.hasTimeConflict(at(DayOfWeek.MONDAY, 10 * 60, 60, "101A")));
+        assertFalse(at(DayOfWeek.MONDAY, 8 * 60, 60, "101A").hasTimeConflict(nine));
+        assertFalse(nine.hasRoomConflict(at(DayOfWeek.MONDAY, 10 * 60, 60, "101A")));
+        // One shared minute is a conflict
+        assertTrue(nine.hasRoomConflict(at(DayOfWeek.MONDAY, 8 * 60 + 1, 60, "101A")));
+        assertTrue(nine.hasTimeConflict(nine));
+        // Containment in both directions
+        assertTrue(nine.hasTimeConflict(at(DayOfWeek.MONDAY, 9 * 60 + 20, 10, "101A")));
+        assertTrue(at(DayOfWeek.MONDAY, 9 * 60 + 20, 10, "101A").hasTimeConflict(nine));
+        // Empty meetings take no time
+        assertFalse(nine.hasTimeConflict(at(DayOfWeek.MONDAY, 9 * 60 + 30, 0, "101A")));
+        // Meetings end at midnight
+        WeeklyMeeting late = at(DayOfWeek.MONDAY, 23 * 60 + 30, 60, "101A");
+        assertEquals(WeekBitmap.minuteOfWeek(DayOfWeek.TUESDAY, 0), late.getEndMinute());
+        assertFalse(late.hasTimeConflict(at(DayOfWeek.TUESDAY, 0, 30, "101A")));
+        // Copies move the interval
+        WeeklyMeeting moved = at(DayOfWeek.MONDAY, 12 * 60, 30, "101A").withHour(LocalTime.of(9, 30));
+        assertTrue(moved.hasTimeConflict(nine));
+        moved = moved.withDay(DayOfWeek.FRIDAY);
+        assertFalse(moved.hasTimeConflict(nine));
+    }
+
+    @Test
+    void testOverlapMatchesMinuteModelExhaustively() {
+        List<WeeklyMeeting> grid = new ArrayList<>();
+        for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY)) {
+            for (int start = 23 * 60 + 30; start < 24 * 60; start += 3) {
+                for (int minutes = 0; minutes <= 45; minutes += 3) {
+                    grid.add(at(day, start, minutes, start % 2 == 0 ? "A" : "B"));
+                }
+            }
+            for (int start = 10 * 60; start < 10 * 60 + 30; start++) {
+                for (int minutes = 0; minutes <= 12; minutes++) {
+                    grid.add(at(day, start, minutes, start % 2 == 0 ? "A" : "B"));
+                }
+            }
+        }
+        for (WeeklyMeeting a : grid) {
+            for (WeeklyMeeting b : grid) {
+                boolean expected = shareAMinute(a, b);
+                assertEquals(expected, a.hasTimeConflict(b), a + " / " + b);
+                assertEquals(a.hasTimeConflict(b), b.hasTimeConflict(a));
+                assertEquals(expected && a.getRoom().equals(b.getRoom()), a.hasRoomConflict(b));
+            }
+        }
+    }
+
+    @Test
+    void testOverlapPropertiesOnRandomMeetings() {
+        Random random = new Random(47);
+        for (int i = 0; i < 100_000; i++) {
+            WeeklyMeeting a = at(DayOfWeek.of(1 + random.nextInt(3)), random.nextInt(24 * 60), random.nextInt(180),
+                    "R");
+            WeeklyMeeting b = at(DayOfWeek.of(1 + random.nextInt(3)), random.nextInt(24 * 60), random.nextInt(180),
+                    "R");
+            assertEquals(shareAMinute(a, b), a.hasTimeConflict(b), a + " / " + b);
+            // Same as a WeekBitmap holding the first meeting
+            WeekBitmap bitmap = new WeekBitmap();
+            bitmap.add(a);
+            assertEquals(a.hasTimeConflict(b), bitmap.add(b) > 0, a + " / " + b);
+        }
+    }
+
+    @Test
+    void testOverlapDiffersFromLocalTimeCheckOnlyForTouchingMeetings() {
+        Random random = new Random(7);
+        List<WeeklyMeeting> meetings = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            meetings.add(at(DayOfWeek.of(1 + random.nextInt(5)), 8 * 60 + random.nextInt(10 * 6) * 10, 50, "R"));
+        }
+        int touching = 0;
+        for (WeeklyMeeting a : meetings) {
+            for (WeeklyMeeting b : meetings) {
+                if (a.hasTimeConflict(b)) {
+                    assertTrue(legacyOverlap(a, b), a + " / " + b);
+                } else if (legacyOverlap(a, b)) {
+                    // The old check also counts meetings that only touch
+                    assertTrue(a.getHour().plus(a.getDuration()).equals(b.getHour())
+                            || b.getHour().plus(b.getDuration()).equals(a.getHour()), a + " / " + b);
+                    touching++;
+                }
+            }
+        }
+        assertTrue(touching > 0);
+    }
+}